@@ -1,10 +1,13 @@
 package com.example.APIGateway;
  
+import com.example.common.client.ServiceTokenSource;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
  
 @SpringBootApplication
+@Import(ServiceTokenSource.class)
 @EnableDiscoveryClient
 public class APIGateway {
  
@@ -0,0 +1,31 @@
+package com.example.APIGateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access rules from application.properties, e.g.
+ * <pre>
+ * gateway.access.open-paths=/api/investors/login,/api/investors/register
+ * gateway.access.role-rules.[/api/internal]=COMPLIANCE_OFFICER,ASSET_MANAGER
+ * </pre>
+ * Each entry is a path prefix on segment boundaries; the longest matching prefix decides.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.access")
+public class GatewayAccessProperties {
+
+    private List<String> openPaths = new ArrayList<>(RouterValidator.openApiEndpoints);
+    private Map<String, List<String>> roleRules = new LinkedHashMap<>();
+
+    public List<String> getOpenPaths() { return openPaths; }
+    public void setOpenPaths(List<String> openPaths) { this.openPaths = openPaths; }
+
+    public Map<String, List<String>> getRoleRules() { return roleRules; }
+    public void setRoleRules(Map<String, List<String>> roleRules) { this.roleRules = roleRules; }
+}
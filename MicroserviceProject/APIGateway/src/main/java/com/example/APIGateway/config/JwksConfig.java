@@ -0,0 +1,33 @@
+package com.example.APIGateway.config;
+
+import com.example.common.util.JwksKeySet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.util.Arrays;
+
+/**
+ * The issuers' public keys used by JwtUtil, e.g.
+ * <pre>
+ * gateway.jwks.uris=http://localhost:8302/.well-known/jwks.json,http://localhost:8307/.well-known/jwks.json
+ * gateway.jwks.refresh-seconds=300
+ * </pre>
+ * Fetched once while the gateway starts, then refreshed in the background.
+ */
+@Configuration
+public class JwksConfig {
+
+    @Bean(destroyMethod = "close")
+    public JwksKeySet jwksKeySet(ObjectMapper objectMapper,
+                                 @Value("${gateway.jwks.uris}") String[] uris,
+                                 @Value("${gateway.jwks.refresh-seconds:300}") long refreshSeconds,
+                                 @Value("${gateway.jwks.min-refetch-seconds:10}") long minRefetchSeconds) {
+        JwksKeySet keySet = new JwksKeySet(objectMapper, Arrays.stream(uris).map(String::trim)
+                .filter(u -> !u.isEmpty()).map(URI::create).toList(), refreshSeconds, minRefetchSeconds);
+        keySet.start();
+        return keySet;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.APIGateway.config;
+
+import java.util.Set;
+
+/**
+ * What the gateway requires for a request path, as resolved by {@link RouterValidator}.
+ * Instances are built once when the rules are compiled and shared by every request.
+ */
+public final class RouteAccess {
+
+    public static final RouteAccess PUBLIC = new RouteAccess(false, false, Set.of());
+    public static final RouteAccess AUTHENTICATED = new RouteAccess(true, false, Set.of());
+    // Paths with "." or ".." segments: rejected so a downstream normalisation cannot escape the rules
+    public static final RouteAccess REJECTED = new RouteAccess(true, true, Set.of());
+
+    private final boolean secured;
+    private final boolean rejected;
+    private final Set<String> requiredRoles;
+
+    private RouteAccess(boolean secured, boolean rejected, Set<String> requiredRoles) {
+        this.secured = secured;
+        this.rejected = rejected;
+        this.requiredRoles = requiredRoles;
+    }
+
+    public static RouteAccess requiringAnyOf(Set<String> roles) {
+        return roles.isEmpty() ? AUTHENTICATED : new RouteAccess(true, false, Set.copyOf(roles));
+    }
+
+    public boolean isSecured() { return secured; }
+
+    public boolean isRejected() { return rejected; }
+
+    public Set<String> getRequiredRoles() { return requiredRoles; }
+
+    /**
+     * Whether a caller with the given role may use the route; any authenticated role passes when no roles are listed.
+     */
+    public boolean permits(String role) {
+        return requiredRoles.isEmpty() || (role != null && requiredRoles.contains(role));
+    }
+}
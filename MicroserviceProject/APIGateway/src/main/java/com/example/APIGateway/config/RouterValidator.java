@@ -1,11 +1,23 @@
 package com.example.APIGateway.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 
+/**
+ * Resolves the {@link RouteAccess} for a request path with a trie of path segments compiled
+ * from {@link GatewayAccessProperties} at startup.
+ * - One left-to-right pass over the path; segments are compared in place with regionMatches,
+ *   so resolving allocates nothing and costs the path depth, not the number of rules.
+ * - The deepest rule on the path wins, so "/api/internal/login" can be open while the rest of
+ *   "/api/internal" requires a role. Paths with no rule only need a valid token.
+ */
 @Component
 public class RouterValidator {
 
@@ -18,8 +30,89 @@ public class RouterValidator {
                         "/api/investors/check-email",
                         "/eureka");
 
-        public Predicate<ServerHttpRequest> isSecured = request -> openApiEndpoints
-                        .stream()
-                        .noneMatch(uri -> request.getURI().getPath().contains(uri));
+        private final Node root;
 
+        @Autowired
+        public RouterValidator(GatewayAccessProperties properties) {
+                root = new Node("");
+                for (Map.Entry<String, List<String>> rule : properties.getRoleRules().entrySet()) {
+                        insert(rule.getKey(), RouteAccess.requiringAnyOf(new HashSet<>(rule.getValue())));
+                }
+                for (String openPath : properties.getOpenPaths()) {
+                        insert(openPath, RouteAccess.PUBLIC);
+                }
+        }
+
+        public Predicate<ServerHttpRequest> isSecured = request -> resolve(request.getURI().getPath()).isSecured();
+
+        public RouteAccess resolve(String path) {
+                RouteAccess access = RouteAccess.AUTHENTICATED;
+                Node node = root;
+                int length = path.length();
+                int start = 0;
+                while (start < length) {
+                        int end = path.indexOf('/', start);
+                        if (end < 0) {
+                                end = length;
+                        }
+                        int segmentLength = end - start;
+                        if (segmentLength > 0) {
+                                if (isDotSegment(path, start, segmentLength)) {
+                                        return RouteAccess.REJECTED;
+                                }
+                                node = node == null ? null : node.child(path, start, segmentLength);
+                                if (node != null && node.access != null) {
+                                        access = node.access;
+                                }
+                        }
+                        start = end + 1;
+                }
+                return access;
+        }
+
+        private void insert(String pathPrefix, RouteAccess access) {
+                Node node = root;
+                for (String segment : pathPrefix.split("/")) {
+                        if (!segment.isEmpty() && !segment.equals("**")) {
+                                node = node.childOrCreate(segment);
+                        }
+                }
+                node.access = access;
+        }
+
+        private static boolean isDotSegment(String path, int start, int length) {
+                return (length == 1 && path.charAt(start) == '.')
+                                || (length == 2 && path.charAt(start) == '.' && path.charAt(start + 1) == '.');
+        }
+
+        private static final class Node {
+                private final String segment;
+                private final List<Node> children = new ArrayList<>();
+                private RouteAccess access;
+
+                private Node(String segment) {
+                        this.segment = segment;
+                }
+
+                // Few children per level, so a linear scan with in-place comparison beats hashing a substring
+                private Node child(String path, int start, int length) {
+                        for (Node child : children) {
+                                if (child.segment.length() == length && path.regionMatches(start, child.segment, 0, length)) {
+                                        return child;
+                                }
+                        }
+                        return null;
+                }
+
+                private Node childOrCreate(String segment) {
+                        for (Node child : children) {
+                                if (child.segment.equals(segment)) {
+                                        return child;
+                                }
+                        }
+                        Node child = new Node(segment);
+                        children.add(child);
+                        return child;
+                }
+        }
 }
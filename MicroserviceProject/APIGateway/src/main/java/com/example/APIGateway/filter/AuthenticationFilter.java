@@ -1,23 +1,45 @@
 package com.example.APIGateway.filter;
 
+import com.example.APIGateway.config.RouteAccess;
 import com.example.APIGateway.config.RouterValidator;
 import com.example.APIGateway.util.JwtUtil;
+import com.example.APIGateway.util.RevocationList;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
 
 @Component
 public class AuthenticationFilter extends AbstractGatewayFilterFactory<AuthenticationFilter.Config> {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthenticationFilter.class);
+
+    // Exchange attribute holding the verified token subject, read by later filters (e.g. ResponseCacheFilter)
+    public static final String PRINCIPAL_ATTR = AuthenticationFilter.class.getName() + ".principal";
+
+    // Browsers' EventSource cannot set headers, so SSE requests may carry the token as a query parameter
+    static final String TOKEN_PARAM = "access_token";
+
     @Autowired
     private RouterValidator routerValidator;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private RevocationList revocationList;
+
     public AuthenticationFilter() {
         super(Config.class);
     }
@@ -25,41 +47,83 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
     @Override
     public GatewayFilter apply(Config config) {
         return ((exchange, chain) -> {
-            if (routerValidator.isSecured.test(exchange.getRequest())) {
-                if (!exchange.getRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
-                    exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                    return exchange.getResponse().setComplete();
-                }
-
-                String authHeader = exchange.getRequest().getHeaders().get(HttpHeaders.AUTHORIZATION).get(0);
-                if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                    authHeader = authHeader.substring(7);
+            // One trie lookup decides public / secured / required roles for the path
+            RouteAccess access = routerValidator.resolve(exchange.getRequest().getURI().getPath());
+            if (access.isRejected()) {
+                exchange.getResponse().setStatusCode(HttpStatus.BAD_REQUEST);
+                return exchange.getResponse().setComplete();
+            }
+            if (access.isSecured()) {
+                String authHeader;
+                if (exchange.getRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+                    authHeader = exchange.getRequest().getHeaders().get(HttpHeaders.AUTHORIZATION).get(0);
+                    if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                        authHeader = authHeader.substring(7);
+                    }
+                } else {
+                    authHeader = eventStreamToken(exchange.getRequest());
+                    if (authHeader == null) {
+                        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                        return exchange.getResponse().setComplete();
+                    }
+                    exchange = withoutTokenParam(exchange, authHeader);
                 }
 
+                // Single verification; repeat requests with the same token are served from JwtUtil's cache
+                Claims claims;
                 try {
-                    jwtUtil.validateToken(authHeader);
+                    claims = jwtUtil.verify(authHeader);
                 } catch (Exception e) {
-                    System.out.println("invalid access...!" + e.getMessage());
+                    // debug only: any client can send bad tokens, so this must not flood the log
+                    log.debug("Rejected access token for {}: {}", exchange.getRequest().getURI().getPath(), e.getMessage());
+                    exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                    return exchange.getResponse().setComplete();
+                }
+
+                // Signed and unexpired, but revoked (logout, password change); a bloom filter lookup in the usual case
+                // iatMs from the issuers; tokens without it fall back to iat, rounded down to the second
+                Long issuedAtMs = claims.get("iatMs", Long.class);
+                long issuedAt = issuedAtMs != null ? issuedAtMs
+                        : claims.getIssuedAt() == null ? 0 : claims.getIssuedAt().getTime();
+                if (revocationList.isRevoked(claims.getId(), claims.getSubject(), issuedAt)) {
                     exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
                     return exchange.getResponse().setComplete();
                 }
 
                 // RBAC Logic
-                io.jsonwebtoken.Claims claims = jwtUtil.extractAllClaims(authHeader);
                 String role = claims.get("role", String.class);
-                String path = exchange.getRequest().getURI().getPath();
-
-                if (path.contains("/api/internal") && !role.equals("COMPLIANCE_OFFICER")
-                        && !role.equals("ASSET_MANAGER")) {
-                    System.out.println("Unauthorized role for internal API: " + role);
+                if (!access.permits(role)) {
+                    log.warn("Role {} not permitted for {}", role, exchange.getRequest().getURI().getPath());
                     exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
                     return exchange.getResponse().setComplete();
                 }
+                if (claims.getSubject() != null) {
+                    exchange.getAttributes().put(PRINCIPAL_ATTR, claims.getSubject());
+                }
             }
             return chain.filter(exchange);
         });
     }
 
+    private static String eventStreamToken(ServerHttpRequest request) {
+        boolean eventStream = request.getHeaders().getAccept().stream()
+                .anyMatch(MediaType.TEXT_EVENT_STREAM::isCompatibleWith);
+        return eventStream ? request.getQueryParams().getFirst(TOKEN_PARAM) : null;
+    }
+
+    // The token leaves the URL (so the downstream service does not log it) and is forwarded as a
+    // bearer header instead, where the service verifies it like any other request
+    private static ServerWebExchange withoutTokenParam(ServerWebExchange exchange, String token) {
+        URI uri = UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+                .replaceQueryParam(TOKEN_PARAM)
+                .build(true)
+                .toUri();
+        return exchange.mutate().request(exchange.getRequest().mutate()
+                .uri(uri)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .build()).build();
+    }
+
     public static class Config {
 
     }
@@ -0,0 +1,82 @@
+package com.example.APIGateway.filter;
+
+import com.example.APIGateway.util.RateLimitStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * Token-bucket rate limit per route and principal, e.g. on a route:
+ * <pre>
+ * spring.cloud.gateway.routes[4].filters[1]=RateLimitFilter=10,20
+ * </pre>
+ * (replenishRate tokens per second, burstCapacity). A request over the limit gets 429 with Retry-After (seconds).
+ * - List it after AuthenticationFilter, which provides the principal (the token subject); requests without one,
+ *   e.g. login, are keyed by client address instead. Each route has its own buckets.
+ * - List it after ResponseCacheFilter where present, so cached answers do not use up the limit.
+ * - Buckets live in the configured RateLimitStore (in-process by default, Redis for several gateways).
+ */
+@Component
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+
+    @Autowired
+    private RateLimitStore store;
+
+    public RateLimitFilter() {
+        super(Config.class);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("replenishRate", "burstCapacity");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (config.getReplenishRate() <= 0 || config.getBurstCapacity() < 1) {
+            throw new IllegalArgumentException("RateLimitFilter needs replenishRate > 0 and burstCapacity >= 1");
+        }
+        return (exchange, chain) -> store.acquire(bucketKey(exchange), config.getReplenishRate(), config.getBurstCapacity())
+                .flatMap(waitNanos -> {
+                    if (waitNanos <= 0) {
+                        return chain.filter(exchange);
+                    }
+                    long retryAfter = Math.max(1, (long) Math.ceil(waitNanos / 1e9));
+                    exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                    exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+                    return exchange.getResponse().setComplete();
+                });
+    }
+
+    private static String bucketKey(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String principal = exchange.getAttribute(AuthenticationFilter.PRINCIPAL_ATTR);
+        if (principal == null) {
+            InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+            principal = "addr:" + (remote == null || remote.getAddress() == null ? "-" : remote.getAddress().getHostAddress());
+        } else {
+            principal = "sub:" + principal;
+        }
+        return (route == null ? "" : route.getId()) + '|' + principal;
+    }
+
+    public static class Config {
+        private double replenishRate = 10;
+        private int burstCapacity = 20;
+
+        public double getReplenishRate() { return replenishRate; }
+        public void setReplenishRate(double replenishRate) { this.replenishRate = replenishRate; }
+
+        public int getBurstCapacity() { return burstCapacity; }
+        public void setBurstCapacity(int burstCapacity) { this.burstCapacity = burstCapacity; }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.APIGateway.filter;
+
+import com.example.APIGateway.util.ResponseCacheStore;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Caches successful GET responses per route, principal and URL, e.g. on a route:
+ * <pre>
+ * spring.cloud.gateway.routes[1].filters[1]=ResponseCacheFilter=30
+ * </pre>
+ * (TTL in seconds). List it after AuthenticationFilter so only authenticated requests reach the cache.
+ * - Cached responses carry an ETag, on the miss that stores them as well as on hits; a matching
+ *   If-None-Match on a hit gets 304 with no body.
+ * - POST/PUT/PATCH/DELETE on the same resource prefix (the first {@code prefixSegments} path
+ *   segments, "/api/portfolios" by default) invalidate every cached response under it. This is
+ *   local to the gateway instance that saw the write, and a write under another prefix (or one
+ *   that bypasses the gateway) does not invalidate: such responses stay stale for up to the TTL.
+ * - Only 200 responses without Set-Cookie or Cache-Control: no-store, and no larger than
+ *   {@code gateway.response-cache.max-body-bytes}, are stored. On a miss the body is held until
+ *   it completes (to compute the ETag header) only up to that size; larger bodies are passed on
+ *   once the limit is reached and not cached.
+ */
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    private static final Set<HttpMethod> MUTATING = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+    private static final String CACHE_HEADER = "X-Cache";
+    private static final String ANONYMOUS = "-";
+
+    @Autowired
+    private ResponseCacheStore cacheStore;
+
+    @Value("${gateway.response-cache.max-body-bytes:262144}")
+    private int maxBodyBytes;
+
+    public ResponseCacheFilter() {
+        super(Config.class);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttlSeconds", "prefixSegments");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String prefix = resourcePrefix(request.getPath().value(), config.getPrefixSegments());
+
+            if (HttpMethod.GET.equals(request.getMethod())) {
+                String key = cacheKey(exchange);
+                ResponseCacheStore.CachedResponse hit = cacheStore.get(key, System.currentTimeMillis());
+                if (hit != null) {
+                    return writeCached(exchange, hit);
+                }
+                exchange.getResponse().getHeaders().set(CACHE_HEADER, "MISS");
+                ServerHttpResponse capturing = new CapturingResponse(exchange.getResponse(), key, prefix,
+                        cacheStore.generation(prefix), TimeUnit.SECONDS.toMillis(config.getTtlSeconds()));
+                return chain.filter(exchange.mutate().response(capturing).build());
+            }
+
+            if (MUTATING.contains(request.getMethod())) {
+                // Invalidate once the backend has answered, so nothing cached during the call survives
+                return chain.filter(exchange).doFinally(signal -> cacheStore.invalidate(prefix));
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, ResponseCacheStore.CachedResponse hit) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(hit.etag());
+        headers.set(CACHE_HEADER, "HIT");
+
+        if (etagMatches(exchange.getRequest().getHeaders().getIfNoneMatch(), hit.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        if (hit.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, hit.contentType());
+        }
+        if (hit.contentEncoding() != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, hit.contentEncoding());
+        }
+        headers.setContentLength(hit.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(hit.body())));
+    }
+
+    private static boolean etagMatches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String cacheKey(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String principal = exchange.getAttributeOrDefault(AuthenticationFilter.PRINCIPAL_ATTR, ANONYMOUS);
+        String query = exchange.getRequest().getURI().getRawQuery();
+        return (route == null ? "" : route.getId()) + '|' + principal + '|'
+                + exchange.getRequest().getPath().value() + (query == null ? "" : "?" + query);
+    }
+
+    static String resourcePrefix(String path, int segments) {
+        int end = 0;
+        for (int found = 0; found < segments; found++) {
+            int next = path.indexOf('/', end + 1);
+            if (next < 0) {
+                return path;
+            }
+            end = next;
+        }
+        return path.substring(0, end);
+    }
+
+    private static byte[] copyOf(List<DataBuffer> buffers, int size) {
+        byte[] bytes = new byte[size];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int length = buffer.readableByteCount();
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), offset, length);
+            offset += length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Holds the body back until it completes or exceeds max-body-bytes. A complete body is stored and
+     * written with its ETag; a larger one is written through as it arrives and not stored.
+     * Streaming responses (SSE, NDJSON) are written with writeAndFlushWith and are never captured.
+     */
+    private class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final String prefix;
+        private final long generation;
+        private final long ttlMillis;
+
+        CapturingResponse(ServerHttpResponse delegate, String key, String prefix, long generation, long ttlMillis) {
+            super(delegate);
+            this.key = key;
+            this.prefix = prefix;
+            this.generation = generation;
+            this.ttlMillis = ttlMillis;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isCacheable()) {
+                return super.writeWith(body);
+            }
+            long[] seen = {0};
+            return Flux.<DataBuffer>from(body)
+                    .bufferUntil(buffer -> (seen[0] += buffer.readableByteCount()) > maxBodyBytes)
+                    .switchOnFirst((first, chunks) -> {
+                        // Unless the limit was crossed, the first chunk is the whole body
+                        if (!first.isOnError() && seen[0] <= maxBodyBytes) {
+                            byte[] bytes = copyOf(first.hasValue() ? first.get() : List.of(), (int) seen[0]);
+                            String etag = "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+                            getHeaders().setETag(etag);
+                            store(bytes, etag);
+                        }
+                        return super.writeWith(chunks.flatMapIterable(Function.identity()));
+                    })
+                    .then();
+        }
+
+        private boolean isCacheable() {
+            HttpHeaders headers = getHeaders();
+            if (!HttpStatus.OK.equals(getStatusCode()) || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+                return false;
+            }
+            String cacheControl = headers.getCacheControl();
+            if (cacheControl != null && cacheControl.contains("no-store")) {
+                return false;
+            }
+            MediaType contentType = headers.getContentType();
+            return contentType == null
+                    || !(MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)
+                    || MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType));
+        }
+
+        private void store(byte[] body, String etag) {
+            HttpHeaders headers = getHeaders();
+            MediaType contentType = headers.getContentType();
+            cacheStore.put(key, new ResponseCacheStore.CachedResponse(body,
+                    contentType == null ? null : contentType.toString(),
+                    headers.getFirst(HttpHeaders.CONTENT_ENCODING),
+                    etag, prefix, generation, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    public static class Config {
+        private long ttlSeconds = 30;
+        private int prefixSegments = 2;
+
+        public long getTtlSeconds() { return ttlSeconds; }
+        public void setTtlSeconds(long ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+
+        public int getPrefixSegments() { return prefixSegments; }
+        public void setPrefixSegments(int prefixSegments) { this.prefixSegments = prefixSegments; }
+    }
+}
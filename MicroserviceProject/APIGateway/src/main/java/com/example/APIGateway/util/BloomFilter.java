@@ -0,0 +1,77 @@
+package com.example.APIGateway.util;
+
+import java.util.Collection;
+
+/**
+ * Immutable bloom filter over strings: never a false negative, false positives at about the rate it was
+ * sized for. Built once per revocation sync and swapped in whole, so lookups need no locking.
+ * Probes are derived from one 64-bit hash of the key (double hashing), without allocating.
+ */
+public final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long[] bits;
+    private final int numBits;
+    private final int hashes;
+
+    private BloomFilter(int numBits, int hashes) {
+        this.bits = new long[(numBits + 63) >>> 6];
+        this.numBits = bits.length << 6;
+        this.hashes = hashes;
+    }
+
+    public static BloomFilter of(Collection<String> keys, double falsePositiveRate) {
+        int expected = Math.max(1, keys.size());
+        long optimalBits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int numBits = (int) Math.max(64, Math.min(optimalBits, Integer.MAX_VALUE - 63));
+        int hashes = Math.max(1, (int) Math.round((double) numBits / expected * LN2));
+        BloomFilter filter = new BloomFilter(numBits, hashes);
+        for (String key : keys) {
+            filter.add(key);
+        }
+        return filter;
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int bitCount() {
+        return numBits;
+    }
+
+    private void add(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    // FNV-1a over the chars, then the murmur3 finalizer to spread the bits
+    private static long hash64(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
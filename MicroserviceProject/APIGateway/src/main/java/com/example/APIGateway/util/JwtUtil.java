@@ -1,27 +1,115 @@
 package com.example.APIGateway.util;
 
+import com.example.common.util.JwksKeySet;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Verifies bearer tokens for the gateway.
+ * - Tokens are ES256, signed by investor-service / admin-user-service with rotating keys; the public key is
+ *   looked up by the token's kid in the cached JWKS (JwksKeySet), so no secret is shared with the issuers.
+ * - The (thread-safe) parser is built once instead of per call.
+ * - Verified claims are cached until the token's own exp, so a client re-sending the same
+ *   token skips Base64/JSON decoding and the signature check. Entries are keyed by the full token
+ *   string, so only byte-identical tokens hit; a tampered token always misses and is verified.
+ * - The cache holds at most {@code gateway.jwt.cache.max-size} tokens; when full, expired entries
+ *   are swept and, if it is still full, new tokens are verified without being cached.
+ */
 @Component
 public class JwtUtil {
 
-    public static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+    // At most one full sweep of the cache per second when it is at capacity
+    private static final long SWEEP_INTERVAL_MS = 1000;
+
+    private final JwtParser parser;
+    private final int maxCachedTokens;
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private volatile long lastSweep;
+
+    private record VerifiedToken(Claims claims, long expiresAtMillis) {
+    }
+
+    public JwtUtil(JwksKeySet keySet, @Value("${gateway.jwt.cache.max-size:10000}") int maxCachedTokens) {
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                // Only ES256: an HS256 token "signed" with a public key must never be accepted
+                if (!SignatureAlgorithm.ES256.getValue().equals(header.getAlgorithm())) {
+                    throw new JwtException("Unsupported algorithm " + header.getAlgorithm());
+                }
+                Key key = keySet.find(header.getKeyId());
+                if (key == null) {
+                    throw new JwtException("Unknown signing key " + header.getKeyId());
+                }
+                return key;
+            }
+        }).build();
+        this.maxCachedTokens = maxCachedTokens;
+    }
+
+    /**
+     * Verifies the token (from the cache when possible) and returns its claims.
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, badly signed, signed by an unknown key or expired
+     */
+    public Claims verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (now < cached.expiresAtMillis()) {
+                return cached.claims();
+            }
+            // Expired: drop it and let the parser raise the usual ExpiredJwtException below
+            verifiedTokens.remove(token, cached);
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        // Tokens without exp are never cached, since there is no bound on how long they stay valid
+        if (expiration != null && (verifiedTokens.size() < maxCachedTokens || sweepExpired(now))) {
+            verifiedTokens.put(token, new VerifiedToken(claims, expiration.getTime()));
+        }
+        return claims;
+    }
 
     public void validateToken(final String token) {
-        Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token);
+        verify(token);
+    }
+
+    public Claims extractAllClaims(String token) {
+        return verify(token);
     }
 
-    public io.jsonwebtoken.Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token).getBody();
+    public int cachedTokenCount() {
+        return verifiedTokens.size();
     }
 
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Removes expired tokens; returns whether there is room for another entry afterwards.
+     */
+    private boolean sweepExpired(long now) {
+        if (now - lastSweep < SWEEP_INTERVAL_MS) {
+            return false;
+        }
+        lastSweep = now;
+        Iterator<VerifiedToken> it = verifiedTokens.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAtMillis() <= now) {
+                it.remove();
+            }
+        }
+        return verifiedTokens.size() < maxCachedTokens;
     }
 }
@@ -0,0 +1,84 @@
+package com.example.APIGateway.util;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process buckets, limits apply per gateway instance.
+ * - Lock-free: a bucket is one AtomicLong (theoretical arrival time, System.nanoTime based) updated with a CAS,
+ *   so concurrent requests for the same key never block each other.
+ * - A bucket whose arrival time has passed is full, i.e. the same as no bucket; a periodic sweep drops those,
+ *   so the map only holds keys seen within roughly the last burst window.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private static final Mono<Long> ALLOWED = Mono.just(0L);
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    public LocalRateLimitStore(@Value("${gateway.rate-limit.sweep-seconds:60}") long sweepSeconds) {
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rate-limit-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(() -> sweep(System.nanoTime()), sweepSeconds, sweepSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Mono<Long> acquire(String key, double replenishRate, int burstCapacity) {
+        long waitNanos = tryAcquire(key, replenishRate, burstCapacity, System.nanoTime());
+        return waitNanos == 0 ? ALLOWED : Mono.just(waitNanos);
+    }
+
+    public long tryAcquire(String key, double replenishRate, int burstCapacity, long nowNanos) {
+        long interval = (long) Math.ceil(1_000_000_000d / replenishRate);
+        long burst = interval * burstCapacity;
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            AtomicLong created = new AtomicLong(nowNanos);
+            bucket = buckets.putIfAbsent(key, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+        while (true) {
+            long arrival = bucket.get();
+            // nanoTime may wrap, so compare by difference
+            long next = (arrival - nowNanos > 0 ? arrival : nowNanos) + interval;
+            long waitNanos = next - burst - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // A request racing with the removal of its (full) bucket may get one extra token; that is acceptable here
+    void sweep(long nowNanos) {
+        buckets.values().removeIf(bucket -> bucket.get() - nowNanos <= 0);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        sweeper.shutdownNow();
+    }
+}
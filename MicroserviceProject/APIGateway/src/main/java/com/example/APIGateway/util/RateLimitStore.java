@@ -0,0 +1,20 @@
+package com.example.APIGateway.util;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Token buckets behind RateLimitFilter, one per key (route and principal). Selected with
+ * {@code gateway.rate-limit.store}: {@code local} (default, per gateway instance) or {@code redis}
+ * (shared by every instance).
+ * Buckets are kept as a "theoretical arrival time" (GCRA): a bucket of {@code burstCapacity} tokens refilled at
+ * {@code replenishRate} per second behaves exactly like a token bucket, but its state is a single number.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until a token is available
+     */
+    Mono<Long> acquire(String key, double replenishRate, int burstCapacity);
+}
@@ -0,0 +1,66 @@
+package com.example.APIGateway.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Buckets in Redis, shared by every gateway instance, e.g.
+ * <pre>
+ * gateway.rate-limit.store=redis
+ * spring.data.redis.host=localhost
+ * spring.data.redis.port=6379
+ * management.health.redis.enabled=true
+ * </pre>
+ * - The same arrival-time update as LocalRateLimitStore, done atomically in one Lua script (one round trip),
+ *   using the Redis server clock so the instances' clocks do not matter. Keys expire once the bucket is full again.
+ * - If Redis is unreachable requests are let through (logged): the limiter protects the backends, it must
+ *   not take the gateway down with it.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limit.store", havingValue = "redis")
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisRateLimitStore.class);
+    private static final String KEY_PREFIX = "gateway:rate-limit:";
+
+    // ARGV[1] = microseconds per token, ARGV[2] = burst capacity; returns microseconds to wait (0 = allowed)
+    private static final RedisScript<Long> ACQUIRE = RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local interval = tonumber(ARGV[1])
+            local arrival = tonumber(redis.call('GET', KEYS[1])) or now
+            if arrival < now then arrival = now end
+            local next = arrival + interval
+            local wait = next - interval * tonumber(ARGV[2]) - now
+            if wait > 0 then return wait end
+            redis.call('SET', KEYS[1], next, 'PX', math.ceil((next - now) / 1000))
+            return 0
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redis;
+
+    public RedisRateLimitStore(ReactiveStringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public Mono<Long> acquire(String key, double replenishRate, int burstCapacity) {
+        long intervalMicros = (long) Math.ceil(1_000_000d / replenishRate);
+        return redis.execute(ACQUIRE, List.of(KEY_PREFIX + key),
+                        List.of(Long.toString(intervalMicros), Integer.toString(burstCapacity)))
+                .next()
+                .map(waitMicros -> waitMicros * 1000)
+                .onErrorResume(e -> {
+                    log.warn("Rate limit check failed, allowing request: {}", e.toString());
+                    return Mono.just(0L);
+                })
+                .defaultIfEmpty(0L);
+    }
+}
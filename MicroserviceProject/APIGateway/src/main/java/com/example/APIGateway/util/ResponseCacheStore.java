@@ -0,0 +1,98 @@
+package com.example.APIGateway.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared store behind ResponseCacheFilter.
+ * - Bounded by entry count and total body bytes; the least recently used entry is evicted first.
+ * - Invalidation is by resource prefix (e.g. "/api/portfolios"): each prefix has a generation
+ *   counter that mutations bump, and an entry only counts while its generation is current.
+ *   This makes invalidation O(1), and a GET that was in flight during a mutation cannot store
+ *   its (possibly stale) response afterwards.
+ */
+@Component
+public class ResponseCacheStore {
+
+    public record CachedResponse(byte[] body, String contentType, String contentEncoding, String etag,
+                                 String prefix, long generation, long expiresAtMillis) {
+    }
+
+    private final int maxEntries;
+    private final long maxTotalBytes;
+
+    // Guarded by itself; access-ordered so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCacheStore(@Value("${gateway.response-cache.max-entries:5000}") int maxEntries,
+                              @Value("${gateway.response-cache.max-total-bytes:67108864}") long maxTotalBytes) {
+        this.maxEntries = maxEntries;
+        this.maxTotalBytes = maxTotalBytes;
+    }
+
+    public long generation(String prefix) {
+        AtomicLong generation = generations.get(prefix);
+        return generation == null ? 0L : generation.get();
+    }
+
+    public void invalidate(String prefix) {
+        generations.computeIfAbsent(prefix, p -> new AtomicLong()).incrementAndGet();
+    }
+
+    public CachedResponse get(String key, long nowMillis) {
+        synchronized (entries) {
+            CachedResponse cached = entries.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (nowMillis >= cached.expiresAtMillis() || cached.generation() != generation(cached.prefix())) {
+                remove(key);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * Stores the response unless its prefix was invalidated since the request started.
+     */
+    public void put(String key, CachedResponse response) {
+        if (response.generation() != generation(response.prefix()) || response.body().length > maxTotalBytes) {
+            return;
+        }
+        synchronized (entries) {
+            remove(key);
+            entries.put(key, response);
+            totalBytes += response.body().length;
+
+            Iterator<CachedResponse> eldest = entries.values().iterator();
+            while ((entries.size() > maxEntries || totalBytes > maxTotalBytes) && eldest.hasNext()) {
+                totalBytes -= eldest.next().body().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // Caller holds the lock
+    private void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.body().length;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.APIGateway.util;
+
+import com.example.common.client.ServiceTokenSource;
+import com.example.common.util.SubjectHash;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access tokens revoked before their expiry, synced from the issuers' /internal/revocations, e.g.
+ * <pre>
+ * gateway.revocation.uris=http://localhost:8302/internal/revocations,http://localhost:8307/internal/revocations
+ * gateway.revocation.sync-seconds=5
+ * gateway.revocation.false-positive-rate=0.01
+ * </pre>
+ * - Revoked jtis and subjects with a revocation epoch each go into a bloom filter; a request only looks at
+ *   the exact set or map when its filter answers "maybe", so the usual (not revoked) case is a few probes.
+ * - Each sync replaces the whole snapshot; a failed fetch keeps that issuer's previous entries.
+ *   A revocation therefore takes effect within one sync interval.
+ * - The issuers only answer service tokens, so fetches carry the gateway's own (ServiceTokenSource);
+ *   subjects are published as {@link SubjectHash} and hashed the same way before the lookup.
+ */
+@Component
+public class RevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationList.class);
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final ServiceTokenSource serviceTokens;
+    private final List<URI> uris;
+    private final long syncSeconds;
+    private final double falsePositiveRate;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<URI, Source> sources = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot;
+
+    private record Source(Set<String> tokenIds, Map<String, Long> notBefore) {
+    }
+
+    private record Snapshot(BloomFilter tokenFilter, Set<String> tokenIds,
+                            BloomFilter subjectFilter, Map<String, Long> notBefore) {
+    }
+
+    public RevocationList(ObjectMapper objectMapper, ServiceTokenSource serviceTokens,
+                          @Value("${gateway.revocation.uris:}") String[] uris,
+                          @Value("${gateway.revocation.sync-seconds:5}") long syncSeconds,
+                          @Value("${gateway.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.objectMapper = objectMapper;
+        this.serviceTokens = serviceTokens;
+        this.uris = Arrays.stream(uris).map(String::trim).filter(u -> !u.isEmpty()).map(URI::create).toList();
+        this.syncSeconds = syncSeconds;
+        this.falsePositiveRate = falsePositiveRate;
+        this.snapshot = build(Set.of(), Map.of());
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "revocation-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!uris.isEmpty()) {
+            sync();
+            scheduler.scheduleWithFixedDelay(this::sync, syncSeconds, syncSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * True if the token was revoked by its id, or its subject's tokens issued before {@code notBefore} were.
+     * Both are epoch milliseconds, so a token issued just after a revocation, in the same second, is kept.
+     */
+    public boolean isRevoked(String tokenId, String subject, long issuedAtMillis) {
+        Snapshot current = snapshot;
+        if (tokenId != null && current.tokenFilter().mightContain(tokenId) && current.tokenIds().contains(tokenId)) {
+            return true;
+        }
+        // Hashing costs a digest per request, so it is skipped while no subject is revoked
+        if (subject != null && !current.notBefore().isEmpty()) {
+            String subjectHash = SubjectHash.of(subject);
+            if (current.subjectFilter().mightContain(subjectHash)) {
+                Long notBefore = current.notBefore().get(subjectHash);
+                return notBefore != null && issuedAtMillis < notBefore;
+            }
+        }
+        return false;
+    }
+
+    public void sync() {
+        for (URI uri : uris) {
+            try {
+                HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET();
+                if (serviceTokens.isConfigured()) {
+                    request.header(HttpHeaders.AUTHORIZATION, "Bearer " + serviceTokens.token());
+                }
+                HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() != 200) {
+                    log.warn("Revocation sync from {} answered {}", uri, response.statusCode());
+                    continue;
+                }
+                load(uri, response.body());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Revocation sync from {} failed: {}", uri, e.toString());
+            }
+        }
+    }
+
+    /**
+     * Replaces one issuer's entries with a snapshot document ({@code revokedTokenIds}, {@code notBefore} by
+     * subject hash) and rebuilds the filters.
+     */
+    public synchronized void load(URI source, byte[] json) throws IOException {
+        Map<String, Object> document = objectMapper.readValue(json, JSON_OBJECT);
+        Set<String> tokenIds = new HashSet<>();
+        if (document.get("revokedTokenIds") instanceof List<?> ids) {
+            ids.forEach(id -> tokenIds.add(String.valueOf(id)));
+        }
+        Map<String, Long> notBefore = new HashMap<>();
+        if (document.get("notBefore") instanceof Map<?, ?> epochs) {
+            epochs.forEach((subject, epoch) -> {
+                if (epoch instanceof Number number) {
+                    notBefore.put(String.valueOf(subject), number.longValue());
+                }
+            });
+        }
+        sources.put(source, new Source(tokenIds, notBefore));
+
+        Set<String> allTokenIds = new HashSet<>();
+        Map<String, Long> allNotBefore = new HashMap<>();
+        for (Source each : sources.values()) {
+            allTokenIds.addAll(each.tokenIds());
+            each.notBefore().forEach((subject, epoch) -> allNotBefore.merge(subject, epoch, Math::max));
+        }
+        snapshot = build(allTokenIds, allNotBefore);
+    }
+
+    private Snapshot build(Set<String> tokenIds, Map<String, Long> notBefore) {
+        return new Snapshot(BloomFilter.of(tokenIds, falsePositiveRate), Set.copyOf(tokenIds),
+                BloomFilter.of(notBefore.keySet(), falsePositiveRate), Map.copyOf(notBefore));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.APIGateway;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.APIGateway.util.BloomFilter;
+
+/**
+ * A revoked key must never be missed by the filter; false positives only cost an exact lookup.
+ */
+class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegatives() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            keys.add(UUID.randomUUID().toString());
+        }
+        BloomFilter filter = BloomFilter.of(keys, 0.01);
+
+        for (String key : keys) {
+            assertTrue(filter.mightContain(key), key);
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateNearTarget() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            keys.add("jti-" + i);
+        }
+        BloomFilter filter = BloomFilter.of(keys, 0.01);
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < probes * 0.02, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testEmptyFilterContainsNothing() {
+        BloomFilter filter = BloomFilter.of(Set.of(), 0.01);
+
+        assertFalse(filter.mightContain("jti-1"));
+        assertFalse(filter.mightContain(""));
+    }
+}
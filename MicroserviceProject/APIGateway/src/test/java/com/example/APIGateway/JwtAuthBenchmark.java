@@ -0,0 +1,161 @@
+package com.example.APIGateway;
+
+import com.example.APIGateway.util.JwtUtil;
+import com.example.common.util.JwksKeySet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the AuthenticationFilter token check per request, with 1,000 distinct users cycling
+ * through their tokens. Run the main method (or the class from the IDE) after `mvn test-compile`.
+ * - legacyAuthPath:  the old filter logic on HS256 tokens, two parses that each rebuild the key and parser.
+ * - hmacRebuiltKey:  one HS256 parse rebuilding the key from the shared secret, as the issuers' JwtUtil did per call.
+ * - sharedParser:    ES256 with the prebuilt parser and the key found by kid in the cached JWKS, claims cache
+ *                    disabled (every request is new).
+ * - cachedClaims:    JwtUtil as configured, every token already verified once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final int USERS = 1_000;
+
+    // The HMAC secret every service embedded before tokens were signed with EC keys
+    private static final String LEGACY_SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    private String[] hmacTokens;
+    private String[] ecTokens;
+    private JwtUtil uncachedJwtUtil;
+    private JwtUtil cachingJwtUtil;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair pair = generator.generateKeyPair();
+        String kid = "bench-key";
+        JwksKeySet keySet = new JwksKeySet(new ObjectMapper(), List.of(), 300, 10);
+        keySet.load(URI.create("bench:issuer"), jwks(kid, (ECPublicKey) pair.getPublic()));
+
+        Key hmacKey = legacySignKey();
+        hmacTokens = new String[USERS];
+        ecTokens = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            String role = i % 2 == 0 ? "INVESTOR" : "COMPLIANCE_OFFICER";
+            Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+            hmacTokens[i] = Jwts.builder()
+                    .claim("role", role)
+                    .setSubject("user" + i + "@example.com")
+                    .setIssuedAt(new Date())
+                    .setExpiration(expiration)
+                    .signWith(hmacKey, SignatureAlgorithm.HS256)
+                    .compact();
+            ecTokens[i] = Jwts.builder()
+                    .setHeaderParam("kid", kid)
+                    .claim("role", role)
+                    .setSubject("user" + i + "@example.com")
+                    .setIssuedAt(new Date())
+                    .setExpiration(expiration)
+                    .signWith(pair.getPrivate(), SignatureAlgorithm.ES256)
+                    .compact();
+        }
+        uncachedJwtUtil = new JwtUtil(keySet, 0);
+        cachingJwtUtil = new JwtUtil(keySet, 10_000);
+        for (String token : ecTokens) {
+            cachingJwtUtil.verify(token);
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (next + 1) % USERS;
+        return index;
+    }
+
+    @Benchmark
+    public String legacyAuthPath() {
+        String token = hmacTokens[nextIndex()];
+        Jwts.parserBuilder().setSigningKey(legacySignKey()).build().parseClaimsJws(token);
+        Claims claims = Jwts.parserBuilder().setSigningKey(legacySignKey()).build().parseClaimsJws(token).getBody();
+        return claims.get("role", String.class);
+    }
+
+    @Benchmark
+    public String hmacRebuiltKey() {
+        return Jwts.parserBuilder().setSigningKey(legacySignKey()).build()
+                .parseClaimsJws(hmacTokens[nextIndex()]).getBody().get("role", String.class);
+    }
+
+    @Benchmark
+    public String sharedParser() {
+        return uncachedJwtUtil.verify(ecTokens[nextIndex()]).get("role", String.class);
+    }
+
+    @Benchmark
+    public String cachedClaims() {
+        return cachingJwtUtil.verify(ecTokens[nextIndex()]).get("role", String.class);
+    }
+
+    // JwtUtil.getSignKey() before keys were published as a JWKS
+    private static Key legacySignKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(LEGACY_SECRET));
+    }
+
+    private static byte[] jwks(String kid, ECPublicKey key) {
+        return ("{\"keys\":[{\"kty\":\"EC\",\"crv\":\"P-256\",\"kid\":\"" + kid + "\",\"x\":\""
+                + coordinate(key.getW().getAffineX()) + "\",\"y\":\"" + coordinate(key.getW().getAffineY()) + "\"}]}")
+                .getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = bytes.length > 32 ? Arrays.copyOfRange(bytes, bytes.length - 32, bytes.length) : bytes;
+        if (fixed.length < 32) {
+            fixed = new byte[32];
+            System.arraycopy(bytes, 0, fixed, 32 - bytes.length, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.APIGateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import com.example.APIGateway.filter.ResponseCacheFilter;
+import com.example.APIGateway.util.ResponseCacheStore;
+
+/**
+ * A stored response must carry the same ETag on the miss that stores it as on later hits, and a body over
+ * max-body-bytes must reach the client intact without being stored.
+ */
+class ResponseCacheFilterTest {
+
+    private static final String PATH = "/api/portfolios/investor/1";
+    private static final DataBufferFactory BUFFERS = DefaultDataBufferFactory.sharedInstance;
+
+    private final ResponseCacheStore store = new ResponseCacheStore(100, 1_000_000);
+    private final GatewayFilter filter = filter(16);
+
+    private GatewayFilter filter(int maxBodyBytes) {
+        ResponseCacheFilter factory = new ResponseCacheFilter();
+        ReflectionTestUtils.setField(factory, "cacheStore", store);
+        ReflectionTestUtils.setField(factory, "maxBodyBytes", maxBodyBytes);
+        return factory.apply(new ResponseCacheFilter.Config());
+    }
+
+    // Backend answering 200 with the body in the given chunks
+    private static GatewayFilterChain backend(String... chunks) {
+        return exchange -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Flux.fromArray(chunks)
+                    .map(chunk -> BUFFERS.wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private static MockServerWebExchange get(String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(PATH);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    @Test
+    void testMissCarriesTheETagOfTheStoredResponse() {
+        MockServerWebExchange miss = get(null);
+        filter.filter(miss, backend("[{\"id\":", "1}]")).block();
+
+        String etag = miss.getResponse().getHeaders().getETag();
+        assertNotNull(etag);
+        assertEquals("MISS", miss.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("[{\"id\":1}]", miss.getResponse().getBodyAsString().block());
+
+        MockServerWebExchange hit = get(null);
+        filter.filter(hit, backend("unused")).block();
+
+        assertEquals("HIT", hit.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals(etag, hit.getResponse().getHeaders().getETag());
+        assertEquals("[{\"id\":1}]", hit.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testETagFromMissRevalidatesToNotModified() {
+        MockServerWebExchange miss = get(null);
+        filter.filter(miss, backend("[]")).block();
+
+        MockServerWebExchange revalidate = get(miss.getResponse().getHeaders().getETag());
+        filter.filter(revalidate, backend("unused")).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidate.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testBodyOverLimitIsPassedOnWithoutETag() {
+        MockServerWebExchange miss = get(null);
+        filter.filter(miss, backend("0123456789", "0123456789", "0123456789")).block();
+
+        assertNull(miss.getResponse().getHeaders().getETag());
+        assertEquals("012345678901234567890123456789", miss.getResponse().getBodyAsString().block());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testEmptyBodyIsStored() {
+        MockServerWebExchange miss = get(null);
+        filter.filter(miss, backend()).block();
+
+        assertNotNull(miss.getResponse().getHeaders().getETag());
+        assertEquals(1, store.size());
+    }
+}
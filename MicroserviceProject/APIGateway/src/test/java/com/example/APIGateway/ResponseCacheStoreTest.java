@@ -0,0 +1,129 @@
+package com.example.APIGateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.APIGateway.util.ResponseCacheStore;
+import com.example.APIGateway.util.ResponseCacheStore.CachedResponse;
+
+/**
+ * The cache must stay within its entry and byte bounds by evicting the least recently used entry, and an
+ * invalidated prefix must hide its entries and refuse responses fetched before the invalidation.
+ */
+class ResponseCacheStoreTest {
+
+    private static final String PREFIX = "/api/portfolios";
+    private static final long NOW = 1_000_000L;
+
+    private static CachedResponse response(ResponseCacheStore store, int bytes) {
+        return new CachedResponse(new byte[bytes], "application/json", null, "\"etag\"", PREFIX,
+                store.generation(PREFIX), NOW + 60_000);
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvictedOverByteBound() {
+        ResponseCacheStore store = new ResponseCacheStore(100, 300);
+        store.put("a", response(store, 100));
+        store.put("b", response(store, 100));
+        store.put("c", response(store, 100));
+        // Touch "a" so "b" becomes the least recently used
+        assertNotNull(store.get("a", NOW));
+
+        store.put("d", response(store, 100));
+
+        assertNull(store.get("b", NOW));
+        assertNotNull(store.get("a", NOW));
+        assertNotNull(store.get("c", NOW));
+        assertNotNull(store.get("d", NOW));
+    }
+
+    @Test
+    void testEntryBoundEvictsOldest() {
+        ResponseCacheStore store = new ResponseCacheStore(2, 1_000_000);
+        store.put("a", response(store, 10));
+        store.put("b", response(store, 10));
+        store.put("c", response(store, 10));
+
+        assertEquals(2, store.size());
+        assertNull(store.get("a", NOW));
+    }
+
+    @Test
+    void testLargeEntryEvictsSeveral() {
+        ResponseCacheStore store = new ResponseCacheStore(100, 300);
+        store.put("a", response(store, 100));
+        store.put("b", response(store, 100));
+        store.put("c", response(store, 250));
+
+        assertEquals(1, store.size());
+        assertNotNull(store.get("c", NOW));
+    }
+
+    @Test
+    void testBodyOverByteBoundIsNotStored() {
+        ResponseCacheStore store = new ResponseCacheStore(100, 300);
+        store.put("a", response(store, 100));
+        store.put("huge", response(store, 301));
+
+        assertNull(store.get("huge", NOW));
+        assertNotNull(store.get("a", NOW));
+    }
+
+    @Test
+    void testReplacingEntryReleasesItsBytes() {
+        ResponseCacheStore store = new ResponseCacheStore(100, 300);
+        store.put("a", response(store, 200));
+        store.put("a", response(store, 200));
+        store.put("b", response(store, 100));
+
+        assertEquals(2, store.size());
+        assertNotNull(store.get("a", NOW));
+    }
+
+    @Test
+    void testInvalidationHidesEntries() {
+        ResponseCacheStore store = new ResponseCacheStore(100, 300);
+        store.put("a", response(store, 10));
+
+        store.invalidate(PREFIX);
+
+        assertNull(store.get("a", NOW));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testResponseFetchedBeforeInvalidationIsNotStored() {
+        ResponseCacheStore store = new ResponseCacheStore(100, 300);
+        // The GET started, then a mutation invalidated the prefix before the response came back
+        CachedResponse inFlight = response(store, 10);
+        store.invalidate(PREFIX);
+
+        store.put("a", inFlight);
+
+        assertNull(store.get("a", NOW));
+        store.put("a", response(store, 10));
+        assertNotNull(store.get("a", NOW));
+    }
+
+    @Test
+    void testOtherPrefixesAreUnaffected() {
+        ResponseCacheStore store = new ResponseCacheStore(100, 300);
+        store.put("a", response(store, 10));
+
+        store.invalidate("/api/investors");
+
+        assertNotNull(store.get("a", NOW));
+    }
+
+    @Test
+    void testExpiredEntryIsDropped() {
+        ResponseCacheStore store = new ResponseCacheStore(100, 300);
+        store.put("a", response(store, 10));
+
+        assertNull(store.get("a", NOW + 60_000));
+        assertEquals(0, store.size());
+    }
+}
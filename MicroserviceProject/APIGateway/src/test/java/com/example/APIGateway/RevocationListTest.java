@@ -0,0 +1,97 @@
+package com.example.APIGateway;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.APIGateway.util.RevocationList;
+import com.example.common.client.ServiceTokenSource;
+import com.example.common.util.SubjectHash;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Revocation decisions from loaded issuer snapshots: by jti, and by subject for tokens issued before the
+ * subject's epoch (epoch milliseconds). Subjects arrive hashed (SubjectHash).
+ */
+class RevocationListTest {
+
+    private static final URI INVESTOR = URI.create("http://investor/internal/revocations");
+    private static final URI ADMIN = URI.create("http://admin/internal/revocations");
+    private static final String SUBJECT = "alice@example.com";
+
+    private final RevocationList revocations = new RevocationList(new ObjectMapper(),
+            new ServiceTokenSource(new ObjectMapper(), "", "", "", 60), new String[0], 5, 0.01);
+
+    private void load(URI source, String json) throws Exception {
+        revocations.load(source, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String notBefore(String subject, long epoch) {
+        return "{\"revokedTokenIds\":[],\"notBefore\":{\"" + SubjectHash.of(subject) + "\":" + epoch + "}}";
+    }
+
+    @Test
+    void testRevokedTokenId() throws Exception {
+        load(INVESTOR, "{\"revokedTokenIds\":[\"jti-1\"],\"notBefore\":{}}");
+
+        assertTrue(revocations.isRevoked("jti-1", SUBJECT, 100));
+        assertFalse(revocations.isRevoked("jti-2", SUBJECT, 100));
+    }
+
+    @Test
+    void testSubjectEpochBoundary() throws Exception {
+        load(INVESTOR, notBefore(SUBJECT, 1_000_400));
+
+        assertTrue(revocations.isRevoked("jti-1", SUBJECT, 1_000_399));
+        assertFalse(revocations.isRevoked("jti-1", SUBJECT, 1_000_400));
+        assertFalse(revocations.isRevoked("jti-1", "bob@example.com", 1_000_399));
+    }
+
+    @Test
+    void testTokenIssuedLaterInSameSecondIsKept() throws Exception {
+        // Epochs and iatMs are milliseconds: a token issued right after the revocation must stay valid
+        load(INVESTOR, notBefore(SUBJECT, 1_000_400));
+
+        assertTrue(revocations.isRevoked("jti-1", SUBJECT, 1_000_000));
+        assertFalse(revocations.isRevoked("jti-2", SUBJECT, 1_000_401));
+        assertFalse(revocations.isRevoked("jti-3", SUBJECT, 1_000_999));
+    }
+
+    @Test
+    void testPlainSubjectIsNotMatched() throws Exception {
+        load(INVESTOR, "{\"revokedTokenIds\":[],\"notBefore\":{\"" + SUBJECT + "\":1000}}");
+
+        assertFalse(revocations.isRevoked("jti-1", SUBJECT, 999));
+    }
+
+    @Test
+    void testSourcesMergeWithLatestEpoch() throws Exception {
+        load(INVESTOR, notBefore(SUBJECT, 1000));
+        load(ADMIN, notBefore(SUBJECT, 2000));
+
+        assertTrue(revocations.isRevoked("jti-1", SUBJECT, 1500));
+        assertFalse(revocations.isRevoked("jti-1", SUBJECT, 2000));
+    }
+
+    @Test
+    void testReloadReplacesSourceEntries() throws Exception {
+        load(INVESTOR, "{\"revokedTokenIds\":[\"jti-1\"],\"notBefore\":{}}");
+        load(ADMIN, "{\"revokedTokenIds\":[\"jti-2\"],\"notBefore\":{}}");
+
+        load(INVESTOR, "{\"revokedTokenIds\":[],\"notBefore\":{}}");
+
+        assertFalse(revocations.isRevoked("jti-1", SUBJECT, 100));
+        assertTrue(revocations.isRevoked("jti-2", SUBJECT, 100));
+    }
+
+    @Test
+    void testMissingClaimsAreNotRevoked() throws Exception {
+        load(INVESTOR, notBefore(SUBJECT, 1000));
+
+        assertFalse(revocations.isRevoked(null, null, 0));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.APIGateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+import com.example.APIGateway.config.GatewayAccessProperties;
+import com.example.APIGateway.config.RouteAccess;
+import com.example.APIGateway.config.RouterValidator;
+
+/**
+ * The path trie must give the decision of the deepest rule on segment boundaries, and reject dot segments
+ * before any rule is consulted.
+ */
+class RouterValidatorTest {
+
+    private final RouterValidator validator = validator();
+
+    private static RouterValidator validator() {
+        Map<String, List<String>> roleRules = new LinkedHashMap<>();
+        roleRules.put("/api/internal", List.of("ADMIN"));
+        roleRules.put("/api/compliance/**", List.of("COMPLIANCE_OFFICER", "ADMIN"));
+        GatewayAccessProperties properties = new GatewayAccessProperties();
+        properties.setOpenPaths(List.of("/api/internal/login", "/api/investors/register", "/eureka/**"));
+        properties.setRoleRules(roleRules);
+        return new RouterValidator(properties);
+    }
+
+    @Test
+    void testDeepestRuleWins() {
+        assertSame(RouteAccess.PUBLIC, validator.resolve("/api/internal/login"));
+        assertEquals(Set.of("ADMIN"), validator.resolve("/api/internal/users/7").getRequiredRoles());
+    }
+
+    @Test
+    void testRuleCoversPathsBelowIt() {
+        assertSame(RouteAccess.PUBLIC, validator.resolve("/api/internal/login/extra"));
+        assertSame(RouteAccess.PUBLIC, validator.resolve("/eureka/apps/PORTFOLIO-SERVICE"));
+        assertEquals(Set.of("COMPLIANCE_OFFICER", "ADMIN"), validator.resolve("/api/compliance/reports/3").getRequiredRoles());
+    }
+
+    @Test
+    void testPrefixMatchesWholeSegmentsOnly() {
+        // Neither is the open path: "loginx" falls under /api/internal, "internal-tools" under no rule
+        assertEquals(Set.of("ADMIN"), validator.resolve("/api/internal/loginx").getRequiredRoles());
+        assertSame(RouteAccess.AUTHENTICATED, validator.resolve("/api/internal-tools"));
+        assertSame(RouteAccess.AUTHENTICATED, validator.resolve("/api/investors/registered"));
+    }
+
+    @Test
+    void testPathWithoutRuleNeedsToken() {
+        assertSame(RouteAccess.AUTHENTICATED, validator.resolve("/api/portfolios/1"));
+        assertSame(RouteAccess.AUTHENTICATED, validator.resolve("/"));
+        assertSame(RouteAccess.AUTHENTICATED, validator.resolve(""));
+    }
+
+    @Test
+    void testEmptySegmentsAreSkipped() {
+        assertSame(RouteAccess.PUBLIC, validator.resolve("//api//internal/login/"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/internal/login/../users", "/api/./internal/users", "/..", "/.",
+            "/api/investors/register/..", "/eureka/../api/internal/users"})
+    void testDotSegmentsAreRejected(String path) {
+        assertSame(RouteAccess.REJECTED, validator.resolve(path));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/alerts/evaluate", "/api/alerts/retention/run", "/api/risk-scores/recalculate-all"})
+    void testShippedRulesRestrictOperatorEndpoints(String path) throws IOException {
+        RouterValidator shipped = new RouterValidator(shippedProperties());
+
+        assertEquals(Set.of("COMPLIANCE_OFFICER", "ASSET_MANAGER"), shipped.resolve(path).getRequiredRoles());
+        assertSame(RouteAccess.AUTHENTICATED, shipped.resolve("/api/alerts/investor/7"));
+    }
+
+    private static GatewayAccessProperties shippedProperties() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        new PropertiesPropertySourceLoader().load("application", new ClassPathResource("application.properties"))
+                .forEach(environment.getPropertySources()::addLast);
+        return new Binder(ConfigurationPropertySources.get(environment))
+                .bind("gateway.access", GatewayAccessProperties.class).get();
+    }
+
+    @Test
+    void testDotsWithinSegmentAreAllowed() {
+        assertSame(RouteAccess.PUBLIC, validator.resolve("/api/investors/register/a..b"));
+        assertSame(RouteAccess.AUTHENTICATED, validator.resolve("/api/.../x"));
+        assertSame(RouteAccess.AUTHENTICATED, validator.resolve("/.well-known/jwks.json"));
+    }
+}
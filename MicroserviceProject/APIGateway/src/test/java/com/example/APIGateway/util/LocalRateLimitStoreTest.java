@@ -0,0 +1,109 @@
+package com.example.APIGateway.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * GCRA buckets on a fixed clock: a burst passes at once, then requests are spaced by the refill interval,
+ * and a rejection reports the wait until the next token (the Retry-After). In this package for sweep and size.
+ */
+class LocalRateLimitStoreTest {
+
+    private static final long START = 5_000_000_000L;
+    // 10 per second: one token every 100 ms
+    private static final double RATE = 10;
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int BURST = 3;
+
+    private final LocalRateLimitStore store = new LocalRateLimitStore(3600);
+
+    @AfterEach
+    void close() {
+        store.close();
+    }
+
+    @Test
+    void testBurstThenRetryAfterOneInterval() {
+        for (int i = 0; i < BURST; i++) {
+            assertEquals(0, store.tryAcquire("k", RATE, BURST, START), "request " + i);
+        }
+        assertEquals(INTERVAL, store.tryAcquire("k", RATE, BURST, START));
+        // The wait shrinks as time passes
+        assertEquals(INTERVAL - 40_000_000L, store.tryAcquire("k", RATE, BURST, START + 40_000_000L));
+    }
+
+    @Test
+    void testRefillsOneTokenPerInterval() {
+        for (int i = 0; i < BURST; i++) {
+            store.tryAcquire("k", RATE, BURST, START);
+        }
+
+        assertEquals(0, store.tryAcquire("k", RATE, BURST, START + INTERVAL));
+        assertEquals(INTERVAL, store.tryAcquire("k", RATE, BURST, START + INTERVAL));
+    }
+
+    @Test
+    void testRejectionTakesNoToken() {
+        for (int i = 0; i < BURST; i++) {
+            store.tryAcquire("k", RATE, BURST, START);
+        }
+        for (int i = 0; i < 5; i++) {
+            store.tryAcquire("k", RATE, BURST, START);
+        }
+
+        assertEquals(0, store.tryAcquire("k", RATE, BURST, START + INTERVAL));
+    }
+
+    @Test
+    void testIdleBucketRefillsToBurstOnly() {
+        store.tryAcquire("k", RATE, BURST, START);
+        long later = START + 100 * INTERVAL;
+
+        for (int i = 0; i < BURST; i++) {
+            assertEquals(0, store.tryAcquire("k", RATE, BURST, later), "request " + i);
+        }
+        assertEquals(INTERVAL, store.tryAcquire("k", RATE, BURST, later));
+    }
+
+    @Test
+    void testKeysAreIndependent() {
+        for (int i = 0; i < BURST; i++) {
+            store.tryAcquire("a", RATE, BURST, START);
+        }
+
+        assertEquals(0, store.tryAcquire("b", RATE, BURST, START));
+    }
+
+    @Test
+    void testSweepDropsOnlyFullBuckets() {
+        for (int i = 0; i < BURST; i++) {
+            store.tryAcquire("busy", RATE, BURST, START);
+        }
+        store.tryAcquire("idle", RATE, BURST, START);
+        assertEquals(2, store.size());
+
+        // "idle" is full again after one interval, "busy" only after BURST intervals
+        store.sweep(START + INTERVAL);
+
+        assertEquals(1, store.size());
+        store.sweep(START + BURST * INTERVAL);
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testSweptBucketStartsFull() {
+        for (int i = 0; i < BURST; i++) {
+            store.tryAcquire("k", RATE, BURST, START);
+        }
+        long later = START + BURST * INTERVAL;
+        store.sweep(later);
+
+        for (int i = 0; i < BURST; i++) {
+            assertEquals(0, store.tryAcquire("k", RATE, BURST, later), "request " + i);
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package com.example.AdminUserService;
 
+import com.example.common.config.TokenIssuerConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@Import(TokenIssuerConfig.class)
 @EnableDiscoveryClient
 @EnableFeignClients
+@EnableScheduling
 public class AdminUserServiceApplication {
 
 	public static void main(String[] args) {
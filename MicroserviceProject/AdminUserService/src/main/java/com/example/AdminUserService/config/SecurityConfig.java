@@ -1,5 +1,6 @@
 package com.example.AdminUserService.config;
 
+import com.example.AdminUserService.util.JwtUtil;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,18 +11,25 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtUtil jwtUtil) throws Exception {
         return http.csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/internal/register", "/api/internal/login", "/api/internal/test-db")
+                        .requestMatchers("/api/internal/register", "/api/internal/login", "/api/internal/test-db",
+                                "/api/internal/token/refresh", "/api/internal/logout", "/.well-known/jwks.json",
+                                "/internal/service-token")
                         .permitAll()
+                        // Polled by the gateway with its service token
+                        .requestMatchers("/internal/revocations").hasRole("SERVICE")
                         .anyRequest().authenticated())
+                // Bearer access tokens are verified here as well, not only at the gateway
+                .addFilterBefore(new JwtAuthenticationFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
 
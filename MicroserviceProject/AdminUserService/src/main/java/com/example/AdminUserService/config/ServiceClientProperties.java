@@ -0,0 +1,29 @@
+package com.example.AdminUserService.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Services allowed to get a service token from /internal/service-token, by client id, e.g.
+ * <pre>
+ * auth.service-clients.secrets.portfolio-service=${SERVICE_CLIENT_SECRET:}
+ * auth.service-clients.token-ttl-seconds=900
+ * </pre>
+ * A client whose secret is blank is refused.
+ */
+@Component
+@ConfigurationProperties(prefix = "auth.service-clients")
+public class ServiceClientProperties {
+
+    private Map<String, String> secrets = new LinkedHashMap<>();
+    private long tokenTtlSeconds = 900;
+
+    public Map<String, String> getSecrets() { return secrets; }
+    public void setSecrets(Map<String, String> secrets) { this.secrets = secrets; }
+
+    public long getTokenTtlSeconds() { return tokenTtlSeconds; }
+    public void setTokenTtlSeconds(long tokenTtlSeconds) { this.tokenTtlSeconds = tokenTtlSeconds; }
+}
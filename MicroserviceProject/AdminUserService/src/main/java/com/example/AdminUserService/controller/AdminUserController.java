@@ -4,7 +4,12 @@ import com.example.AdminUserService.dto.AdminUserDTO;
 import com.example.AdminUserService.entity.AdminUser;
 import com.example.AdminUserService.repositiory.AdminUserRepositiory;
 import com.example.AdminUserService.util.JwtUtil;
+import com.example.common.service.RefreshTokenService;
+import com.example.common.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -31,6 +36,12 @@ public class AdminUserController {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private RefreshTokenService refreshTokens;
+
+    @Autowired
+    private TokenRevocationService revocations;
+
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody Map<String, String> loginRequest) {
         String email = loginRequest.get("email");
@@ -42,8 +53,10 @@ public class AdminUserController {
             if (authenticate.isAuthenticated()) {
                 AdminUser user = adminUserRepositiory.findByEmail(email).orElseThrow();
                 String token = jwtUtil.generateToken(email, user.getRole());
+                String refreshToken = refreshTokens.issue(email, user.getRole());
                 user.setPassword(null); // Safety: Don't return password hash
-                return ResponseEntity.ok(Map.of("token", token, "user", user));
+                return ResponseEntity.ok(Map.of("token", token, "refreshToken", refreshToken,
+                        "expiresIn", jwtUtil.getAccessTokenTtlSeconds(), "user", user));
             } else {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
             }
@@ -52,6 +65,38 @@ public class AdminUserController {
         }
     }
 
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token (the old one is spent).
+     * Skips the AuthenticationManager (BCrypt + loadUserByUsername); the role is re-read so changes apply.
+     */
+    @PostMapping("/token/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> body) {
+        return refreshTokens.rotate(body.get("refreshToken"))
+                .flatMap(rotation -> adminUserRepositiory.findByEmail(rotation.subject())
+                        .<ResponseEntity<?>>map(user -> ResponseEntity.ok(Map.of(
+                                "token", jwtUtil.generateToken(user.getEmail(), user.getRole()),
+                                "refreshToken", rotation.refreshToken(),
+                                "expiresIn", jwtUtil.getAccessTokenTtlSeconds()))))
+                .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token"));
+    }
+
+    // Ends the session the refresh token belongs to
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody Map<String, String> body,
+                                    @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        refreshTokens.revoke(body.get("refreshToken"));
+        // The access token sent along is revoked by jti, so the gateway refuses it from its next sync on
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            try {
+                Claims claims = jwtUtil.extractAllClaims(authorization.substring(7).trim());
+                revocations.revokeToken(claims.getId(), claims.getSubject(), claims.getExpiration());
+            } catch (JwtException | IllegalArgumentException e) {
+                // Invalid or already expired: nothing to revoke
+            }
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody AdminUserDTO userDTO) {
         // 1. Validate Secret Key
@@ -0,0 +1,24 @@
+package com.example.AdminUserService.controller;
+
+import com.example.common.service.TokenRevocationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Revoked access tokens, polled by the gateway with its service token (not routed through it).
+ * Only service tokens are let in (SecurityConfig).
+ */
+@RestController
+public class RevocationController {
+
+    @Autowired
+    private TokenRevocationService revocations;
+
+    @GetMapping("/internal/revocations")
+    public Map<String, Object> revocations() {
+        return revocations.snapshot();
+    }
+}
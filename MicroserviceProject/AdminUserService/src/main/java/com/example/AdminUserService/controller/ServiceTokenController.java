@@ -0,0 +1,70 @@
+package com.example.AdminUserService.controller;
+
+import com.example.AdminUserService.config.ServiceClientProperties;
+import com.example.AdminUserService.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Client-credentials exchange for calls the services make on their own behalf (scheduled jobs, revocation sync):
+ * HTTP Basic with a client id and secret from {@link ServiceClientProperties}, answered with an access token
+ * whose subject is {@code service:<client id>} and role SERVICE. Called directly, not through the gateway.
+ */
+@RestController
+public class ServiceTokenController {
+
+    @Autowired
+    private ServiceClientProperties clients;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @PostMapping("/internal/service-token")
+    public ResponseEntity<?> serviceToken(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String clientId = authenticate(authorization);
+        if (clientId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"service-token\"")
+                    .body("Invalid client credentials");
+        }
+        long ttlSeconds = clients.getTokenTtlSeconds();
+        return ResponseEntity.ok(Map.of("token", jwtUtil.generateServiceToken(clientId, ttlSeconds),
+                "expiresIn", ttlSeconds));
+    }
+
+    // The client id if the Basic credentials match a configured client, else null
+    private String authenticate(String authorization) {
+        if (authorization == null || !authorization.startsWith("Basic ")) {
+            return null;
+        }
+        String credentials;
+        try {
+            credentials = new String(Base64.getDecoder().decode(authorization.substring(6).trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        int colon = credentials.indexOf(':');
+        if (colon <= 0) {
+            return null;
+        }
+        String clientId = credentials.substring(0, colon);
+        String expected = clients.getSecrets().get(clientId);
+        if (expected == null || expected.isBlank()) {
+            return null;
+        }
+        // Constant-time, so the secret cannot be guessed byte by byte from response times
+        boolean matches = MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                credentials.substring(colon + 1).getBytes(StandardCharsets.UTF_8));
+        return matches ? clientId : null;
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.ComplianceReportService.client;
 
+import com.example.ComplianceReportService.dto.PortfolioChangeDto;
 import com.example.ComplianceReportService.dto.PortfolioDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import java.util.List;
 
 @FeignClient(name = "PORTFOLIO-SERVICE")
@@ -12,7 +16,25 @@ public interface PortfolioClient {
     @GetMapping("/api/portfolios/{id}")
     PortfolioDto getPortfolioById(@PathVariable("id") Long id);
 
+    // Resolves many ids in one round-trip; unknown ids are simply missing from the result
+    @PostMapping("/api/portfolios/batch")
+    List<PortfolioDto> getPortfoliosByIds(@RequestBody List<Long> ids);
+
     @GetMapping("/api/portfolios/all")
     List<PortfolioDto> getAllPortfolios();
 
+    // Keyset-paged read used by the chunked audit: portfolios with id > afterId, ordered by id
+    @GetMapping("/api/portfolios/chunk")
+    List<PortfolioDto> getPortfolioChunk(@RequestParam("afterId") Long afterId, @RequestParam("size") int size);
+
+    // Outbox feed of portfolio changes, oldest first, with each portfolio's current state attached.
+    // 410 (FeignException.Gone) when events after afterEventId were purged: re-audit all, resume from the head.
+    @GetMapping("/api/portfolios/changes")
+    List<PortfolioChangeDto> getChanges(@RequestParam("consumer") String consumer,
+                                        @RequestParam("afterEventId") Long afterEventId,
+                                        @RequestParam("limit") int limit);
+
+    @GetMapping("/api/portfolios/changes/head")
+    Long getChangesHead();
+
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.ComplianceReportService.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class AuditConfig {
+
+    /**
+     * Dedicated pool for rule evaluation so a long audit never competes with the common pool.
+     * A parallelism of 0 (the default) means one worker per available core.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool complianceAuditPool(@Value("${compliance.audit.parallelism:0}") int parallelism) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(workers);
+    }
+}
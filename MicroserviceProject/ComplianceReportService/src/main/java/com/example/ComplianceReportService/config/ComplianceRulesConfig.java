@@ -0,0 +1,38 @@
+package com.example.ComplianceReportService.config;
+
+import com.example.ComplianceReportService.rules.ComplianceRule;
+import com.example.ComplianceReportService.rules.ComplianceRuleSet;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static com.example.ComplianceReportService.rules.Allocation.BOND;
+import static com.example.ComplianceReportService.rules.Allocation.DERIVATIVE;
+import static com.example.ComplianceReportService.rules.Allocation.EQUITY;
+
+/**
+ * Regulation rule sets. To support a new regulation, add another ComplianceRuleSet bean here;
+ * the registry compiles it into the audit plan at startup.
+ */
+@Configuration
+public class ComplianceRulesConfig {
+
+    @Bean
+    public ComplianceRuleSet sebiRules() {
+        return new ComplianceRuleSet("SEBI",
+                ComplianceRule.of("SEBI VIOLATION: Risk too high. Derivative % cannot exceed Bond %.",
+                        DERIVATIVE.gt(BOND)),
+                ComplianceRule.of("SEBI VIOLATION: Regulatory Cap. Derivatives cannot exceed 50%.",
+                        DERIVATIVE.gt(50)),
+                ComplianceRule.of("SEBI VIOLATION: Liquidity Issue. Bonds must be at least 10%.",
+                        BOND.lt(10)));
+    }
+
+    @Bean
+    public ComplianceRuleSet mifidRules() {
+        return new ComplianceRuleSet("MiFID II",
+                ComplianceRule.of("MiFID WARNING: Speculative Portfolio (Derivatives > Equity).",
+                        DERIVATIVE.gt(EQUITY)),
+                ComplianceRule.of("MiFID WARNING: High Risk Allocation (>80% Risk Assets).",
+                        EQUITY.plus(DERIVATIVE).gt(80)));
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.example.ComplianceReportService.dto.AuditSummary;
 import com.example.ComplianceReportService.entity.ComplianceReport;
 import com.example.ComplianceReportService.repositiory.ComplianceReportRepositiory;
 import com.example.ComplianceReportService.service.ComplianceService;
@@ -18,11 +19,12 @@ public class ComplianceReportController {
     @Autowired
     private ComplianceReportRepositiory logRepository;
 
+
     @PostMapping("/audit-all")
-    public ResponseEntity<List<ComplianceReport>> auditAllPortfolios() {
+    public ResponseEntity<AuditSummary> auditAllPortfolios() {
         try {
-            List<ComplianceReport> updatedLogs = service.auditAllPortfolios();
-            return ResponseEntity.ok(updatedLogs);
+            AuditSummary summary = service.auditAllPortfolios();
+            return ResponseEntity.ok(summary);
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
         }
@@ -33,6 +35,17 @@ public class ComplianceReportController {
         return service.getAllLogs();
     }
 
+    // Keyset-paginated logs: pass nextCursor back as cursor; deep pages cost the same as the first
+    @GetMapping("/logs/page")
+    public ResponseEntity<?> getLogPage(@RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(service.getLogPage(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+    }
+
     @PostMapping("/logs/create")
     public ResponseEntity<ComplianceReport> createLog(@RequestBody ComplianceReport log) {
         try {
@@ -0,0 +1,45 @@
+package com.example.ComplianceReportService.dto;
+
+/**
+ * Outcome of one {@code /api/compliance/audit-all} run. Returned instead of the full
+ * compliance_logs table so the response size no longer grows with the book.
+ */
+public class AuditSummary {
+    private long portfoliosScanned;
+    private long portfoliosAudited;
+    private long portfoliosSkipped;
+    private long compliant;
+    private long nonCompliant;
+    private long reportsInserted;
+    private long reportsUpdated;
+    private int chunks;
+    private long durationMs;
+
+    // Getters and Setters
+    public long getPortfoliosScanned() { return portfoliosScanned; }
+    public void setPortfoliosScanned(long portfoliosScanned) { this.portfoliosScanned = portfoliosScanned; }
+
+    public long getPortfoliosAudited() { return portfoliosAudited; }
+    public void setPortfoliosAudited(long portfoliosAudited) { this.portfoliosAudited = portfoliosAudited; }
+
+    public long getPortfoliosSkipped() { return portfoliosSkipped; }
+    public void setPortfoliosSkipped(long portfoliosSkipped) { this.portfoliosSkipped = portfoliosSkipped; }
+
+    public long getCompliant() { return compliant; }
+    public void setCompliant(long compliant) { this.compliant = compliant; }
+
+    public long getNonCompliant() { return nonCompliant; }
+    public void setNonCompliant(long nonCompliant) { this.nonCompliant = nonCompliant; }
+
+    public long getReportsInserted() { return reportsInserted; }
+    public void setReportsInserted(long reportsInserted) { this.reportsInserted = reportsInserted; }
+
+    public long getReportsUpdated() { return reportsUpdated; }
+    public void setReportsUpdated(long reportsUpdated) { this.reportsUpdated = reportsUpdated; }
+
+    public int getChunks() { return chunks; }
+    public void setChunks(int chunks) { this.chunks = chunks; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+}
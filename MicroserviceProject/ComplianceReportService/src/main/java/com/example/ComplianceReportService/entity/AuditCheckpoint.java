@@ -0,0 +1,39 @@
+package com.example.ComplianceReportService.entity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Last portfolio outbox event this service has re-audited, so polling resumes where it left off.
+ */
+@Entity
+@Table(name = "audit_checkpoint")
+public class AuditCheckpoint {
+
+    @Id
+    @Column(name = "consumer")
+    private String consumer;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Default Constructor
+    public AuditCheckpoint() {}
+
+    public AuditCheckpoint(String consumer, Long lastEventId) {
+        this.consumer = consumer;
+        this.lastEventId = lastEventId;
+    }
+
+    // Getters and Setters
+    public String getConsumer() { return consumer; }
+    public void setConsumer(String consumer) { this.consumer = consumer; }
+
+    public Long getLastEventId() { return lastEventId; }
+    public void setLastEventId(Long lastEventId) { this.lastEventId = lastEventId; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,7 @@
+package com.example.ComplianceReportService.repositiory;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.example.ComplianceReportService.entity.AuditCheckpoint;
+
+public interface AuditCheckpointRepositiory extends JpaRepository<AuditCheckpoint, String> {
+}
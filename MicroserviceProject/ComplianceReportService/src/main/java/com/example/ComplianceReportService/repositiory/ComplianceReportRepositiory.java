@@ -1,11 +1,24 @@
 package com.example.ComplianceReportService.repositiory;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.example.ComplianceReportService.entity.ComplianceReport;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ComplianceReportRepositiory extends JpaRepository<ComplianceReport, Long> {
 
     // Finds existing report by portfolio ID so we can update it instead of deleting
     Optional<ComplianceReport> findByPortfolioId(Integer portfolioId);
+
+    // Keyset page of logs in id order (see /api/compliance/logs/page)
+    List<ComplianceReport> findByLogIdGreaterThanOrderByLogIdAsc(Long afterLogId, Pageable pageable);
+
+    // Pre-loads (portfolioId, logId) pairs for a whole audit chunk in one round-trip
+    @Query("select r.portfolioId, r.logId from ComplianceReport r where r.portfolioId in :portfolioIds order by r.logId")
+    List<Object[]> findLogIdsByPortfolioIdIn(@Param("portfolioIds") Collection<Integer> portfolioIds);
 }
\ No newline at end of file
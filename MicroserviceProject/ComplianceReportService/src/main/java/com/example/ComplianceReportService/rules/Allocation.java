@@ -0,0 +1,68 @@
+package com.example.ComplianceReportService.rules;
+
+/**
+ * Linear expression over a portfolio's allocation percentages, used to declare rules such as
+ * {@code Allocation.DERIVATIVE.gt(Allocation.BOND)} or {@code Allocation.EQUITY.plus(Allocation.DERIVATIVE).gt(80)}.
+ * Comparisons produce a {@link Condition} the plan can evaluate as a weighted sum against a limit.
+ */
+public final class Allocation {
+
+    public static final Allocation EQUITY = new Allocation(1, 0, 0, 0);
+    public static final Allocation BOND = new Allocation(0, 1, 0, 0);
+    public static final Allocation DERIVATIVE = new Allocation(0, 0, 1, 0);
+
+    private final double equityWeight;
+    private final double bondWeight;
+    private final double derivativeWeight;
+    private final double constant;
+
+    private Allocation(double equityWeight, double bondWeight, double derivativeWeight, double constant) {
+        this.equityWeight = equityWeight;
+        this.bondWeight = bondWeight;
+        this.derivativeWeight = derivativeWeight;
+        this.constant = constant;
+    }
+
+    public Allocation plus(Allocation other) {
+        return new Allocation(equityWeight + other.equityWeight, bondWeight + other.bondWeight,
+                derivativeWeight + other.derivativeWeight, constant + other.constant);
+    }
+
+    public Allocation minus(Allocation other) {
+        return new Allocation(equityWeight - other.equityWeight, bondWeight - other.bondWeight,
+                derivativeWeight - other.derivativeWeight, constant - other.constant);
+    }
+
+    public Condition gt(Allocation other) {
+        Allocation diff = minus(other);
+        return new Condition(diff.equityWeight, diff.bondWeight, diff.derivativeWeight, -diff.constant);
+    }
+
+    public Condition gt(double limit) {
+        return gt(constant(limit));
+    }
+
+    public Condition lt(Allocation other) {
+        return other.gt(this);
+    }
+
+    public Condition lt(double limit) {
+        return constant(limit).gt(this);
+    }
+
+    private static Allocation constant(double value) {
+        return new Allocation(0, 0, 0, value);
+    }
+
+    /**
+     * Holds when {@code equityWeight * equity + bondWeight * bond + derivativeWeight * derivative > limit}.
+     */
+    public record Condition(double equityWeight, double bondWeight, double derivativeWeight, double limit)
+            implements ComplianceRule.AllocationCheck {
+
+        @Override
+        public boolean test(double equity, double bond, double derivative) {
+            return equityWeight * equity + bondWeight * bond + derivativeWeight * derivative > limit;
+        }
+    }
+}
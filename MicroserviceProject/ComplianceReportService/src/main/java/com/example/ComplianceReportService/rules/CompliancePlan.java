@@ -0,0 +1,140 @@
+package com.example.ComplianceReportService.rules;
+
+import com.example.ComplianceReportService.dto.PortfolioDto;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable evaluation plan compiled from the registered {@link ComplianceRuleSet}s.
+ * - Each regulation becomes flat coefficient/finding arrays walked with primitive double comparisons.
+ * - Regulation types are resolved with a map lookup; case variants ("sebi", "MIFID II") are
+ *   normalised once and then cached, so the hot path never lower-cases or compares strings.
+ */
+public final class CompliancePlan {
+
+    public static final String NO_VIOLATIONS = "No compliance violations detected";
+
+    // Guards the spelling cache against unbounded growth from junk regulation values
+    private static final int MAX_CACHED_SPELLINGS = 1024;
+
+    private final Map<String, CompiledRuleSet> byNormalisedType;
+    private final Map<String, CompiledRuleSet> bySpelling = new ConcurrentHashMap<>();
+    private final String defaultRegulationType;
+    private final CompiledRuleSet defaultRuleSet;
+
+    CompliancePlan(List<ComplianceRuleSet> ruleSets, String defaultRegulationType) {
+        Map<String, CompiledRuleSet> compiled = new HashMap<>();
+        for (ComplianceRuleSet ruleSet : ruleSets) {
+            CompiledRuleSet compiledSet = new CompiledRuleSet(ruleSet);
+            if (compiled.putIfAbsent(normalise(ruleSet.getRegulationType()), compiledSet) != null) {
+                throw new IllegalStateException("Duplicate compliance rule set for regulation: " + ruleSet.getRegulationType());
+            }
+            bySpelling.put(ruleSet.getRegulationType(), compiledSet);
+        }
+        this.byNormalisedType = Map.copyOf(compiled);
+        this.defaultRegulationType = defaultRegulationType;
+        this.defaultRuleSet = byNormalisedType.getOrDefault(normalise(defaultRegulationType), CompiledRuleSet.EMPTY);
+    }
+
+    /**
+     * Evaluates one portfolio. Returns null for portfolios with missing allocation data, which are skipped.
+     * A null regulation type falls back to the default regulation; unknown types have no rules and pass.
+     */
+    public ComplianceVerdict evaluate(PortfolioDto p) {
+        if (p.getPortfolioId() == null ||
+                p.getEquityPercentage() == null ||
+                p.getDerivativePercentage() == null ||
+                p.getBondPercentage() == null) {
+            return null;
+        }
+        return evaluate(p.getPortfolioId().intValue(), p.getRegulationType(),
+                p.getEquityPercentage(), p.getBondPercentage(), p.getDerivativePercentage());
+    }
+
+    public ComplianceVerdict evaluate(int portfolioId, String regulationType,
+                                      double equity, double bond, double derivative) {
+        CompiledRuleSet ruleSet;
+        if (regulationType == null) {
+            regulationType = defaultRegulationType;
+            ruleSet = defaultRuleSet;
+        } else {
+            ruleSet = resolve(regulationType);
+        }
+
+        String finding = ruleSet.firstViolation(equity, bond, derivative);
+        return finding == null
+                ? new ComplianceVerdict(portfolioId, regulationType, true, NO_VIOLATIONS)
+                : new ComplianceVerdict(portfolioId, regulationType, false, finding);
+    }
+
+    private CompiledRuleSet resolve(String regulationType) {
+        CompiledRuleSet ruleSet = bySpelling.get(regulationType);
+        if (ruleSet != null) {
+            return ruleSet;
+        }
+        ruleSet = byNormalisedType.getOrDefault(normalise(regulationType), CompiledRuleSet.EMPTY);
+        if (bySpelling.size() < MAX_CACHED_SPELLINGS) {
+            bySpelling.putIfAbsent(regulationType, ruleSet);
+        }
+        return ruleSet;
+    }
+
+    // Same matching as the String.equalsIgnoreCase chain this plan replaced: no trimming, and each character
+    // folded through upper then lower case (two spellings fold alike exactly when equalsIgnoreCase holds)
+    static String normalise(String regulationType) {
+        StringBuilder folded = new StringBuilder(regulationType.length());
+        regulationType.codePoints().forEach(c -> folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(c))));
+        return folded.toString();
+    }
+
+    /**
+     * One regulation flattened for evaluation: four doubles per rule (three weights and a limit).
+     * Rules declared with {@link Allocation} conditions are pure arithmetic; other rules keep a
+     * reference in {@code customRules} and are called through the interface.
+     */
+    private static final class CompiledRuleSet {
+
+        static final CompiledRuleSet EMPTY = new CompiledRuleSet(new ComplianceRuleSet("-"));
+
+        private final double[] coefficients;
+        private final ComplianceRule[] customRules;
+        private final String[] findings;
+
+        private CompiledRuleSet(ComplianceRuleSet ruleSet) {
+            List<ComplianceRule> rules = ruleSet.getRules();
+            this.coefficients = new double[rules.size() * 4];
+            this.customRules = new ComplianceRule[rules.size()];
+            this.findings = new String[rules.size()];
+
+            for (int i = 0; i < rules.size(); i++) {
+                ComplianceRule rule = rules.get(i);
+                findings[i] = rule.finding();
+                if (rule instanceof ComplianceRule.SimpleRule simple
+                        && simple.violatedWhen() instanceof Allocation.Condition condition) {
+                    coefficients[i * 4] = condition.equityWeight();
+                    coefficients[i * 4 + 1] = condition.bondWeight();
+                    coefficients[i * 4 + 2] = condition.derivativeWeight();
+                    coefficients[i * 4 + 3] = condition.limit();
+                } else {
+                    customRules[i] = rule;
+                }
+            }
+        }
+
+        String firstViolation(double equity, double bond, double derivative) {
+            for (int i = 0, k = 0; i < findings.length; i++, k += 4) {
+                ComplianceRule custom = customRules[i];
+                boolean violated = custom == null
+                        ? coefficients[k] * equity + coefficients[k + 1] * bond + coefficients[k + 2] * derivative > coefficients[k + 3]
+                        : custom.isViolatedBy(equity, bond, derivative);
+                if (violated) {
+                    return findings[i];
+                }
+            }
+            return null;
+        }
+    }
+}
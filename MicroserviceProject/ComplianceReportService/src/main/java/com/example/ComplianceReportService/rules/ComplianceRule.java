@@ -0,0 +1,31 @@
+package com.example.ComplianceReportService.rules;
+
+/**
+ * A single allocation check belonging to a regulation (see {@link ComplianceRuleSet}).
+ * Percentages are passed as primitives (0-100) so evaluation never boxes or touches strings.
+ * Rules built from {@link Allocation} conditions are flattened into coefficient arrays by the
+ * {@link CompliancePlan}; any other {@link AllocationCheck} is called as-is.
+ */
+public interface ComplianceRule {
+
+    boolean isViolatedBy(double equity, double bond, double derivative);
+
+    // Text stored in compliance_logs.findings when this rule is the first one violated
+    String finding();
+
+    static ComplianceRule of(String finding, AllocationCheck violatedWhen) {
+        return new SimpleRule(finding, violatedWhen);
+    }
+
+    @FunctionalInterface
+    interface AllocationCheck {
+        boolean test(double equity, double bond, double derivative);
+    }
+
+    record SimpleRule(String finding, AllocationCheck violatedWhen) implements ComplianceRule {
+        @Override
+        public boolean isViolatedBy(double equity, double bond, double derivative) {
+            return violatedWhen.test(equity, bond, derivative);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.ComplianceReportService.rules;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registry of compliance rule sets keyed by regulation type.
+ * Every {@link ComplianceRuleSet} bean is picked up at startup and compiled into a
+ * {@link CompliancePlan}; {@link #register} recompiles when a rule set is added at runtime.
+ */
+@Component
+public class ComplianceRuleRegistry {
+
+    private final List<ComplianceRuleSet> ruleSets;
+    private final String defaultRegulationType;
+    private volatile CompliancePlan plan;
+
+    public ComplianceRuleRegistry(List<ComplianceRuleSet> ruleSets,
+                                  @Value("${compliance.rules.default-regulation:SEBI}") String defaultRegulationType) {
+        this.ruleSets = new ArrayList<>(ruleSets);
+        this.defaultRegulationType = defaultRegulationType;
+        this.plan = new CompliancePlan(this.ruleSets, defaultRegulationType);
+    }
+
+    public CompliancePlan getPlan() {
+        return plan;
+    }
+
+    public synchronized void register(ComplianceRuleSet ruleSet) {
+        List<ComplianceRuleSet> updated = new ArrayList<>(ruleSets);
+        updated.add(ruleSet);
+        // Compile first so a duplicate regulation leaves the current plan untouched
+        CompliancePlan compiled = new CompliancePlan(updated, defaultRegulationType);
+        ruleSets.add(ruleSet);
+        plan = compiled;
+    }
+}
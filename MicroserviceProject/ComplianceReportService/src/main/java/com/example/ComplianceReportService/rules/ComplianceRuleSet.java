@@ -0,0 +1,26 @@
+package com.example.ComplianceReportService.rules;
+
+import java.util.List;
+
+/**
+ * The ordered rules of one regulation. Rules are checked in declaration order and the
+ * first violation decides the finding, matching how the original if/else chain behaved.
+ * Declare one of these as a bean to add a regulation.
+ */
+public class ComplianceRuleSet {
+
+    private final String regulationType;
+    private final List<ComplianceRule> rules;
+
+    public ComplianceRuleSet(String regulationType, ComplianceRule... rules) {
+        if (regulationType == null || regulationType.isBlank()) {
+            throw new IllegalArgumentException("regulationType is required");
+        }
+        this.regulationType = regulationType;
+        this.rules = List.of(rules);
+    }
+
+    public String getRegulationType() { return regulationType; }
+
+    public List<ComplianceRule> getRules() { return rules; }
+}
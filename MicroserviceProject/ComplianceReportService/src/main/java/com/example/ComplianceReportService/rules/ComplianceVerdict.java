@@ -0,0 +1,16 @@
+package com.example.ComplianceReportService.rules;
+
+/**
+ * Result of evaluating one portfolio. Findings always reference strings held by the
+ * compiled plan, so building a verdict allocates nothing but the record itself.
+ */
+public record ComplianceVerdict(int portfolioId, String regulationType, boolean compliant, String findings) {
+
+    public static final String COMPLIANT = "COMPLIANCE";
+    public static final String NON_COMPLIANT = "NON-COMPLIANCE";
+
+    // Value written to compliance_logs.compliance_status
+    public String status() {
+        return compliant ? COMPLIANT : NON_COMPLIANT;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.ComplianceReportService.service;
+
+import com.example.ComplianceReportService.client.PortfolioClient;
+import com.example.ComplianceReportService.dto.AuditSummary;
+import com.example.ComplianceReportService.dto.PortfolioDto;
+import com.example.ComplianceReportService.repositiory.ComplianceReportRepositiory;
+import com.example.ComplianceReportService.rules.CompliancePlan;
+import com.example.ComplianceReportService.rules.ComplianceRuleRegistry;
+import com.example.ComplianceReportService.rules.ComplianceVerdict;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Chunked audit of the whole portfolio book.
+ * - Pages through portfolio-service by id instead of pulling every portfolio at once.
+ * - Pre-loads the existing report ids of a chunk with a single query.
+ * - Evaluates the chunk against the compiled rule plan on a dedicated fork-join pool.
+ * - Writes the chunk with JDBC batch updates/inserts in its own short transaction.
+ */
+@Service
+public class ComplianceAuditEngine {
+
+    private static final String UPDATE_SQL =
+            "UPDATE compliance_logs SET regulation_type = ?, findings = ?, compliance_status = ?, log_date = ? WHERE log_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO compliance_logs (portfolio_id, regulation_type, findings, compliance_status, log_date) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private PortfolioClient portfolioClient;
+
+    @Autowired
+    private ComplianceReportRepositiory logRepository;
+
+    @Autowired
+    private ComplianceRuleRegistry ruleRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("complianceAuditPool")
+    private ForkJoinPool auditPool;
+
+    @Value("${compliance.audit.chunk-size:500}")
+    private int chunkSize;
+
+    public AuditSummary auditAll() {
+        long started = System.currentTimeMillis();
+        AuditSummary summary = new AuditSummary();
+        LocalDate auditDate = LocalDate.now();
+        CompliancePlan plan = ruleRegistry.getPlan();
+
+        long afterId = 0L;
+        while (true) {
+            List<PortfolioDto> chunk = portfolioClient.getPortfolioChunk(afterId, chunkSize);
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            auditChunk(chunk, plan, auditDate, summary);
+            summary.setChunks(summary.getChunks() + 1);
+
+            // Only an empty chunk ends the scan: portfolio-service caps the chunk size, so a short chunk
+            // does not mean the last one
+            Long lastId = chunk.get(chunk.size() - 1).getPortfolioId();
+            if (lastId == null) {
+                break;
+            }
+            afterId = lastId;
+        }
+
+        summary.setDurationMs(System.currentTimeMillis() - started);
+        return summary;
+    }
+
+    /**
+     * Audits just the given portfolios (e.g. the ones named by change events) as a single chunk.
+     */
+    public AuditSummary audit(List<PortfolioDto> portfolios) {
+        long started = System.currentTimeMillis();
+        AuditSummary summary = new AuditSummary();
+        if (!portfolios.isEmpty()) {
+            auditChunk(portfolios, ruleRegistry.getPlan(), LocalDate.now(), summary);
+            summary.setChunks(1);
+        }
+        summary.setDurationMs(System.currentTimeMillis() - started);
+        return summary;
+    }
+
+    private void auditChunk(List<PortfolioDto> chunk, CompliancePlan plan, LocalDate auditDate, AuditSummary summary) {
+        List<ComplianceVerdict> verdicts = auditPool.submit(() -> chunk.parallelStream()
+                .map(plan::evaluate)
+                .filter(Objects::nonNull)
+                .toList()).join();
+
+        summary.setPortfoliosScanned(summary.getPortfoliosScanned() + chunk.size());
+        summary.setPortfoliosAudited(summary.getPortfoliosAudited() + verdicts.size());
+        summary.setPortfoliosSkipped(summary.getPortfoliosSkipped() + (chunk.size() - verdicts.size()));
+        if (verdicts.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Long> existingLogIds = loadExistingLogIds(verdicts);
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        Date sqlDate = Date.valueOf(auditDate);
+
+        for (ComplianceVerdict v : verdicts) {
+            Long logId = existingLogIds.get(v.portfolioId());
+            if (logId != null) {
+                updates.add(new Object[]{v.regulationType(), v.findings(), v.status(), sqlDate, logId});
+            } else {
+                inserts.add(new Object[]{v.portfolioId(), v.regulationType(), v.findings(), v.status(), sqlDate});
+            }
+            if (v.compliant()) {
+                summary.setCompliant(summary.getCompliant() + 1);
+            } else {
+                summary.setNonCompliant(summary.getNonCompliant() + 1);
+            }
+        }
+
+        // One short transaction per chunk instead of one for the whole book
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            }
+        });
+        summary.setReportsUpdated(summary.getReportsUpdated() + updates.size());
+        summary.setReportsInserted(summary.getReportsInserted() + inserts.size());
+    }
+
+    private Map<Integer, Long> loadExistingLogIds(List<ComplianceVerdict> verdicts) {
+        List<Integer> ids = verdicts.stream().map(ComplianceVerdict::portfolioId).toList();
+        Map<Integer, Long> logIds = new HashMap<>(ids.size() * 2);
+        for (Object[] row : logRepository.findLogIdsByPortfolioIdIn(ids)) {
+            // Rows come back ordered by logId, so the oldest report per portfolio is the one we keep updating
+            logIds.putIfAbsent((Integer) row[0], (Long) row[1]);
+        }
+        return logIds;
+    }
+}
@@ -1,16 +1,16 @@
 package com.example.ComplianceReportService.service;
 
-import com.example.ComplianceReportService.client.PortfolioClient;
-import com.example.ComplianceReportService.dto.PortfolioDto;
+import com.example.ComplianceReportService.dto.AuditSummary;
 import com.example.ComplianceReportService.entity.ComplianceReport;
 import com.example.ComplianceReportService.repositiory.ComplianceReportRepositiory;
+import com.example.common.dto.CursorPage;
+import com.example.common.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 @Service
 public class ComplianceService {
@@ -19,12 +19,20 @@ public class ComplianceService {
     private ComplianceReportRepositiory logRepository;
 
     @Autowired
-    private PortfolioClient portfolioClient;
+    private ComplianceAuditEngine auditEngine;
 
     public List<ComplianceReport> getAllLogs() {
         return logRepository.findAll();
     }
 
+    public CursorPage<ComplianceReport> getLogPage(String cursor, int limit) {
+        long afterLogId = cursor == null ? 0L : Long.parseLong(PageCursor.decode(cursor, 1)[0]);
+        int pageSize = PageCursor.clampLimit(limit);
+        List<ComplianceReport> rows = logRepository
+                .findByLogIdGreaterThanOrderByLogIdAsc(afterLogId, PageRequest.of(0, pageSize + 1));
+        return CursorPage.from(rows, pageSize, r -> PageCursor.encode(r.getLogId()));
+    }
+
     public ComplianceReport createLog(ComplianceReport log) {
         if (log.getDate() == null) {
             log.setDate(LocalDate.now());
@@ -32,83 +40,11 @@ public class ComplianceService {
         return logRepository.save(log);
     }
 
-    @Transactional
-    public List<ComplianceReport> auditAllPortfolios() {
-        try {
-            // UPDATED: Now uses the standalone PortfolioDto class
-            List<PortfolioDto> allPortfolios = portfolioClient.getAllPortfolios();
-
-            if (allPortfolios == null || allPortfolios.isEmpty()) {
-                return logRepository.findAll();
-            }
-
-            // UPDATED: Loop variable type changed to PortfolioDto
-            for (PortfolioDto p : allPortfolios) {
-                try {
-                    // NULL SAFETY: Skip portfolios with missing percentage data
-                    if (p.getPortfolioId() == null ||
-                            p.getEquityPercentage() == null ||
-                            p.getDerivativePercentage() == null ||
-                            p.getBondPercentage() == null) {
-                        continue;
-                    }
-
-                    // Prepare Variables
-                    // Note: Ensure your repository accepts Integer, otherwise consider changing
-                    // entity to Long
-                    Integer pIdAsInt = p.getPortfolioId().intValue();
-                    double equity = p.getEquityPercentage();
-                    double derivative = p.getDerivativePercentage();
-                    double bond = p.getBondPercentage();
-
-                    // Default to SEBI if null, otherwise use the portfolio's type
-                    String regulationType = (p.getRegulationType() != null) ? p.getRegulationType() : "SEBI";
-                    String status = "COMPLIANCE"; // Removed trailing space for cleanliness
-                    String findings = "No compliance violations detected";
-
-                    if ("SEBI".equalsIgnoreCase(regulationType)) {
-                        // --- SEBI RULES ---
-                        if (derivative > bond) {
-                            status = "NON-COMPLIANCE";
-                            findings = "SEBI VIOLATION: Risk too high. Derivative % cannot exceed Bond %.";
-                        } else if (derivative > 50) {
-                            status = "NON-COMPLIANCE";
-                            findings = "SEBI VIOLATION: Regulatory Cap. Derivatives cannot exceed 50%.";
-                        } else if (bond < 10) {
-                            status = "NON-COMPLIANCE";
-                            findings = "SEBI VIOLATION: Liquidity Issue. Bonds must be at least 10%.";
-                        }
-                    } else if ("MiFID II".equalsIgnoreCase(regulationType)) {
-                        // --- MiFID II RULES ---
-                        if (derivative > equity) {
-                            status = "NON-COMPLIANCE";
-                            findings = "MiFID WARNING: Speculative Portfolio (Derivatives > Equity).";
-                        } else if ((equity + derivative) > 80) {
-                            status = "NON-COMPLIANCE";
-                            findings = "MiFID WARNING: High Risk Allocation (>80% Risk Assets).";
-                        }
-                    }
-
-                    Optional<ComplianceReport> existingLog = logRepository.findByPortfolioId(pIdAsInt);
-                    ComplianceReport log = existingLog.orElse(new ComplianceReport());
-
-                    log.setPortfolioId(pIdAsInt);
-                    log.setComplianceStatus(status);
-                    log.setFindings(findings);
-                    log.setRegulationType(regulationType);
-                    log.setDate(LocalDate.now());
-
-                    logRepository.save(log);
-
-                } catch (Exception e) {
-
-                }
-            }
-
-            return logRepository.findAll();
-
-        } catch (Exception e) {
-            throw e;
-        }
+    /**
+     * Audits every portfolio chunk by chunk (see {@link ComplianceAuditEngine}).
+     * Each chunk commits on its own, so no transaction is held across the whole book.
+     */
+    public AuditSummary auditAllPortfolios() {
+        return auditEngine.auditAll();
     }
-}
\ No newline at end of file
+}
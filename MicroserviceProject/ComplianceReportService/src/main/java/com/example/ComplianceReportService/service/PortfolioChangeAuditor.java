@@ -0,0 +1,113 @@
+package com.example.ComplianceReportService.service;
+
+import com.example.ComplianceReportService.client.PortfolioClient;
+import com.example.ComplianceReportService.dto.AuditSummary;
+import com.example.ComplianceReportService.dto.PortfolioChangeDto;
+import com.example.ComplianceReportService.dto.PortfolioDto;
+import com.example.ComplianceReportService.entity.AuditCheckpoint;
+import com.example.ComplianceReportService.repositiory.AuditCheckpointRepositiory;
+import feign.FeignException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental re-audit driven by portfolio-service's outbox.
+ * Each poll reads the change events after our checkpoint, keeps the latest state per portfolio,
+ * re-audits only those portfolios and then advances the checkpoint. Audit cost therefore follows
+ * the rate of change; /audit-all remains available for a full sweep.
+ * - Polls carry our consumer name, so portfolio-service keeps the events we have not read yet.
+ * - If we were away long enough for them to be purged anyway (410), we run the full sweep and resume
+ *   from the feed's head.
+ */
+@Service
+@ConditionalOnProperty(name = "compliance.reaudit.enabled", havingValue = "true", matchIfMissing = true)
+public class PortfolioChangeAuditor {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioChangeAuditor.class);
+
+    static final String CONSUMER = "portfolio-change-reaudit";
+
+    @Autowired
+    private PortfolioClient portfolioClient;
+
+    @Autowired
+    private ComplianceAuditEngine auditEngine;
+
+    @Autowired
+    private AuditCheckpointRepositiory checkpointRepository;
+
+    @Value("${compliance.reaudit.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${compliance.reaudit.poll-interval-ms:5000}")
+    public void pollChanges() {
+        long afterEventId = checkpointRepository.findById(CONSUMER)
+                .map(AuditCheckpoint::getLastEventId)
+                .orElse(0L);
+
+        List<PortfolioChangeDto> changes;
+        do {
+            try {
+                changes = portfolioClient.getChanges(CONSUMER, afterEventId, batchSize);
+            } catch (FeignException.Gone e) {
+                resync(afterEventId);
+                return;
+            } catch (Exception e) {
+                // portfolio-service unreachable: keep the checkpoint and retry on the next tick
+                log.warn("Polling portfolio changes after event {} failed: {}", afterEventId, e.getMessage());
+                return;
+            }
+            if (changes == null || changes.isEmpty()) {
+                return;
+            }
+
+            reaudit(changes);
+            afterEventId = changes.get(changes.size() - 1).getEventId();
+            saveCheckpoint(afterEventId);
+        } while (changes.size() >= batchSize);
+    }
+
+    private void reaudit(List<PortfolioChangeDto> changes) {
+        // Several events for the same portfolio collapse into one evaluation of its latest state
+        Map<Long, PortfolioDto> latest = new LinkedHashMap<>();
+        for (PortfolioChangeDto change : changes) {
+            if (change.getPortfolio() != null) {
+                latest.put(change.getPortfolioId(), change.getPortfolio());
+            } else {
+                latest.remove(change.getPortfolioId());
+            }
+        }
+        auditEngine.audit(new ArrayList<>(latest.values()));
+    }
+
+    // Head first: changes made during the sweep are then replayed on the next poll rather than missed
+    private void resync(long afterEventId) {
+        try {
+            long head = portfolioClient.getChangesHead();
+            log.warn("Portfolio changes after event {} were purged; re-auditing all portfolios up to event {}",
+                    afterEventId, head);
+            AuditSummary summary = auditEngine.auditAll();
+            log.info("Full re-audit: {} portfolios in {} ms", summary.getPortfoliosScanned(), summary.getDurationMs());
+            saveCheckpoint(head);
+        } catch (Exception e) {
+            log.warn("Full re-audit after purged changes failed, retrying on the next tick: {}", e.getMessage());
+        }
+    }
+
+    private void saveCheckpoint(long lastEventId) {
+        AuditCheckpoint checkpoint = new AuditCheckpoint(CONSUMER, lastEventId);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+    }
+}
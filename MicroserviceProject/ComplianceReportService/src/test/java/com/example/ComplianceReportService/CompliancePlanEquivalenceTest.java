@@ -0,0 +1,118 @@
+package com.example.ComplianceReportService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.example.ComplianceReportService.config.ComplianceRulesConfig;
+import com.example.ComplianceReportService.dto.PortfolioDto;
+import com.example.ComplianceReportService.rules.CompliancePlan;
+import com.example.ComplianceReportService.rules.ComplianceRuleRegistry;
+import com.example.ComplianceReportService.rules.ComplianceVerdict;
+
+/**
+ * The compiled plan must give the same verdict as the if/else chain it replaced
+ * (copied below as {@link #legacyVerdict}) for every regulation spelling and allocation.
+ */
+class CompliancePlanEquivalenceTest {
+
+    // Rule boundaries (10, 50, 80, derivative vs bond/equity) and the values either side of them
+    private static final double[] PERCENTAGES = {0, 5, 9.99, 10, 10.01, 20, 30, 40, 49.99, 50, 50.01, 60, 70, 79.99, 80, 80.01, 90, 100};
+
+    private final CompliancePlan plan = new ComplianceRuleRegistry(
+            List.of(new ComplianceRulesConfig().sebiRules(), new ComplianceRulesConfig().mifidRules()), "SEBI").getPlan();
+
+    static Stream<String> regulationTypes() {
+        return Stream.of("SEBI", "sebi", "Sebi", "MiFID II", "mifid ii", "MIFID II",
+                // not matched by equalsIgnoreCase, so no rules apply
+                " SEBI", "SEBI ", "MiFID  II", "MiFIDII", "FATCA", "",
+                // matched by equalsIgnoreCase through case folding of non-ASCII letters
+                "SEB\u0130", "\u017Febi",
+                null);
+    }
+
+    @ParameterizedTest
+    @MethodSource("regulationTypes")
+    void testPlanMatchesLegacyChain(String regulationType) {
+        int portfolioId = 0;
+        for (double equity : PERCENTAGES) {
+            for (double bond : PERCENTAGES) {
+                for (double derivative : PERCENTAGES) {
+                    PortfolioDto portfolio = portfolio(++portfolioId, regulationType, equity, bond, derivative);
+                    String[] expected = legacyVerdict(portfolio);
+                    ComplianceVerdict actual = plan.evaluate(portfolio);
+
+                    String allocation = regulationType + " e=" + equity + " b=" + bond + " d=" + derivative;
+                    assertEquals(expected[0], actual.regulationType(), allocation);
+                    assertEquals(expected[1], actual.status(), allocation);
+                    assertEquals(expected[2], actual.findings(), allocation);
+                    assertEquals(portfolioId, actual.portfolioId());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMissingAllocationIsSkipped() {
+        PortfolioDto portfolio = portfolio(1, "SEBI", 40, 40, 20);
+        portfolio.setBondPercentage(null);
+
+        assertNull(legacyVerdict(portfolio));
+        assertNull(plan.evaluate(portfolio));
+    }
+
+    private static PortfolioDto portfolio(long id, String regulationType, double equity, double bond, double derivative) {
+        PortfolioDto portfolio = new PortfolioDto();
+        portfolio.setPortfolioId(id);
+        portfolio.setRegulationType(regulationType);
+        portfolio.setEquityPercentage(equity);
+        portfolio.setBondPercentage(bond);
+        portfolio.setDerivativePercentage(derivative);
+        return portfolio;
+    }
+
+    // The pre-plan ComplianceService logic, unchanged: {regulationType, status, findings}, or null when skipped
+    private static String[] legacyVerdict(PortfolioDto p) {
+        if (p.getPortfolioId() == null ||
+                p.getEquityPercentage() == null ||
+                p.getDerivativePercentage() == null ||
+                p.getBondPercentage() == null) {
+            return null;
+        }
+        double equity = p.getEquityPercentage();
+        double derivative = p.getDerivativePercentage();
+        double bond = p.getBondPercentage();
+
+        String regulationType = (p.getRegulationType() != null) ? p.getRegulationType() : "SEBI";
+        String status = "COMPLIANCE";
+        String findings = "No compliance violations detected";
+
+        if ("SEBI".equalsIgnoreCase(regulationType)) {
+            if (derivative > bond) {
+                status = "NON-COMPLIANCE";
+                findings = "SEBI VIOLATION: Risk too high. Derivative % cannot exceed Bond %.";
+            } else if (derivative > 50) {
+                status = "NON-COMPLIANCE";
+                findings = "SEBI VIOLATION: Regulatory Cap. Derivatives cannot exceed 50%.";
+            } else if (bond < 10) {
+                status = "NON-COMPLIANCE";
+                findings = "SEBI VIOLATION: Liquidity Issue. Bonds must be at least 10%.";
+            }
+        } else if ("MiFID II".equalsIgnoreCase(regulationType)) {
+            if (derivative > equity) {
+                status = "NON-COMPLIANCE";
+                findings = "MiFID WARNING: Speculative Portfolio (Derivatives > Equity).";
+            } else if ((equity + derivative) > 80) {
+                status = "NON-COMPLIANCE";
+                findings = "MiFID WARNING: High Risk Allocation (>80% Risk Assets).";
+            }
+        }
+        return new String[]{regulationType, status, findings};
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.ComplianceReportService;
+
+import com.example.ComplianceReportService.config.ComplianceRulesConfig;
+import com.example.ComplianceReportService.dto.PortfolioDto;
+import com.example.ComplianceReportService.rules.CompliancePlan;
+import com.example.ComplianceReportService.rules.ComplianceRuleRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the compiled rule plan against the original if/else chain from
+ * ComplianceService.auditAllPortfolios. Run the main method (or the class from the IDE)
+ * after `mvn test-compile`; scores are portfolios evaluated per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComplianceRuleBenchmark {
+
+    private static final int PORTFOLIOS = 10_000;
+    private static final String[] REGULATIONS = {"SEBI", "MiFID II", null, "sebi", "MIFID II"};
+
+    private PortfolioDto[] portfolios;
+    private CompliancePlan plan;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        portfolios = new PortfolioDto[PORTFOLIOS];
+        for (int i = 0; i < PORTFOLIOS; i++) {
+            double equity = random.nextInt(90);
+            double derivative = random.nextInt((int) (100 - equity) + 1);
+            PortfolioDto p = new PortfolioDto();
+            p.setPortfolioId((long) i + 1);
+            p.setEquityPercentage(equity);
+            p.setDerivativePercentage(derivative);
+            p.setBondPercentage(100 - equity - derivative);
+            p.setRegulationType(REGULATIONS[i % REGULATIONS.length]);
+            portfolios[i] = p;
+        }
+
+        ComplianceRulesConfig rules = new ComplianceRulesConfig();
+        plan = new ComplianceRuleRegistry(List.of(rules.sebiRules(), rules.mifidRules()), "SEBI").getPlan();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PORTFOLIOS)
+    public void compiledPlan(Blackhole bh) {
+        for (PortfolioDto p : portfolios) {
+            bh.consume(plan.evaluate(p));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PORTFOLIOS)
+    public void legacyChain(Blackhole bh) {
+        for (PortfolioDto p : portfolios) {
+            bh.consume(legacyEvaluate(p));
+        }
+    }
+
+    // Verbatim rule logic of the pre-registry auditAllPortfolios loop, minus persistence
+    private static String[] legacyEvaluate(PortfolioDto p) {
+        double equity = p.getEquityPercentage();
+        double derivative = p.getDerivativePercentage();
+        double bond = p.getBondPercentage();
+
+        String regulationType = (p.getRegulationType() != null) ? p.getRegulationType() : "SEBI";
+        String status = "COMPLIANCE";
+        String findings = "No compliance violations detected";
+
+        if ("SEBI".equalsIgnoreCase(regulationType)) {
+            if (derivative > bond) {
+                status = "NON-COMPLIANCE";
+                findings = "SEBI VIOLATION: Risk too high. Derivative % cannot exceed Bond %.";
+            } else if (derivative > 50) {
+                status = "NON-COMPLIANCE";
+                findings = "SEBI VIOLATION: Regulatory Cap. Derivatives cannot exceed 50%.";
+            } else if (bond < 10) {
+                status = "NON-COMPLIANCE";
+                findings = "SEBI VIOLATION: Liquidity Issue. Bonds must be at least 10%.";
+            }
+        } else if ("MiFID II".equalsIgnoreCase(regulationType)) {
+            if (derivative > equity) {
+                status = "NON-COMPLIANCE";
+                findings = "MiFID WARNING: Speculative Portfolio (Derivatives > Equity).";
+            } else if ((equity + derivative) > 80) {
+                status = "NON-COMPLIANCE";
+                findings = "MiFID WARNING: High Risk Allocation (>80% Risk Assets).";
+            }
+        }
+        return new String[]{regulationType, status, findings};
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ComplianceRuleBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
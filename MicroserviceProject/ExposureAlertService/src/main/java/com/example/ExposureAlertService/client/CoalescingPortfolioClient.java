@@ -0,0 +1,126 @@
+package com.example.ExposureAlertService.client;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-id portfolio lookups that are coalesced into POST /api/portfolios/batch calls.
+ * - Lookups arriving within {@code window-ms} of the first pending one share a single round-trip.
+ * - Concurrent lookups of the same id share one future.
+ * - A batch is sent early once it reaches {@code max-batch} ids.
+ * Unknown ids resolve to null, matching the old "portfolio == null" checks of the callers.
+ */
+@Component
+public class CoalescingPortfolioClient {
+
+    private final PortfolioClient portfolioClient;
+    private final long windowMs;
+    private final int maxBatch;
+    private final long timeoutMs;
+    private final ScheduledExecutorService flusher;
+
+    // Guarded by this
+    private Map<Long, CompletableFuture<PortfolioClient.PortfolioDto>> pending = new HashMap<>();
+    private boolean flushScheduled;
+
+    @Autowired
+    public CoalescingPortfolioClient(PortfolioClient portfolioClient,
+                                     @Value("${portfolio.client.coalesce.window-ms:5}") long windowMs,
+                                     @Value("${portfolio.client.coalesce.max-batch:200}") int maxBatch,
+                                     @Value("${portfolio.client.coalesce.timeout-ms:5000}") long timeoutMs,
+                                     @Value("${portfolio.client.coalesce.threads:4}") int threads) {
+        this.portfolioClient = portfolioClient;
+        this.windowMs = windowMs;
+        this.maxBatch = maxBatch;
+        this.timeoutMs = timeoutMs;
+        this.flusher = Executors.newScheduledThreadPool(threads, r -> {
+            Thread t = new Thread(r, "portfolio-batch");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Blocking lookup for request handlers. Returns null when the portfolio does not exist and
+     * throws when portfolio-service cannot be reached, like the plain Feign call did.
+     */
+    public PortfolioClient.PortfolioDto getPortfolioById(Long id) {
+        try {
+            return lookup(id).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out looking up portfolio " + id);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted looking up portfolio " + id);
+        }
+    }
+
+    public CompletableFuture<PortfolioClient.PortfolioDto> lookup(Long id) {
+        if (id == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<PortfolioClient.PortfolioDto> future;
+        Map<Long, CompletableFuture<PortfolioClient.PortfolioDto>> fullBatch = null;
+        synchronized (this) {
+            future = pending.computeIfAbsent(id, k -> new CompletableFuture<>());
+            if (pending.size() >= maxBatch) {
+                fullBatch = pending;
+                pending = new HashMap<>();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                flusher.schedule(this::flushPending, windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (fullBatch != null) {
+            Map<Long, CompletableFuture<PortfolioClient.PortfolioDto>> batch = fullBatch;
+            flusher.execute(() -> fetch(batch));
+        }
+        return future;
+    }
+
+    private void flushPending() {
+        Map<Long, CompletableFuture<PortfolioClient.PortfolioDto>> batch;
+        synchronized (this) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        fetch(batch);
+    }
+
+    private void fetch(Map<Long, CompletableFuture<PortfolioClient.PortfolioDto>> batch) {
+        try {
+            List<PortfolioClient.PortfolioDto> found = portfolioClient.getPortfoliosByIds(new ArrayList<>(batch.keySet()));
+            Map<Long, PortfolioClient.PortfolioDto> byId = new HashMap<>(found.size() * 2);
+            for (PortfolioClient.PortfolioDto p : found) {
+                byId.put(p.getPortfolioId(), p);
+            }
+            batch.forEach((id, future) -> future.complete(byId.get(id)));
+        } catch (Exception e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.ExposureAlertService.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Retention horizons for exposure_alerts from application.properties, e.g.
+ * <pre>
+ * exposure.retention.default-horizon-days=180
+ * exposure.retention.horizon-days.CRITICAL_BREACH=365
+ * </pre>
+ * Statuses without an entry use the default horizon; a horizon of 0 keeps those alerts forever.
+ */
+@Component
+@ConfigurationProperties(prefix = "exposure.retention")
+public class AlertRetentionProperties {
+
+    private int defaultHorizonDays = 180;
+    private Map<String, Integer> horizonDays = new LinkedHashMap<>();
+    private int batchSize = 1000;
+    private int maxBatchesPerRun = 1000;
+    private long pauseMs = 50;
+    // Rebuild the table after a run that deleted at least this many rows; 0 disables it
+    private long optimizeAfterRows = 0;
+
+    public int getDefaultHorizonDays() { return defaultHorizonDays; }
+    public void setDefaultHorizonDays(int defaultHorizonDays) { this.defaultHorizonDays = defaultHorizonDays; }
+
+    public Map<String, Integer> getHorizonDays() { return horizonDays; }
+    public void setHorizonDays(Map<String, Integer> horizonDays) { this.horizonDays = horizonDays; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public int getMaxBatchesPerRun() { return maxBatchesPerRun; }
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) { this.maxBatchesPerRun = maxBatchesPerRun; }
+
+    public long getPauseMs() { return pauseMs; }
+    public void setPauseMs(long pauseMs) { this.pauseMs = pauseMs; }
+
+    public long getOptimizeAfterRows() { return optimizeAfterRows; }
+    public void setOptimizeAfterRows(long optimizeAfterRows) { this.optimizeAfterRows = optimizeAfterRows; }
+}
@@ -0,0 +1,25 @@
+package com.example.ExposureAlertService.config;
+
+import com.example.ExposureAlertService.service.ExposureEvaluator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/exposurepipeline shows the evaluation pipeline: queue depth and received / evaluated / alert counters.
+ */
+@Component
+@Endpoint(id = "exposurepipeline")
+public class ExposurePipelineEndpoint {
+
+    @Autowired
+    private ExposureEvaluator exposureEvaluator;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return exposureEvaluator.stats();
+    }
+}
@@ -1,15 +1,35 @@
 package com.example.ExposureAlertService.controller;
 
+import com.example.ExposureAlertService.client.CoalescingPortfolioClient;
 import com.example.ExposureAlertService.client.PortfolioClient;
 import com.example.ExposureAlertService.entity.ExposureAlert;
+import com.example.ExposureAlertService.repositiory.AlertRollupRepositiory;
 import com.example.ExposureAlertService.repositiory.ExposureAlertRepositiory;
+import com.example.ExposureAlertService.service.AlertRetentionEngine;
+import com.example.ExposureAlertService.service.AlertStreamHub;
+import com.example.ExposureAlertService.service.ExposureEvaluator;
+import com.example.common.client.FeignResilience;
+import com.example.common.config.AccessTokenFilter;
+import com.example.common.dto.CursorPage;
+import com.example.common.util.BlockingCallExecutor;
+import com.example.common.util.PageCursor;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/alerts")
@@ -20,40 +40,135 @@ public class ExposureAlertController {
     private ExposureAlertRepositiory exposureAlertRepository;
 
     @Autowired
-    private PortfolioClient portfolioClient;
+    private CoalescingPortfolioClient portfolioClient;
 
+    @Autowired
+    private ExposureEvaluator exposureEvaluator;
+
+    @Autowired
+    private AlertStreamHub alertStreamHub;
+
+    @Autowired
+    private AlertRollupRepositiory alertRollupRepository;
+
+    @Autowired
+    private AlertRetentionEngine alertRetentionEngine;
+
+    @Autowired
+    private BlockingCallExecutor blockingCalls;
+
+
+    private static final int MAX_EVALUATE_BATCH = 5000;
+
+    // Async: the request thread is released while the (coalesced) portfolio lookup is in flight
     @PostMapping("/send/{portfolioId}")
-    public ResponseEntity<?> createAlert(@PathVariable Long portfolioId,
-                                         @RequestBody ExposureAlert alertRequest) {
+    public CompletableFuture<ResponseEntity<?>> createAlert(@PathVariable Long portfolioId,
+                                                            @RequestBody ExposureAlert alertRequest) {
 
         // 1) Basic request validation
         if (alertRequest.getInvestorId() == null) {
-            return ResponseEntity.badRequest().body("investorId is required");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("investorId is required"));
         }
 
         // 2) Validate portfolio exists via PortfolioClient (service-to-service call)
-        try {
-            PortfolioClient.PortfolioDto portfolio = portfolioClient.getPortfolioById(portfolioId);
+        return portfolioClient.lookup(portfolioId).<ResponseEntity<?>>handleAsync((portfolio, error) -> {
+            if (error != null) {
+                // A 404 still means a bad portfolioId; rejections, timeouts and other failures are not the caller's fault
+                HttpStatus upstream = FeignResilience.statusOf(error);
+                return ResponseEntity.status(upstream == HttpStatus.NOT_FOUND ? HttpStatus.BAD_REQUEST : upstream)
+                        .body("Portfolio service validation failed for portfolioId: " + portfolioId);
+            }
             if (portfolio == null || portfolio.getPortfolioId() == null) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                         .body("Invalid portfolioId: " + portfolioId);
             }
-        } catch (Exception ex) {
-            // Feign throws on 404 / connection errors
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body("Portfolio service validation failed for portfolioId: " + portfolioId);
-        }
 
-        // 3) Enrich & default values
-        alertRequest.setPortfolioId(portfolioId);
+            // 3) Enrich & default values
+            alertRequest.setPortfolioId(portfolioId);
+
+            if (alertRequest.getTimestamp() == null) {
+                alertRequest.setTimestamp(LocalDateTime.now());
+            }
+
+            // 4) Save
+            ExposureAlert savedAlert = exposureAlertRepository.save(alertRequest);
+            alertStreamHub.publish(List.of(savedAlert));
+            return ResponseEntity.ok(savedAlert);
+        }, blockingCalls.executor()).exceptionally(error -> {
+            if (BlockingCallExecutor.isRejected(error)) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Server busy, please retry");
+            }
+            throw BlockingCallExecutor.propagate(error);
+        });
+    }
+
+    /**
+     * Queues portfolio allocations for limit evaluation (the outbox feed does this automatically).
+     * Returns 202 once queued; 503 with the accepted count if the pipeline is full.
+     * Staff and service tokens only (403 otherwise): the allocations are taken as given.
+     */
+    @PostMapping("/evaluate")
+    public ResponseEntity<?> evaluate(@RequestBody List<PortfolioClient.PortfolioDto> portfolios,
+                                      HttpServletRequest request) {
+        if (!AccessTokenFilter.hasAnyRole(request, AccessTokenFilter.OPERATOR_ROLES)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (portfolios.size() > MAX_EVALUATE_BATCH) {
+            return ResponseEntity.badRequest().body("At most " + MAX_EVALUATE_BATCH + " portfolios per request");
+        }
+        int accepted = 0;
+        int skipped = 0;
+        for (PortfolioClient.PortfolioDto portfolio : portfolios) {
+            ExposureEvaluator.AllocationUpdate update = ExposureEvaluator.AllocationUpdate.of(0L, portfolio);
+            if (update == null) {
+                skipped++;
+            } else if (exposureEvaluator.offer(update)) {
+                accepted++;
+            } else {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body(Map.of("accepted", accepted, "skipped", skipped));
+            }
+        }
+        return ResponseEntity.accepted().body(Map.of("accepted", accepted, "skipped", skipped));
+    }
 
-        if (alertRequest.getTimestamp() == null) {
-            alertRequest.setTimestamp(LocalDateTime.now());
+    /**
+     * Server-Sent Events stream of the investor's new alerts ("alert" events, id = alertId), as an
+     * alternative to polling /investor/{investorId}. A reconnect with Last-Event-ID first replays
+     * the alerts saved since that id. 503 when the subscription limits are reached.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamAlerts(@RequestParam Long investorId,
+                                          @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long replayAfter = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                replayAfter = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                return ResponseEntity.badRequest().body("Invalid Last-Event-ID");
+            }
         }
 
-        // 4) Save
-        ExposureAlert savedAlert = exposureAlertRepository.save(alertRequest);
-        return ResponseEntity.ok(savedAlert);
+        SseEmitter emitter = alertStreamHub.subscribe(investorId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Too many alert streams");
+        }
+        try {
+            // Flushes the headers right away so clients and the gateway see the stream as open
+            emitter.send(SseEmitter.event().comment("connected"));
+            if (replayAfter != null) {
+                for (ExposureAlert alert : exposureAlertRepository
+                        .findTop100ByInvestorIdAndAlertIdGreaterThanOrderByAlertIdAsc(investorId, replayAfter)) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(alert.getAlertId()))
+                            .name(AlertStreamHub.ALERT_EVENT)
+                            .data(alert));
+                }
+            }
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
     }
 
     @GetMapping("/portfolio/{portfolioId}")
@@ -70,6 +185,90 @@ public class ExposureAlertController {
         );
     }
 
+    // Keyset-paginated variants of the two listings above: pass nextCursor back as cursor
+    @GetMapping("/portfolio/{portfolioId}/page")
+    public ResponseEntity<?> getAlertPageByPortfolio(@PathVariable Long portfolioId,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "50") int limit) {
+        int pageSize = PageCursor.clampLimit(limit);
+        PageRequest firstRows = PageRequest.of(0, pageSize + 1);
+        try {
+            List<ExposureAlert> rows;
+            if (cursor == null) {
+                rows = exposureAlertRepository.findByPortfolioIdOrderByTimestampDescAlertIdDesc(portfolioId, firstRows);
+            } else {
+                String[] key = PageCursor.decode(cursor, 2);
+                rows = exposureAlertRepository.findPortfolioPageBefore(portfolioId,
+                        LocalDateTime.parse(key[0]), Long.parseLong(key[1]), firstRows);
+            }
+            return ResponseEntity.ok(CursorPage.from(rows, pageSize, ExposureAlertController::cursorOf));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+    }
+
+    @GetMapping("/investor/{investorId}/page")
+    public ResponseEntity<?> getAlertPageByInvestor(@PathVariable Long investorId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "50") int limit) {
+        int pageSize = PageCursor.clampLimit(limit);
+        PageRequest firstRows = PageRequest.of(0, pageSize + 1);
+        try {
+            List<ExposureAlert> rows;
+            if (cursor == null) {
+                rows = exposureAlertRepository.findByInvestorIdOrderByTimestampDescAlertIdDesc(investorId, firstRows);
+            } else {
+                String[] key = PageCursor.decode(cursor, 2);
+                rows = exposureAlertRepository.findInvestorPageBefore(investorId,
+                        LocalDateTime.parse(key[0]), Long.parseLong(key[1]), firstRows);
+            }
+            return ResponseEntity.ok(CursorPage.from(rows, pageSize, ExposureAlertController::cursorOf));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+    }
+
+    /**
+     * Alert history per day and asset type over [from, to], including alerts already removed by
+     * retention (read from the daily rollup). Defaults to the last 90 days.
+     */
+    @GetMapping("/portfolio/{portfolioId}/daily")
+    public ResponseEntity<?> getDailyByPortfolio(@PathVariable Long portfolioId,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(90);
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().body("from must not be after to");
+        }
+        return ResponseEntity.ok(alertRollupRepository.findDailyByPortfolio(portfolioId, start, end));
+    }
+
+    @GetMapping("/investor/{investorId}/daily")
+    public ResponseEntity<?> getDailyByInvestor(@PathVariable Long investorId,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(90);
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().body("from must not be after to");
+        }
+        return ResponseEntity.ok(alertRollupRepository.findDailyByInvestor(investorId, start, end));
+    }
+
+    // Runs retention now instead of waiting for the nightly schedule; staff and service tokens only
+    @PostMapping("/retention/run")
+    public ResponseEntity<?> runRetention(HttpServletRequest request) {
+        if (!AccessTokenFilter.hasAnyRole(request, AccessTokenFilter.OPERATOR_ROLES)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(alertRetentionEngine.run());
+    }
+
+    private static String cursorOf(ExposureAlert alert) {
+        return PageCursor.encode(alert.getTimestamp(), alert.getAlertId());
+    }
+
     @DeleteMapping("/delete/{alertId}")
     public ResponseEntity<?> deleteAlert(@PathVariable Long alertId) {
         if (exposureAlertRepository.existsById(alertId)) {
@@ -0,0 +1,47 @@
+package com.example.ExposureAlertService.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Alerts of one day and asset type, combining rolled-up history with alerts still in exposure_alerts.
+ * {@code avgExposure} and {@code maxExposure} are null when no alert of the day carried an exposure value.
+ */
+public class AlertDailySummary {
+    private LocalDate date;
+    private String assetType;
+    private long alertCount;
+    private Double avgExposure;
+    private Double maxExposure;
+    private Double maxLimit;
+
+    public AlertDailySummary() {}
+
+    public AlertDailySummary(LocalDate date, String assetType, long alertCount,
+                             Double avgExposure, Double maxExposure, Double maxLimit) {
+        this.date = date;
+        this.assetType = assetType;
+        this.alertCount = alertCount;
+        this.avgExposure = avgExposure;
+        this.maxExposure = maxExposure;
+        this.maxLimit = maxLimit;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public String getAssetType() { return assetType; }
+    public void setAssetType(String assetType) { this.assetType = assetType; }
+
+    public long getAlertCount() { return alertCount; }
+    public void setAlertCount(long alertCount) { this.alertCount = alertCount; }
+
+    public Double getAvgExposure() { return avgExposure; }
+    public void setAvgExposure(Double avgExposure) { this.avgExposure = avgExposure; }
+
+    public Double getMaxExposure() { return maxExposure; }
+    public void setMaxExposure(Double maxExposure) { this.maxExposure = maxExposure; }
+
+    public Double getMaxLimit() { return maxLimit; }
+    public void setMaxLimit(Double maxLimit) { this.maxLimit = maxLimit; }
+}
@@ -0,0 +1,27 @@
+package com.example.ExposureAlertService.dto;
+
+import com.example.ExposureAlertService.client.PortfolioClient;
+
+/**
+ * Outbox event served by portfolio-service's /api/portfolios/changes feed.
+ * {@code portfolio} is the portfolio's current state, or null if it was deleted.
+ */
+public class PortfolioChangeDto {
+    private Long eventId;
+    private Long portfolioId;
+    private String changeType;
+    private PortfolioClient.PortfolioDto portfolio;
+
+    // Getters and Setters
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public Long getPortfolioId() { return portfolioId; }
+    public void setPortfolioId(Long portfolioId) { this.portfolioId = portfolioId; }
+
+    public String getChangeType() { return changeType; }
+    public void setChangeType(String changeType) { this.changeType = changeType; }
+
+    public PortfolioClient.PortfolioDto getPortfolio() { return portfolio; }
+    public void setPortfolio(PortfolioClient.PortfolioDto portfolio) { this.portfolio = portfolio; }
+}
@@ -0,0 +1,40 @@
+package com.example.ExposureAlertService.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of one alert retention run.
+ */
+public class RetentionSummary {
+    private long alertsDeleted;
+    private long rollupRowsWritten;
+    private int batches;
+    private boolean batchLimitReached;
+    private boolean optimized;
+    private long durationMs;
+    // Alerts removed per status ("*" for statuses on the default horizon)
+    private Map<String, Long> deletedByStatus = new LinkedHashMap<>();
+
+    // Getters and Setters
+    public long getAlertsDeleted() { return alertsDeleted; }
+    public void setAlertsDeleted(long alertsDeleted) { this.alertsDeleted = alertsDeleted; }
+
+    public long getRollupRowsWritten() { return rollupRowsWritten; }
+    public void setRollupRowsWritten(long rollupRowsWritten) { this.rollupRowsWritten = rollupRowsWritten; }
+
+    public int getBatches() { return batches; }
+    public void setBatches(int batches) { this.batches = batches; }
+
+    public boolean isBatchLimitReached() { return batchLimitReached; }
+    public void setBatchLimitReached(boolean batchLimitReached) { this.batchLimitReached = batchLimitReached; }
+
+    public boolean isOptimized() { return optimized; }
+    public void setOptimized(boolean optimized) { this.optimized = optimized; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public Map<String, Long> getDeletedByStatus() { return deletedByStatus; }
+    public void setDeletedByStatus(Map<String, Long> deletedByStatus) { this.deletedByStatus = deletedByStatus; }
+}
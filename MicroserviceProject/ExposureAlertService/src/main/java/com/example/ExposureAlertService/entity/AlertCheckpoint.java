@@ -0,0 +1,39 @@
+package com.example.ExposureAlertService.entity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Last portfolio outbox event whose exposure has been evaluated and persisted, so the feed resumes there.
+ */
+@Entity
+@Table(name = "alert_checkpoint")
+public class AlertCheckpoint {
+
+    @Id
+    @Column(name = "consumer")
+    private String consumer;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Default Constructor
+    public AlertCheckpoint() {}
+
+    public AlertCheckpoint(String consumer, Long lastEventId) {
+        this.consumer = consumer;
+        this.lastEventId = lastEventId;
+    }
+
+    // Getters and Setters
+    public String getConsumer() { return consumer; }
+    public void setConsumer(String consumer) { this.consumer = consumer; }
+
+    public Long getLastEventId() { return lastEventId; }
+    public void setLastEventId(Long lastEventId) { this.lastEventId = lastEventId; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,35 @@
+package com.example.ExposureAlertService.entity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Asset types a portfolio is currently breaching, one bit per ExposureLimits.AssetType.
+ * An alert is raised when a bit turns on; while it stays on, repeat breaches are not re-alerted.
+ */
+@Entity
+@Table(name = "exposure_breach_state")
+public class BreachState {
+
+    @Id
+    @Column(name = "portfolio_id")
+    private Long portfolioId;
+
+    @Column(name = "breach_mask", nullable = false)
+    private Integer breachMask;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Default Constructor
+    public BreachState() {}
+
+    // Getters and Setters
+    public Long getPortfolioId() { return portfolioId; }
+    public void setPortfolioId(Long portfolioId) { this.portfolioId = portfolioId; }
+
+    public Integer getBreachMask() { return breachMask; }
+    public void setBreachMask(Integer breachMask) { this.breachMask = breachMask; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
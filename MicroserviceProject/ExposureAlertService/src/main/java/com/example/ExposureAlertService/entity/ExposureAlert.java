@@ -4,7 +4,13 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "exposure_alerts")
+@Table(name = "exposure_alerts", indexes = {
+        // Serve the newest-first keyset scans per investor / portfolio without a filesort
+        @Index(name = "idx_alert_investor_ts", columnList = "investorId, timestamp DESC, alertId DESC"),
+        @Index(name = "idx_alert_portfolio_ts", columnList = "portfolioId, timestamp DESC, alertId DESC"),
+        // Retention finds the oldest alerts of each status
+        @Index(name = "idx_alert_status_ts", columnList = "status, timestamp, alertId")
+})
 public class ExposureAlert {
 
     @Id
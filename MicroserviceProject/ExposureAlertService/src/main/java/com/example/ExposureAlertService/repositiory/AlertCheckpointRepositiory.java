@@ -0,0 +1,7 @@
+package com.example.ExposureAlertService.repositiory;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.example.ExposureAlertService.entity.AlertCheckpoint;
+
+public interface AlertCheckpointRepositiory extends JpaRepository<AlertCheckpoint, String> {
+}
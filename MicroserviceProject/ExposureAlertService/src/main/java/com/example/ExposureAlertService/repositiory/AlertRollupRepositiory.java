@@ -0,0 +1,106 @@
+package com.example.ExposureAlertService.repositiory;
+
+import com.example.ExposureAlertService.dto.AlertDailySummary;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Daily per-portfolio / asset-type summary of alerts that retention has removed from exposure_alerts,
+ * in {@code exposure_alert_daily}. Created with plain JDBC because of its composite primary key;
+ * rows are merged with ON DUPLICATE KEY UPDATE so a day can be rolled up over several batches.
+ * A missing asset type is stored as ''.
+ */
+@Repository
+public class AlertRollupRepositiory {
+
+    public static final String TABLE = "exposure_alert_daily";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO " + TABLE + " (portfolio_id, alert_date, asset_type, investor_id, alert_count, " +
+                    "exposure_samples, sum_exposure, max_exposure, max_limit, first_at, last_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE alert_count = alert_count + VALUES(alert_count), " +
+                    "exposure_samples = exposure_samples + VALUES(exposure_samples), " +
+                    "sum_exposure = sum_exposure + VALUES(sum_exposure), " +
+                    "max_exposure = GREATEST(COALESCE(max_exposure, VALUES(max_exposure)), COALESCE(VALUES(max_exposure), max_exposure)), " +
+                    "max_limit = GREATEST(COALESCE(max_limit, VALUES(max_limit)), COALESCE(VALUES(max_limit), max_limit)), " +
+                    "first_at = LEAST(first_at, VALUES(first_at)), " +
+                    "last_at = GREATEST(last_at, VALUES(last_at))";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void createTableIfMissing() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (" +
+                "portfolio_id BIGINT NOT NULL, " +
+                "alert_date DATE NOT NULL, " +
+                "asset_type VARCHAR(255) NOT NULL, " +
+                "investor_id BIGINT NOT NULL, " +
+                "alert_count INT NOT NULL, " +
+                "exposure_samples INT NOT NULL, " +
+                "sum_exposure DOUBLE NOT NULL, " +
+                "max_exposure DOUBLE NULL, " +
+                "max_limit DOUBLE NULL, " +
+                "first_at DATETIME NOT NULL, " +
+                "last_at DATETIME NOT NULL, " +
+                "PRIMARY KEY (portfolio_id, alert_date, asset_type), " +
+                "KEY idx_daily_investor (investor_id, alert_date)" +
+                ") ENGINE=InnoDB");
+    }
+
+    /**
+     * Rows are [portfolioId, alertDate (Date), assetType, investorId, alertCount, exposureSamples,
+     * sumExposure, maxExposure, maxLimit, firstAt (Timestamp), lastAt (Timestamp)].
+     */
+    public void mergeBatch(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+    }
+
+    public List<AlertDailySummary> findDailyByPortfolio(long portfolioId, LocalDate from, LocalDate to) {
+        return findDaily("portfolio_id", portfolioId, from, to);
+    }
+
+    public List<AlertDailySummary> findDailyByInvestor(long investorId, LocalDate from, LocalDate to) {
+        return findDaily("investor_id", investorId, from, to);
+    }
+
+    /**
+     * Days in [from, to], newest first. Rolled-up days and alerts not yet rolled up are combined in one
+     * statement, so an alert moving between the two tables is never counted twice or missed.
+     */
+    private List<AlertDailySummary> findDaily(String keyColumn, long key, LocalDate from, LocalDate to) {
+        // keyColumn is one of the two fixed column names above, never request input
+        String sql = "SELECT alert_date, asset_type, SUM(alert_count) AS alerts, SUM(exposure_samples) AS samples, " +
+                "SUM(sum_exposure) AS total, MAX(max_exposure) AS max_exposure, MAX(max_limit) AS max_limit FROM (" +
+                "SELECT alert_date, asset_type, alert_count, exposure_samples, sum_exposure, max_exposure, max_limit " +
+                "FROM " + TABLE + " WHERE " + keyColumn + " = ? AND alert_date >= ? AND alert_date <= ? " +
+                "UNION ALL " +
+                "SELECT DATE(timestamp), COALESCE(asset_type, ''), COUNT(*), COUNT(exposure_value), " +
+                "COALESCE(SUM(exposure_value), 0), MAX(exposure_value), MAX(limit_value) " +
+                "FROM exposure_alerts WHERE " + keyColumn + " = ? AND timestamp >= ? AND timestamp < ? " +
+                "GROUP BY DATE(timestamp), COALESCE(asset_type, '')" +
+                ") days GROUP BY alert_date, asset_type ORDER BY alert_date DESC, asset_type";
+        return jdbcTemplate.query(sql, (rs, i) -> {
+                    long samples = rs.getLong("samples");
+                    return new AlertDailySummary(
+                            rs.getDate("alert_date").toLocalDate(),
+                            rs.getString("asset_type"),
+                            rs.getLong("alerts"),
+                            samples == 0 ? null : rs.getDouble("total") / samples,
+                            rs.getObject("max_exposure", Double.class),
+                            rs.getObject("max_limit", Double.class));
+                },
+                key, Date.valueOf(from), Date.valueOf(to),
+                key, Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+    }
+}
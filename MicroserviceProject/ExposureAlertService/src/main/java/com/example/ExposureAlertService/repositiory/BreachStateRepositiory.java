@@ -0,0 +1,12 @@
+package com.example.ExposureAlertService.repositiory;
+
+import com.example.ExposureAlertService.entity.BreachState;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface BreachStateRepositiory extends JpaRepository<BreachState, Long> {
+
+    // Portfolios with at least one open breach; everything else is implicitly "within limits"
+    List<BreachState> findByBreachMaskNot(Integer breachMask);
+}
@@ -1,8 +1,12 @@
 package com.example.ExposureAlertService.repositiory;
 
 import com.example.ExposureAlertService.entity.ExposureAlert;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ExposureAlertRepositiory extends JpaRepository<ExposureAlert, Long> {
@@ -10,4 +14,28 @@ public interface ExposureAlertRepositiory extends JpaRepository<ExposureAlert, L
     List<ExposureAlert> findByPortfolioIdOrderByTimestampDesc(Long portfolioId);
 
     List<ExposureAlert> findByInvestorIdOrderByTimestampDesc(Long investorId);
-}
\ No newline at end of file
+
+    // Replay for an SSE client reconnecting with Last-Event-ID (alert ids only grow)
+    List<ExposureAlert> findTop100ByInvestorIdAndAlertIdGreaterThanOrderByAlertIdAsc(Long investorId, Long alertId);
+
+    // Keyset pagination, newest first. alertId breaks ties between alerts with the same timestamp.
+    List<ExposureAlert> findByPortfolioIdOrderByTimestampDescAlertIdDesc(Long portfolioId, Pageable pageable);
+
+    List<ExposureAlert> findByInvestorIdOrderByTimestampDescAlertIdDesc(Long investorId, Pageable pageable);
+
+    @Query("select a from ExposureAlert a where a.portfolioId = :portfolioId " +
+            "and (a.timestamp < :timestamp or (a.timestamp = :timestamp and a.alertId < :alertId)) " +
+            "order by a.timestamp desc, a.alertId desc")
+    List<ExposureAlert> findPortfolioPageBefore(@Param("portfolioId") Long portfolioId,
+                                                @Param("timestamp") LocalDateTime timestamp,
+                                                @Param("alertId") Long alertId,
+                                                Pageable pageable);
+
+    @Query("select a from ExposureAlert a where a.investorId = :investorId " +
+            "and (a.timestamp < :timestamp or (a.timestamp = :timestamp and a.alertId < :alertId)) " +
+            "order by a.timestamp desc, a.alertId desc")
+    List<ExposureAlert> findInvestorPageBefore(@Param("investorId") Long investorId,
+                                               @Param("timestamp") LocalDateTime timestamp,
+                                               @Param("alertId") Long alertId,
+                                               Pageable pageable);
+}
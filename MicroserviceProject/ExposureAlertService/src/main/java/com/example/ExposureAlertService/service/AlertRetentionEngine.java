@@ -0,0 +1,218 @@
+package com.example.ExposureAlertService.service;
+
+import com.example.ExposureAlertService.config.AlertRetentionProperties;
+import com.example.ExposureAlertService.dto.RetentionSummary;
+import com.example.ExposureAlertService.repositiory.AlertRollupRepositiory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Retention for exposure_alerts, run nightly ({@code exposure.retention.cron}) or on demand.
+ * For each status, alerts older than its horizon ({@link AlertRetentionProperties}) are processed in
+ * batches of {@code batch-size}, oldest first. Each batch is one short transaction that
+ * - folds the alerts into exposure_alert_daily (per portfolio, day and asset type), and
+ * - deletes them by primary key, so only those rows are locked.
+ * Batches are separated by {@code pause-ms} and capped per run; whatever is left is picked up by
+ * the next run.
+ */
+@Service
+public class AlertRetentionEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertRetentionEngine.class);
+
+    static final String DEFAULT_STATUSES = "*";
+
+    private static final String SELECT_COLUMNS =
+            "SELECT alert_id, portfolio_id, investor_id, asset_type, exposure_value, limit_value, timestamp FROM exposure_alerts ";
+
+    @Autowired
+    private AlertRetentionProperties properties;
+
+    @Autowired
+    private AlertRollupRepositiory rollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${exposure.retention.enabled:true}")
+    private boolean enabled;
+
+    private record ExpiredAlert(long alertId, long portfolioId, long investorId, String assetType,
+                                Double exposureValue, Double limitValue, LocalDateTime timestamp) {
+    }
+
+    private static class DailyRollup {
+        long portfolioId;
+        LocalDate date;
+        String assetType;
+        long investorId;
+        int count;
+        int samples;
+        double sum;
+        Double maxExposure;
+        Double maxLimit;
+        LocalDateTime firstAt;
+        LocalDateTime lastAt;
+    }
+
+    @Scheduled(cron = "${exposure.retention.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            RetentionSummary summary = run();
+            log.info("Alert retention removed {} alerts into {} rollup rows in {} ms",
+                    summary.getAlertsDeleted(), summary.getRollupRowsWritten(), summary.getDurationMs());
+        }
+    }
+
+    public synchronized RetentionSummary run() {
+        long started = System.currentTimeMillis();
+        RetentionSummary summary = new RetentionSummary();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<String> explicitStatuses = new ArrayList<>(properties.getHorizonDays().keySet());
+        for (String status : explicitStatuses) {
+            Integer days = properties.getHorizonDays().get(status);
+            if (days != null && days > 0) {
+                String where = "WHERE status = ? AND timestamp < ? ";
+                purge(status, where, List.of(status), now.minusDays(days), summary);
+            }
+        }
+        if (properties.getDefaultHorizonDays() > 0) {
+            String where = explicitStatuses.isEmpty()
+                    ? "WHERE timestamp < ? "
+                    : "WHERE (status IS NULL OR status NOT IN (" +
+                    String.join(", ", Collections.nCopies(explicitStatuses.size(), "?")) + ")) AND timestamp < ? ";
+            purge(DEFAULT_STATUSES, where, explicitStatuses, now.minusDays(properties.getDefaultHorizonDays()), summary);
+        }
+
+        if (properties.getOptimizeAfterRows() > 0 && summary.getAlertsDeleted() >= properties.getOptimizeAfterRows()) {
+            // InnoDB rebuilds the table online, returning the space freed by the deletes
+            jdbcTemplate.execute("OPTIMIZE TABLE exposure_alerts");
+            summary.setOptimized(true);
+        }
+        summary.setDurationMs(System.currentTimeMillis() - started);
+        return summary;
+    }
+
+    private void purge(String label, String where, List<String> statusArgs, LocalDateTime cutoff, RetentionSummary summary) {
+        String sql = SELECT_COLUMNS + where + "ORDER BY timestamp, alert_id LIMIT ?";
+        List<Object> args = new ArrayList<>(statusArgs);
+        args.add(Timestamp.valueOf(cutoff));
+        args.add(properties.getBatchSize());
+
+        long deleted = 0;
+        while (summary.getBatches() < properties.getMaxBatchesPerRun()) {
+            int[] counts = transactionTemplate.execute(tx -> {
+                List<ExpiredAlert> batch = jdbcTemplate.query(sql, (rs, i) -> new ExpiredAlert(
+                        rs.getLong("alert_id"),
+                        rs.getLong("portfolio_id"),
+                        rs.getLong("investor_id"),
+                        rs.getString("asset_type"),
+                        rs.getObject("exposure_value", Double.class),
+                        rs.getObject("limit_value", Double.class),
+                        rs.getTimestamp("timestamp").toLocalDateTime()), args.toArray());
+                if (batch.isEmpty()) {
+                    return new int[]{0, 0};
+                }
+                List<Object[]> rollups = rollUp(batch);
+                rollupRepository.mergeBatch(rollups);
+                List<Object[]> ids = batch.stream().map(a -> new Object[]{a.alertId()}).toList();
+                jdbcTemplate.batchUpdate("DELETE FROM exposure_alerts WHERE alert_id = ?", ids);
+                return new int[]{batch.size(), rollups.size()};
+            });
+            int removed = Objects.requireNonNull(counts)[0];
+            if (removed == 0) {
+                break;
+            }
+            deleted += removed;
+            summary.setBatches(summary.getBatches() + 1);
+            summary.setAlertsDeleted(summary.getAlertsDeleted() + removed);
+            summary.setRollupRowsWritten(summary.getRollupRowsWritten() + counts[1]);
+            if (removed < properties.getBatchSize()) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        if (summary.getBatches() >= properties.getMaxBatchesPerRun()) {
+            summary.setBatchLimitReached(true);
+        }
+        if (deleted > 0) {
+            summary.getDeletedByStatus().merge(label, deleted, Long::sum);
+        }
+    }
+
+    private static List<Object[]> rollUp(List<ExpiredAlert> batch) {
+        Map<String, DailyRollup> days = new HashMap<>();
+        for (ExpiredAlert alert : batch) {
+            String assetType = alert.assetType() == null ? "" : alert.assetType();
+            LocalDate date = alert.timestamp().toLocalDate();
+            DailyRollup day = days.computeIfAbsent(alert.portfolioId() + "|" + date + "|" + assetType, k -> {
+                DailyRollup d = new DailyRollup();
+                d.portfolioId = alert.portfolioId();
+                d.date = date;
+                d.assetType = assetType;
+                d.investorId = alert.investorId();
+                d.firstAt = alert.timestamp();
+                d.lastAt = alert.timestamp();
+                return d;
+            });
+            day.count++;
+            if (alert.exposureValue() != null) {
+                day.samples++;
+                day.sum += alert.exposureValue();
+                day.maxExposure = day.maxExposure == null ? alert.exposureValue() : Math.max(day.maxExposure, alert.exposureValue());
+            }
+            if (alert.limitValue() != null) {
+                day.maxLimit = day.maxLimit == null ? alert.limitValue() : Math.max(day.maxLimit, alert.limitValue());
+            }
+            if (alert.timestamp().isBefore(day.firstAt)) {
+                day.firstAt = alert.timestamp();
+            }
+            if (alert.timestamp().isAfter(day.lastAt)) {
+                day.lastAt = alert.timestamp();
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<>(days.size());
+        for (DailyRollup d : days.values()) {
+            rows.add(new Object[]{d.portfolioId, Date.valueOf(d.date), d.assetType, d.investorId, d.count, d.samples,
+                    d.sum, d.maxExposure, d.maxLimit, Timestamp.valueOf(d.firstAt), Timestamp.valueOf(d.lastAt)});
+        }
+        return rows;
+    }
+
+    private boolean pause() {
+        if (properties.getPauseMs() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getPauseMs());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.ExposureAlertService.service;
+
+import com.example.ExposureAlertService.entity.ExposureAlert;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes newly saved exposure alerts to SSE subscribers, indexed by investor.
+ * - Publishing looks up only the subscribers of each alert's investor and never touches the database.
+ * - Sends run on one fan-out thread, so a slow client never holds up the code that saved the alert.
+ * - A comment line is sent every {@code exposure.stream.heartbeat-seconds} to keep idle connections
+ *   open through proxies and to detect clients that have gone away.
+ * - Subscriptions are capped per investor and in total; emitters time out after
+ *   {@code exposure.stream.timeout-ms} and EventSource reconnects with Last-Event-ID.
+ */
+@Service
+public class AlertStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertStreamHub.class);
+
+    public static final String ALERT_EVENT = "alert";
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ScheduledExecutorService fanOut = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "alert-stream-fanout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long timeoutMs;
+    private final int maxPerInvestor;
+    private final int maxTotal;
+
+    private final LongAdder alertsSent = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+
+    public AlertStreamHub(@Value("${exposure.stream.timeout-ms:1800000}") long timeoutMs,
+                          @Value("${exposure.stream.heartbeat-seconds:15}") long heartbeatSeconds,
+                          @Value("${exposure.stream.max-per-investor:20}") int maxPerInvestor,
+                          @Value("${exposure.stream.max-total:10000}") int maxTotal) {
+        this.timeoutMs = timeoutMs;
+        this.maxPerInvestor = maxPerInvestor;
+        this.maxTotal = maxTotal;
+        fanOut.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fanOut.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+    }
+
+    /**
+     * Registers a stream for the investor's new alerts; null if the subscription limits are reached.
+     */
+    public SseEmitter subscribe(Long investorId) {
+        if (subscriberCount.incrementAndGet() > maxTotal) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        boolean[] added = {false};
+        // compute/computeIfPresent keep add and remove-if-empty atomic per investor
+        subscribers.compute(investorId, (id, emitters) -> {
+            Set<SseEmitter> set = emitters == null ? ConcurrentHashMap.newKeySet() : emitters;
+            if (set.size() < maxPerInvestor) {
+                added[0] = set.add(emitter);
+            }
+            return set.isEmpty() ? null : set;
+        });
+        if (!added[0]) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+        Runnable unsubscribe = () -> unsubscribe(investorId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+
+    /**
+     * Sends each alert to its investor's subscribers, asynchronously.
+     */
+    public void publish(List<ExposureAlert> alerts) {
+        if (alerts.isEmpty() || subscribers.isEmpty()) {
+            return;
+        }
+        List<ExposureAlert> snapshot = new ArrayList<>(alerts);
+        fanOut.execute(() -> {
+            for (ExposureAlert alert : snapshot) {
+                Set<SseEmitter> emitters = subscribers.get(alert.getInvestorId());
+                if (emitters == null) {
+                    continue;
+                }
+                for (SseEmitter emitter : emitters) {
+                    if (send(alert.getInvestorId(), emitter, SseEmitter.event()
+                            .id(String.valueOf(alert.getAlertId()))
+                            .name(ALERT_EVENT)
+                            .data(alert))) {
+                        alertsSent.increment();
+                    }
+                }
+            }
+        });
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscriberCount.get());
+        stats.put("investors", subscribers.size());
+        stats.put("alertsSent", alertsSent.sum());
+        stats.put("sendFailures", sendFailures.sum());
+        return stats;
+    }
+
+    private void heartbeat() {
+        subscribers.forEach((investorId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                send(investorId, emitter, SseEmitter.event().comment("keep-alive"));
+            }
+        });
+    }
+
+    private boolean send(Long investorId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away: drop the subscription now rather than waiting for the timeout
+            sendFailures.increment();
+            log.debug("Dropping alert stream of investor {}: {}", investorId, e.getMessage());
+            unsubscribe(investorId, emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void unsubscribe(Long investorId, SseEmitter emitter) {
+        subscribers.computeIfPresent(investorId, (id, emitters) -> {
+            if (emitters.remove(emitter)) {
+                subscriberCount.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
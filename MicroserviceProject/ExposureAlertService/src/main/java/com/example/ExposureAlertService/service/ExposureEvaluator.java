@@ -0,0 +1,356 @@
+package com.example.ExposureAlertService.service;
+
+import com.example.ExposureAlertService.client.PortfolioClient;
+import com.example.ExposureAlertService.entity.AlertCheckpoint;
+import com.example.ExposureAlertService.entity.BreachState;
+import com.example.ExposureAlertService.entity.ExposureAlert;
+import com.example.ExposureAlertService.repositiory.AlertCheckpointRepositiory;
+import com.example.ExposureAlertService.repositiory.BreachStateRepositiory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluates portfolio allocation changes against {@link ExposureLimits} as they arrive and raises
+ * exposure alerts.
+ * - Changes are queued (bounded, so producers are slowed down instead of memory growing) and drained
+ *   by one worker thread in batches of up to {@code exposure.pipeline.max-batch}; several changes to
+ *   the same portfolio within a batch collapse into one evaluation of its latest allocation.
+ * - Deduplication: the asset types each portfolio is breaching are kept as a bit mask. An alert is
+ *   raised only when a bit turns on, so a portfolio that stays above a limit is alerted once, and
+ *   again only after it has gone back within the limit. Masks are persisted in
+ *   {@code exposure_breach_state} and reloaded on startup.
+ * - Each batch's alerts, breach-state changes and outbox checkpoint are written with JDBC batches in
+ *   one transaction. A failed write is retried with backoff, so changes are not lost while the
+ *   database is unavailable (the full queue then holds back the producers).
+ * - Committed alerts are handed to {@link AlertStreamHub} for connected SSE clients.
+ */
+@Service
+public class ExposureEvaluator {
+
+    private static final Logger log = LoggerFactory.getLogger(ExposureEvaluator.class);
+
+    public static final String CONSUMER = "exposure-alert-pipeline";
+    public static final String BREACH_STATUS = "CRITICAL_BREACH";
+
+    private static final String INSERT_ALERT_SQL =
+            "INSERT INTO exposure_alerts (portfolio_id, investor_id, asset_type, exposure_value, limit_value, status, timestamp) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPSERT_STATE_SQL =
+            "INSERT INTO exposure_breach_state (portfolio_id, breach_mask, updated_at) VALUES (?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE breach_mask = VALUES(breach_mask), updated_at = VALUES(updated_at)";
+
+    private static final ExposureLimits.AssetType[] ASSET_TYPES = ExposureLimits.AssetType.values();
+    private static final long MAX_RETRY_BACKOFF_MS = 30_000;
+
+    /**
+     * One allocation change. {@code eventId} is the outbox event id, or 0 for changes submitted
+     * directly; {@code removed} marks a deleted portfolio, which clears its breaches.
+     */
+    public record AllocationUpdate(long eventId, long portfolioId, long investorId,
+                                   double equity, double bond, double derivative, boolean removed) {
+
+        public static AllocationUpdate removed(long eventId, long portfolioId) {
+            return new AllocationUpdate(eventId, portfolioId, 0L, 0, 0, 0, true);
+        }
+
+        /**
+         * Null if the portfolio lacks the ids or allocation data needed to evaluate it.
+         */
+        public static AllocationUpdate of(long eventId, PortfolioClient.PortfolioDto p) {
+            if (p == null || p.getPortfolioId() == null || p.getInvestorId() == null ||
+                    p.getEquityPercentage() == null ||
+                    p.getBondPercentage() == null ||
+                    p.getDerivativePercentage() == null) {
+                return null;
+            }
+            return new AllocationUpdate(eventId, p.getPortfolioId(), p.getInvestorId(),
+                    p.getEquityPercentage(), p.getBondPercentage(), p.getDerivativePercentage(), false);
+        }
+    }
+
+    @Autowired
+    private ExposureLimits limits;
+
+    @Autowired
+    private BreachStateRepositiory breachStateRepository;
+
+    @Autowired
+    private AlertCheckpointRepositiory checkpointRepository;
+
+    @Autowired
+    private AlertStreamHub streamHub;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<AllocationUpdate> queue;
+    private final int maxBatch;
+
+    // Only touched by the worker thread (after startup)
+    private final Map<Long, Integer> breachMasks = new HashMap<>();
+
+    private volatile long lastCommittedEventId;
+    private volatile boolean running;
+    private Thread worker;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder evaluated = new LongAdder();
+    private final LongAdder alertsRaised = new LongAdder();
+    private final LongAdder repeatsSuppressed = new LongAdder();
+    private final LongAdder batchesWritten = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+
+    public ExposureEvaluator(@Value("${exposure.pipeline.queue-capacity:50000}") int queueCapacity,
+                             @Value("${exposure.pipeline.max-batch:1000}") int maxBatch) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatch = maxBatch;
+    }
+
+    @PostConstruct
+    void start() {
+        for (BreachState state : breachStateRepository.findByBreachMaskNot(0)) {
+            breachMasks.put(state.getPortfolioId(), state.getBreachMask());
+        }
+        lastCommittedEventId = checkpointRepository.findById(CONSUMER)
+                .map(AlertCheckpoint::getLastEventId)
+                .orElse(0L);
+        log.info("Exposure pipeline starting with {} open breaches, checkpoint at event {}",
+                breachMasks.size(), lastCommittedEventId);
+
+        running = true;
+        worker = new Thread(this::run, "exposure-evaluator");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queues a change without waiting; false if the pipeline is full.
+     */
+    public boolean offer(AllocationUpdate update) {
+        boolean accepted = queue.offer(update);
+        if (accepted) {
+            received.increment();
+        }
+        return accepted;
+    }
+
+    /**
+     * Queues a change, waiting up to {@code timeoutMs} for room; false if it timed out.
+     */
+    public boolean submit(AllocationUpdate update, long timeoutMs) throws InterruptedException {
+        boolean accepted = queue.offer(update, timeoutMs, TimeUnit.MILLISECONDS);
+        if (accepted) {
+            received.increment();
+        }
+        return accepted;
+    }
+
+    /**
+     * Highest outbox event id whose evaluation has been committed.
+     */
+    public long lastCommittedEventId() {
+        return lastCommittedEventId;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("received", received.sum());
+        stats.put("evaluated", evaluated.sum());
+        stats.put("alertsRaised", alertsRaised.sum());
+        stats.put("repeatsSuppressed", repeatsSuppressed.sum());
+        stats.put("batchesWritten", batchesWritten.sum());
+        stats.put("writeFailures", writeFailures.sum());
+        stats.put("lastCommittedEventId", lastCommittedEventId);
+        return stats;
+    }
+
+    private void run() {
+        List<AllocationUpdate> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                AllocationUpdate first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Exposure evaluation failed for a batch of {} changes", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<AllocationUpdate> batch) throws InterruptedException {
+        // Several changes to the same portfolio collapse into one evaluation of its latest allocation
+        Map<Long, AllocationUpdate> latest = new LinkedHashMap<>();
+        long maxEventId = 0;
+        for (AllocationUpdate update : batch) {
+            latest.put(update.portfolioId(), update);
+            maxEventId = Math.max(maxEventId, update.eventId());
+        }
+
+        LocalDateTime raisedAt = LocalDateTime.now();
+        Timestamp now = Timestamp.valueOf(raisedAt);
+        List<ExposureAlert> alerts = new ArrayList<>();
+        List<Object[]> stateChanges = new ArrayList<>();
+        Map<Long, Integer> newMasks = new HashMap<>();
+        long suppressed = 0;
+
+        for (AllocationUpdate update : latest.values()) {
+            int mask = 0;
+            double[] exposures = null;
+            if (!update.removed()) {
+                exposures = ExposureLimits.exposures(update.equity(), update.bond(), update.derivative());
+                mask = exposures == null ? 0 : limits.breachMask(exposures);
+            }
+            int previous = breachMasks.getOrDefault(update.portfolioId(), 0);
+            int raised = mask & ~previous;
+            suppressed += Integer.bitCount(mask & previous);
+
+            if (raised != 0) {
+                for (ExposureLimits.AssetType assetType : ASSET_TYPES) {
+                    if ((raised & assetType.bit()) != 0) {
+                        ExposureAlert alert = new ExposureAlert();
+                        alert.setPortfolioId(update.portfolioId());
+                        alert.setInvestorId(update.investorId());
+                        alert.setAssetType(assetType.label());
+                        alert.setExposureValue(ExposureLimits.round(exposures[assetType.ordinal()]));
+                        alert.setLimitValue(limits.limit(assetType));
+                        alert.setStatus(BREACH_STATUS);
+                        alert.setTimestamp(raisedAt);
+                        alerts.add(alert);
+                    }
+                }
+            }
+            if (mask != previous) {
+                stateChanges.add(new Object[]{update.portfolioId(), mask, now});
+                newMasks.put(update.portfolioId(), mask);
+            }
+        }
+
+        long checkpoint = maxEventId > lastCommittedEventId ? maxEventId : 0;
+        if (!alerts.isEmpty() || !stateChanges.isEmpty() || checkpoint > 0) {
+            write(alerts, stateChanges, checkpoint);
+        }
+
+        // Only once the batch is committed does the in-memory state move forward
+        newMasks.forEach((portfolioId, mask) -> {
+            if (mask == 0) {
+                breachMasks.remove(portfolioId);
+            } else {
+                breachMasks.put(portfolioId, mask);
+            }
+        });
+        if (checkpoint > 0) {
+            lastCommittedEventId = checkpoint;
+        }
+        streamHub.publish(alerts);
+        evaluated.add(latest.size());
+        alertsRaised.add(alerts.size());
+        repeatsSuppressed.add(suppressed);
+    }
+
+    private void write(List<ExposureAlert> alerts, List<Object[]> stateChanges, long checkpoint) throws InterruptedException {
+        long backoffMs = 100;
+        while (true) {
+            try {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    if (!alerts.isEmpty()) {
+                        insertAlerts(alerts);
+                    }
+                    if (!stateChanges.isEmpty()) {
+                        jdbcTemplate.batchUpdate(UPSERT_STATE_SQL, stateChanges);
+                    }
+                    if (checkpoint > 0) {
+                        AlertCheckpoint saved = new AlertCheckpoint(CONSUMER, checkpoint);
+                        saved.setUpdatedAt(LocalDateTime.now());
+                        checkpointRepository.save(saved);
+                    }
+                });
+                batchesWritten.increment();
+                return;
+            } catch (RuntimeException e) {
+                writeFailures.increment();
+                if (!running) {
+                    throw e;
+                }
+                log.warn("Writing {} exposure alerts failed, retrying in {} ms: {}", alerts.size(), backoffMs, e.getMessage());
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    /**
+     * Batch insert that also reads back the generated alert ids, so pushed alerts carry their id.
+     */
+    private void insertAlerts(List<ExposureAlert> alerts) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_ALERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ExposureAlert alert = alerts.get(i);
+                        ps.setLong(1, alert.getPortfolioId());
+                        ps.setLong(2, alert.getInvestorId());
+                        ps.setString(3, alert.getAssetType());
+                        ps.setDouble(4, alert.getExposureValue());
+                        ps.setDouble(5, alert.getLimitValue());
+                        ps.setString(6, alert.getStatus());
+                        ps.setTimestamp(7, Timestamp.valueOf(alert.getTimestamp()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return alerts.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < alerts.size() && i < generated.size(); i++) {
+            Object id = generated.get(i).values().iterator().next();
+            alerts.get(i).setAlertId(((Number) id).longValue());
+        }
+    }
+}
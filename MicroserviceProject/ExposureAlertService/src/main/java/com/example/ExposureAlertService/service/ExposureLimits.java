@@ -0,0 +1,72 @@
+package com.example.ExposureAlertService.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-asset-type exposure limits, in percent of the portfolio ({@code exposure.limits.*}).
+ * Exposure is each asset type's share of the portfolio's total allocation, the same figure the
+ * alert screen shows, and an asset type is in breach when its exposure is strictly above the limit.
+ */
+@Component
+public class ExposureLimits {
+
+    public enum AssetType {
+        EQUITY("Equity"),
+        BOND("Bond"),
+        DERIVATIVE("Derivative");
+
+        private final String label;
+
+        AssetType(String label) {
+            this.label = label;
+        }
+
+        public String label() { return label; }
+
+        public int bit() { return 1 << ordinal(); }
+    }
+
+    private static final AssetType[] ASSET_TYPES = AssetType.values();
+
+    private final double[] limits;
+
+    public ExposureLimits(@Value("${exposure.limits.equity:70}") double equityLimit,
+                          @Value("${exposure.limits.bond:10}") double bondLimit,
+                          @Value("${exposure.limits.derivative:20}") double derivativeLimit) {
+        this.limits = new double[]{equityLimit, bondLimit, derivativeLimit};
+    }
+
+    public double limit(AssetType assetType) {
+        return limits[assetType.ordinal()];
+    }
+
+    /**
+     * Exposure per asset type (indexed by ordinal), or null if the allocation is empty.
+     */
+    public static double[] exposures(double equity, double bond, double derivative) {
+        double total = equity + bond + derivative;
+        if (!(total > 0)) {
+            return null;
+        }
+        return new double[]{equity / total * 100, bond / total * 100, derivative / total * 100};
+    }
+
+    /**
+     * Bit set of the asset types whose exposure is above their limit.
+     */
+    public int breachMask(double[] exposures) {
+        int mask = 0;
+        for (AssetType assetType : ASSET_TYPES) {
+            if (exposures[assetType.ordinal()] > limits[assetType.ordinal()]) {
+                mask |= assetType.bit();
+            }
+        }
+        return mask;
+    }
+
+    // Alerts record exposure with 2 decimals, as the alert screen does; breaches compare the exact value
+    public static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
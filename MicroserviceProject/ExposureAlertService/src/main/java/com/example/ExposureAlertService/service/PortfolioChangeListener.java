@@ -0,0 +1,121 @@
+package com.example.ExposureAlertService.service;
+
+import com.example.ExposureAlertService.client.PortfolioClient;
+import com.example.ExposureAlertService.dto.PortfolioChangeDto;
+import com.example.ExposureAlertService.entity.BreachState;
+import com.example.ExposureAlertService.repositiory.BreachStateRepositiory;
+import feign.FeignException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Feeds portfolio-service's change outbox into the {@link ExposureEvaluator}.
+ * The read position lives in memory and starts at the evaluator's committed checkpoint, so a
+ * restart replays at most the changes that were queued but not yet written. When the pipeline is
+ * full the poll stops early and resumes from the first change that was not accepted.
+ * - Polls carry the pipeline's consumer name, so portfolio-service keeps the events we have not read yet.
+ * - If they were purged anyway (410), every portfolio is re-evaluated, open breaches of portfolios that no
+ *   longer exist are cleared, and the feed resumes from its head. Until the next change is committed the
+ *   checkpoint stays behind, so a restart in between repeats the sweep.
+ */
+@Service
+@ConditionalOnProperty(name = "exposure.feed.enabled", havingValue = "true", matchIfMissing = true)
+public class PortfolioChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioChangeListener.class);
+
+    @Autowired
+    private PortfolioClient portfolioClient;
+
+    @Autowired
+    private ExposureEvaluator evaluator;
+
+    @Autowired
+    private BreachStateRepositiory breachStateRepository;
+
+    @Value("${exposure.feed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${exposure.feed.enqueue-timeout-ms:1000}")
+    private long enqueueTimeoutMs;
+
+    private long afterEventId = -1;
+
+    @Scheduled(fixedDelayString = "${exposure.feed.poll-interval-ms:500}")
+    public void pollChanges() throws InterruptedException {
+        if (afterEventId < 0) {
+            afterEventId = evaluator.lastCommittedEventId();
+        }
+
+        List<PortfolioChangeDto> changes;
+        do {
+            try {
+                changes = portfolioClient.getChanges(ExposureEvaluator.CONSUMER, afterEventId, batchSize);
+            } catch (FeignException.Gone e) {
+                resync();
+                return;
+            } catch (Exception e) {
+                // portfolio-service unreachable: keep the position and retry on the next tick
+                log.warn("Polling portfolio changes after event {} failed: {}", afterEventId, e.getMessage());
+                return;
+            }
+            if (changes == null || changes.isEmpty()) {
+                return;
+            }
+
+            for (PortfolioChangeDto change : changes) {
+                ExposureEvaluator.AllocationUpdate update = change.getPortfolio() == null
+                        ? ExposureEvaluator.AllocationUpdate.removed(change.getEventId(), change.getPortfolioId())
+                        : ExposureEvaluator.AllocationUpdate.of(change.getEventId(), change.getPortfolio());
+                if (update != null && !evaluator.submit(update, enqueueTimeoutMs)) {
+                    log.debug("Exposure pipeline full, pausing the feed at event {}", afterEventId);
+                    return;
+                }
+                afterEventId = change.getEventId();
+            }
+        } while (changes.size() >= batchSize);
+    }
+
+    // Head first: changes made during the sweep are then replayed afterwards rather than missed
+    private void resync() throws InterruptedException {
+        try {
+            long head = portfolioClient.getChangesHead();
+            log.warn("Portfolio changes after event {} were purged; re-evaluating all portfolios up to event {}",
+                    afterEventId, head);
+            Set<Long> seen = new HashSet<>();
+            long afterId = 0L;
+            List<PortfolioClient.PortfolioDto> chunk;
+            while ((chunk = portfolioClient.getPortfolioChunk(afterId, batchSize)) != null && !chunk.isEmpty()) {
+                for (PortfolioClient.PortfolioDto portfolio : chunk) {
+                    seen.add(portfolio.getPortfolioId());
+                    submit(ExposureEvaluator.AllocationUpdate.of(0, portfolio));
+                }
+                afterId = chunk.get(chunk.size() - 1).getPortfolioId();
+            }
+            for (BreachState open : breachStateRepository.findByBreachMaskNot(0)) {
+                if (!seen.contains(open.getPortfolioId())) {
+                    submit(ExposureEvaluator.AllocationUpdate.removed(0, open.getPortfolioId()));
+                }
+            }
+            afterEventId = head;
+        } catch (FeignException e) {
+            log.warn("Re-evaluating all portfolios failed, retrying on the next tick: {}", e.getMessage());
+        }
+    }
+
+    // The sweep must not drop updates, so it waits out a full pipeline
+    private void submit(ExposureEvaluator.AllocationUpdate update) throws InterruptedException {
+        while (update != null && !evaluator.submit(update, enqueueTimeoutMs)) {
+            log.debug("Exposure pipeline full, sweep waiting");
+        }
+    }
+}
@@ -1,13 +1,22 @@
 package com.example.InvestorService;
 
+import com.example.common.config.AccessTokenFilter;
+import com.example.common.config.TokenIssuerConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@ComponentScan(basePackages = "com.example")
+@Import({AccessTokenFilter.class, TokenIssuerConfig.class})
+// Shared classes are opted into with @Import, not picked up by the scan
+@ComponentScan(basePackages = "com.example",
+        excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.example\\.common\\..*"))
 @EnableDiscoveryClient
+@EnableScheduling
 public class InvestorServiceApplication {
 
 	public static void main(String[] args) {
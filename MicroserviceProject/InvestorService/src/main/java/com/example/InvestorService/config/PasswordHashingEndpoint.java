@@ -0,0 +1,25 @@
+package com.example.InvestorService.config;
+
+import com.example.InvestorService.util.PasswordHashExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/passwordhashing shows the hashing pool: use, rejections, queue wait and hash latency per operation.
+ */
+@Component
+@Endpoint(id = "passwordhashing")
+public class PasswordHashingEndpoint {
+
+    @Autowired
+    private PasswordHashExecutor hashExecutor;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return hashExecutor.stats();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.InvestorService.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,13 +22,19 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/investors/**").permitAll() // Gateway handles auth, this service just
                                                                           // needs to be accessible
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
+                        // Needs a service token, checked by AccessTokenFilter and RevocationController
+                        .requestMatchers("/internal/revocations").permitAll()
+                        // Needs an access token, checked by AccessTokenFilter
+                        .requestMatchers("/actuator/**").permitAll()
                         .anyRequest().authenticated())
                 .build();
     }
 
+    // Work factor per deployment; existing hashes are upgraded (or downgraded) on the investor's next login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${investor.password-hashing.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -3,12 +3,20 @@ package com.example.InvestorService.controller;
 import com.example.InvestorService.entity.Investor;
 import com.example.InvestorService.service.InvestorService;
 import com.example.InvestorService.util.JwtUtil;
+import com.example.InvestorService.util.PasswordHashExecutor;
+import com.example.common.service.RefreshTokenService;
+import com.example.common.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/investors")
@@ -20,11 +28,31 @@ public class InvestorController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private PasswordHashExecutor hashExecutor;
+
+    @Autowired
+    private RefreshTokenService refreshTokens;
+
+    @Autowired
+    private TokenRevocationService revocations;
+
     @GetMapping("/getAllInvestors")
     public ResponseEntity<?> getAll() {
         return ResponseEntity.ok(service.findAll());
     }
 
+    // Keyset-paginated listing: pass nextCursor back as cursor to get the following page
+    @GetMapping("/page")
+    public ResponseEntity<?> getPage(@RequestParam(required = false) String cursor,
+                                     @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(service.findPage(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getById(@PathVariable Long id) {
         return service.findById(id)
@@ -32,46 +60,106 @@ public class InvestorController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Endpoints that hash passwords are async: BCrypt runs on PasswordHashExecutor, and a saturated pool answers 503
+
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody Investor investor) {
-        try {
-            return ResponseEntity.ok(service.register(investor));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
-        }
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody Investor investor) {
+        return service.register(investor).handle((saved, error) -> {
+            if (error != null) {
+                return PasswordHashExecutor.isRejected(error)
+                        ? busy()
+                        : ResponseEntity.badRequest().body(PasswordHashExecutor.unwrap(error).getMessage());
+            }
+            return ResponseEntity.ok(saved);
+        });
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Investor loginData) {
-        Optional<Investor> userOpt = service.login(loginData.getEmail(), loginData.getPassword());
-
-        if (userOpt.isPresent()) {
-            Investor user = userOpt.get();
-            user.setPassword(null);
-            String token = jwtUtil.generateToken(user.getEmail(), "INVESTOR");
-            return ResponseEntity.ok(Map.of("token", token, "user", user));
-        } else {
-            return ResponseEntity.status(401).body("Invalid credentials");
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody Investor loginData) {
+        return service.login(loginData.getEmail(), loginData.getPassword()).handle((userOpt, error) -> {
+            if (error != null) {
+                if (PasswordHashExecutor.isRejected(error)) {
+                    return busy();
+                }
+                throw PasswordHashExecutor.propagate(error);
+            }
+            if (userOpt.isPresent()) {
+                Investor user = userOpt.get();
+                user.setPassword(null);
+                String token = jwtUtil.generateToken(user.getEmail(), "INVESTOR");
+                String refreshToken = refreshTokens.issue(user.getEmail(), "INVESTOR");
+                return ResponseEntity.ok(Map.of("token", token, "refreshToken", refreshToken,
+                        "expiresIn", jwtUtil.getAccessTokenTtlSeconds(), "user", user));
+            } else {
+                return ResponseEntity.status(401).body("Invalid credentials");
+            }
+        });
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token (the old one is spent).
+     * No password and no BCrypt: a session pays the login cost once.
+     */
+    @PostMapping("/token/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> body) {
+        return refreshTokens.rotate(body.get("refreshToken"))
+                .filter(rotation -> service.existsByEmail(rotation.subject()))
+                .<ResponseEntity<?>>map(rotation -> ResponseEntity.ok(Map.of(
+                        "token", jwtUtil.generateToken(rotation.subject(), rotation.role()),
+                        "refreshToken", rotation.refreshToken(),
+                        "expiresIn", jwtUtil.getAccessTokenTtlSeconds())))
+                .orElse(ResponseEntity.status(401).body("Invalid refresh token"));
+    }
+
+    // Ends the session the refresh token belongs to
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody Map<String, String> body,
+                                    @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        refreshTokens.revoke(body.get("refreshToken"));
+        // The access token sent along is revoked by jti, so the gateway refuses it from its next sync on
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            try {
+                Claims claims = jwtUtil.extractAllClaims(authorization.substring(7).trim());
+                revocations.revokeToken(claims.getId(), claims.getSubject(), claims.getExpiration());
+            } catch (JwtException | IllegalArgumentException e) {
+                // Invalid or already expired: nothing to revoke
+            }
         }
+        return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/update/{id}")
-    public ResponseEntity<?> update(@PathVariable Long id, @RequestBody Investor data) {
+    public CompletableFuture<ResponseEntity<?>> update(@PathVariable Long id, @RequestBody Investor data) {
+        CompletableFuture<Investor> update;
         try {
-            Investor updated = service.updateProfile(id, data);
-            updated.setPassword(null);
-            return ResponseEntity.ok(updated);
+            update = service.updateProfile(id, data);
         } catch (Exception e) {
-            return ResponseEntity.status(404).body(e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.status(404).body(e.getMessage()));
         }
+        return update.handle((updated, error) -> {
+            if (error != null) {
+                return PasswordHashExecutor.isRejected(error)
+                        ? busy()
+                        : ResponseEntity.status(404).body(PasswordHashExecutor.unwrap(error).getMessage());
+            }
+            updated.setPassword(null);
+            return ResponseEntity.ok(updated);
+        });
     }
 
     @PutMapping("/update-password/{id}")
-    public ResponseEntity<?> updatePassword(@PathVariable Long id, @RequestBody Map<String, String> body) {
-        boolean success = service.changePassword(id, body.get("password"), body.get("fullName"));
-        if (success)
-            return ResponseEntity.ok("Password changed");
-        return ResponseEntity.status(401).body("Verification failed");
+    public CompletableFuture<ResponseEntity<?>> updatePassword(@PathVariable Long id, @RequestBody Map<String, String> body) {
+        return service.changePassword(id, body.get("password"), body.get("fullName")).handle((success, error) -> {
+            if (error != null) {
+                if (PasswordHashExecutor.isRejected(error)) {
+                    return busy();
+                }
+                throw PasswordHashExecutor.propagate(error);
+            }
+            if (success)
+                return ResponseEntity.ok("Password changed");
+            return ResponseEntity.status(401).body("Verification failed");
+        });
     }
 
     @GetMapping("/check-email")
@@ -84,18 +172,27 @@ public class InvestorController {
     }
 
     @PutMapping("/reset-password")
-    public ResponseEntity<?> resetPassword(@RequestBody Map<String, String> body) {
+    public CompletableFuture<ResponseEntity<?>> resetPassword(@RequestBody Map<String, String> body) {
         String email = body.get("email");
         String newPassword = body.get("newPassword");
 
-        try {
-            boolean success = service.resetPassword(email, newPassword);
+        return service.resetPassword(email, newPassword).handle((success, error) -> {
+            if (error != null) {
+                if (PasswordHashExecutor.isRejected(error)) {
+                    return busy();
+                }
+                return ResponseEntity.status(500).body("Error resetting password: " + PasswordHashExecutor.unwrap(error).getMessage());
+            }
             if (success) {
                 return ResponseEntity.ok("Password reset successfully");
             }
             return ResponseEntity.status(404).body("Email not found");
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body("Error resetting password: " + e.getMessage());
-        }
+        });
+    }
+
+    private static ResponseEntity<?> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Error: Server busy, please retry");
     }
 }
\ No newline at end of file
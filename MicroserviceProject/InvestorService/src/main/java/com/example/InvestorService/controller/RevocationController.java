@@ -0,0 +1,31 @@
+package com.example.InvestorService.controller;
+
+import com.example.common.config.AccessTokenFilter;
+import com.example.common.service.TokenRevocationService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Revoked access tokens, polled by the gateway with its service token (not routed through it).
+ */
+@RestController
+public class RevocationController {
+
+    @Autowired
+    private TokenRevocationService revocations;
+
+    // AccessTokenFilter lets any valid token through; only service tokens may read the list
+    @GetMapping("/internal/revocations")
+    public ResponseEntity<Map<String, Object>> revocations(HttpServletRequest request) {
+        if (!"SERVICE".equals(request.getAttribute(AccessTokenFilter.ROLE_ATTR))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(revocations.snapshot());
+    }
+}
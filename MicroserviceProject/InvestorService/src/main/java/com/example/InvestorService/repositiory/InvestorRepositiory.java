@@ -1,9 +1,15 @@
 package com.example.InvestorService.repositiory;
 
 import com.example.InvestorService.entity.Investor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +21,13 @@ public interface InvestorRepositiory extends JpaRepository<Investor, Long> {
     // Check if email already exists during registration
     boolean existsByEmail(String email);
 
+    // Keyset page of investors in id order (see /api/investors/page)
+    List<Investor> findByInvestorIdGreaterThanOrderByInvestorIdAsc(Long afterInvestorId, Pageable pageable);
+
+    // Rehash-on-login: swaps the hash only if the password was not changed in the meantime
+    @Transactional
+    @Modifying
+    @Query("update Investor i set i.password = :newHash where i.investorId = :id and i.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
 }
\ No newline at end of file
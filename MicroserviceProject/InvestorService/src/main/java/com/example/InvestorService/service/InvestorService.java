@@ -2,28 +2,70 @@ package com.example.InvestorService.service;
 
 import com.example.InvestorService.entity.Investor;
 import com.example.InvestorService.repositiory.InvestorRepositiory;
+import com.example.InvestorService.util.PasswordHashExecutor;
+import com.example.common.dto.CursorPage;
+import com.example.common.service.RefreshTokenService;
+import com.example.common.service.TokenRevocationService;
+import com.example.common.util.PageCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Investor accounts. Every BCrypt encode / matches runs on {@link PasswordHashExecutor}, so the methods that
+ * hash return a CompletableFuture; it fails with a RejectedExecutionException when hashing is saturated.
+ */
 @Service
 public class InvestorService {
 
+    private static final Logger log = LoggerFactory.getLogger(InvestorService.class);
+
     @Autowired
     private InvestorRepositiory repository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PasswordHashExecutor hashExecutor;
+
+    @Autowired
+    private RefreshTokenService refreshTokens;
+
+    // Access tokens already issued stop working at the gateway too, not only the refresh tokens
+    @Autowired
+    private TokenRevocationService revocations;
+
+    // Must match the encoder's strength (SecurityConfig reads the same property)
+    @Value("${investor.password-hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${investor.password-hashing.rehash-on-login:true}")
+    private boolean rehashOnLogin;
+
     public List<Investor> findAll() {
         List<Investor> list = repository.findAll();
         list.forEach(i -> i.setPassword(null));
         return list;
     }
 
+    public CursorPage<Investor> findPage(String cursor, int limit) {
+        long afterInvestorId = cursor == null ? 0L : Long.parseLong(PageCursor.decode(cursor, 1)[0]);
+        int pageSize = PageCursor.clampLimit(limit);
+        List<Investor> rows = repository
+                .findByInvestorIdGreaterThanOrderByInvestorIdAsc(afterInvestorId, PageRequest.of(0, pageSize + 1));
+        rows.forEach(i -> i.setPassword(null));
+        return CursorPage.from(rows, pageSize, i -> PageCursor.encode(i.getInvestorId()));
+    }
+
     public Optional<Investor> findById(Long id) {
         return repository.findById(id).map(i -> {
             i.setPassword(null);
@@ -31,22 +73,69 @@ public class InvestorService {
         });
     }
 
-    public Investor register(Investor investor) throws Exception {
+    public CompletableFuture<Investor> register(Investor investor) {
         if (repository.findByEmail(investor.getEmail()).isPresent()) {
-            throw new Exception("Email already in use!");
+            return CompletableFuture.failedFuture(new Exception("Email already in use!"));
+        }
+        String rawPassword = investor.getPassword();
+        return hashExecutor.supply("register", () -> passwordEncoder.encode(rawPassword)) // Encrypt password
+                .thenApply(hash -> {
+                    investor.setPassword(hash);
+                    return repository.save(investor);
+                });
+    }
+
+    /**
+     * Completes with the investor if the password matches. A hash made with a different cost than
+     * {@code bcrypt-strength} is re-encoded in the background (rehash-on-login), so changing the work
+     * factor takes effect as investors log in.
+     */
+    public CompletableFuture<Optional<Investor>> login(String email, String password) {
+        Optional<Investor> userOpt = repository.findByEmail(email);
+        if (userOpt.isEmpty() || password == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
         }
-        investor.setPassword(passwordEncoder.encode(investor.getPassword())); // Encrypt password
-        return repository.save(investor);
+        Investor user = userOpt.get();
+        String storedHash = user.getPassword();
+        return hashExecutor.supply("login", () -> passwordEncoder.matches(password, storedHash))
+                .thenApply(matches -> {
+                    if (!matches) {
+                        return Optional.empty();
+                    }
+                    if (rehashOnLogin && needsRehash(storedHash)) {
+                        rehash(user.getInvestorId(), password, storedHash);
+                    }
+                    return Optional.of(user);
+                });
     }
 
-    public Optional<Investor> login(String email, String password) {
-        return repository.findByEmail(email)
-                .filter(user -> passwordEncoder.matches(password, user.getPassword()));
+    // Best effort: if the pool is busy the hash is upgraded on a later login instead
+    private void rehash(Long investorId, String password, String oldHash) {
+        hashExecutor.supply("rehash", () -> passwordEncoder.encode(password))
+                .thenAccept(newHash -> repository.updatePasswordHash(investorId, oldHash, newHash))
+                .exceptionally(e -> {
+                    log.debug("Rehash of investor {} skipped: {}", investorId, PasswordHashExecutor.unwrap(e).toString());
+                    return null;
+                });
     }
 
-    public Investor updateProfile(Long id, Investor data) throws Exception {
+    // BCrypt hashes look like $2a$10$...; the two digits are the cost they were made with
+    private boolean needsRehash(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(6) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6)) != bcryptStrength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public CompletableFuture<Investor> updateProfile(Long id, Investor data) throws Exception {
         Investor existing = repository.findById(id)
                 .orElseThrow(() -> new Exception("Investor not found"));
+        // Sessions (refresh tokens) are tied to the email they were issued for
+        String previousEmail = existing.getEmail();
 
         if (data.getFullName() != null)
             existing.setFullName(data.getFullName());
@@ -61,41 +150,78 @@ public class InvestorService {
         }
 
         if (data.getPassword() != null && !data.getPassword().isEmpty()) {
-            existing.setPassword(passwordEncoder.encode(data.getPassword())); // Encrypt password
+            String rawPassword = data.getPassword();
+            return hashExecutor.supply("updateProfile", () -> passwordEncoder.encode(rawPassword)) // Encrypt password
+                    .thenApply(hash -> {
+                        existing.setPassword(hash);
+                        Investor saved = repository.save(existing);
+                        refreshTokens.revokeAll(previousEmail);
+                        revocations.revokeIssuedBefore(previousEmail);
+                        return saved;
+                    });
         }
 
-        return repository.save(existing);
+        Investor saved = repository.save(existing);
+        if (!previousEmail.equalsIgnoreCase(saved.getEmail())) {
+            refreshTokens.revokeAll(previousEmail);
+            revocations.revokeIssuedBefore(previousEmail);
+        }
+        return CompletableFuture.completedFuture(saved);
     }
 
-    public boolean changePassword(Long id, String oldPass, String newPass) {
-        return repository.findById(id).map(user -> {
-            if (passwordEncoder.matches(oldPass, user.getPassword())) {
-                user.setPassword(passwordEncoder.encode(newPass)); // Encrypt new password
-                repository.save(user);
-                return true;
-            }
-            return false;
-        }).orElse(false);
+    // matches and encode run as one hashing task, so an accepted change is never queued twice
+    public CompletableFuture<Boolean> changePassword(Long id, String oldPass, String newPass) {
+        Optional<Investor> userOpt = repository.findById(id);
+        if (userOpt.isEmpty() || oldPass == null || newPass == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        Investor user = userOpt.get();
+        String storedHash = user.getPassword();
+        return hashExecutor.supply("changePassword",
+                        () -> passwordEncoder.matches(oldPass, storedHash) ? passwordEncoder.encode(newPass) : null)
+                .thenApply(newHash -> {
+                    if (newHash == null) {
+                        return false;
+                    }
+                    user.setPassword(newHash); // Encrypt new password
+                    repository.save(user);
+                    refreshTokens.revokeAll(user.getEmail());
+                    revocations.revokeIssuedBefore(user.getEmail());
+                    return true;
+                });
     }
 
     public Optional<Investor> findByEmail(String email) {
         return repository.findByEmail(email);
     }
 
-    public boolean resetPassword(String email, String newPassword) {
-        Optional<Investor> investorOpt = repository.findByEmail(email);
-        if (investorOpt.isPresent()) {
-            Investor investor = investorOpt.get();
+    public boolean existsByEmail(String email) {
+        return repository.existsByEmail(email);
+    }
 
+    /**
+     * Completes with false if the email is unknown; fails with IllegalArgumentException if the new password
+     * equals the old one. The check and the new hash (two BCrypt rounds) run as one hashing task.
+     */
+    public CompletableFuture<Boolean> resetPassword(String email, String newPassword) {
+        Optional<Investor> investorOpt = repository.findByEmail(email);
+        if (investorOpt.isEmpty()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        Investor investor = investorOpt.get();
+        String storedHash = investor.getPassword();
+        return hashExecutor.supply("resetPassword", () -> {
             // Check if new password is same as old password
-            if (passwordEncoder.matches(newPassword, investor.getPassword())) {
+            if (passwordEncoder.matches(newPassword, storedHash)) {
                 throw new IllegalArgumentException("New password cannot be the same as your old password");
             }
-
-            investor.setPassword(passwordEncoder.encode(newPassword)); // Encrypt new password
+            return passwordEncoder.encode(newPassword); // Encrypt new password
+        }).thenApply(newHash -> {
+            investor.setPassword(newHash);
             repository.save(investor);
+            refreshTokens.revokeAll(investor.getEmail());
+            revocations.revokeIssuedBefore(investor.getEmail());
             return true;
-        }
-        return false;
+        });
     }
 }
\ No newline at end of file
@@ -1,20 +1,61 @@
 package com.example.InvestorService.util;
 
+import com.example.common.service.SigningKeyService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
-    public static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+    // Tokens are signed with the current rotating EC key and carry its kid; verifiers fetch the public keys (JWKS)
+    private final SigningKeyService signingKeys;
+    private final JwtParser parser;
+
+    // Access tokens are short-lived; clients renew them with a refresh token (see RefreshTokenService)
+    @Value("${auth.access-token.ttl-seconds:900}")
+    private long accessTokenTtlSeconds;
+
+    public JwtUtil(SigningKeyService signingKeys) {
+        this.signingKeys = signingKeys;
+        // Built once; the key is picked per token by its kid
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                if (!SignatureAlgorithm.ES256.getValue().equals(header.getAlgorithm())) {
+                    throw new JwtException("Unsupported algorithm " + header.getAlgorithm());
+                }
+                Key key = header.getKeyId() == null ? null : signingKeys.publicKey(header.getKeyId());
+                if (key == null) {
+                    throw new JwtException("Unknown signing key " + header.getKeyId());
+                }
+                return key;
+            }
+        }).build();
+    }
+
+    public void validateToken(final String token) {
+        extractAllClaims(token);
+    }
+
+    /**
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, badly signed, signed by an unknown key or expired
+     */
+    public Claims extractAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
 
     public String generateToken(String userName, String role) {
         Map<String, Object> claims = new HashMap<>();
@@ -23,16 +64,22 @@ public class JwtUtil {
     }
 
     private String createToken(Map<String, Object> claims, String userName) {
+        SigningKeyService.ActiveKey key = signingKeys.activeKey();
+        long now = System.currentTimeMillis();
+        // iat has whole seconds only; revocation epochs are compared with this instead
+        claims.put("iatMs", now);
         return Jwts.builder()
+                .setHeaderParam("kid", key.kid())
                 .setClaims(claims)
                 .setSubject(userName)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60)) // 1 Hour
-                .signWith(getSignKey(), SignatureAlgorithm.HS256).compact();
+                // jti: lets a single token be revoked before its expiry (TokenRevocationService)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + accessTokenTtlSeconds * 1000))
+                .signWith(key.privateKey(), SignatureAlgorithm.ES256).compact();
     }
 
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public long getAccessTokenTtlSeconds() {
+        return accessTokenTtlSeconds;
     }
 }
@@ -0,0 +1,191 @@
+package com.example.InvestorService.util;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt work (encode / matches) off the request threads, on a pool sized for CPU-bound hashing.
+ * - {@code investor.password-hashing.threads} workers (0 = one per CPU) and a queue of {@code queue-capacity};
+ *   when both are full the task is rejected and the endpoint answers 503 instead of piling up threads.
+ * - A task that waited longer than {@code max-queue-wait-ms} is dropped when it reaches a worker (its caller
+ *   has most likely given up), also as a rejection.
+ * - Hash latency (time on a worker) and queue wait are recorded per operation; see {@link #stats()}.
+ * - The returned futures complete on Spring Boot's applicationTaskExecutor, so what callers chain on them
+ *   (saving the hash, issuing refresh tokens) runs there: hashing threads only hash, and database latency
+ *   cannot eat into hashing capacity and push up the 503 rate.
+ */
+@Component
+public class PasswordHashExecutor {
+
+    private final ThreadPoolExecutor pool;
+    private final Executor completionExecutor;
+    private final int queueCapacity;
+    private final long maxQueueWaitNanos;
+
+    private final Map<String, LatencyHistogram> hashLatency = new ConcurrentHashMap<>();
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    public PasswordHashExecutor(@Value("${investor.password-hashing.threads:0}") int threads,
+                                @Value("${investor.password-hashing.queue-capacity:64}") int queueCapacity,
+                                @Value("${investor.password-hashing.max-queue-wait-ms:2000}") long maxQueueWaitMs,
+                                @Qualifier("applicationTaskExecutor") Executor completionExecutor) {
+        this.completionExecutor = completionExecutor;
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMs);
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Runs {@code task} on the hashing pool; {@code operation} names the latency series it is recorded under.
+     * Fails with a RejectedExecutionException when the pool is saturated. Completes on the application task
+     * executor (or the calling thread if rejected right away), never on a hashing thread.
+     */
+    public <T> CompletableFuture<T> supply(String operation, Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            CompletableFuture<T> hashed = CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - queuedAt);
+                if (maxQueueWaitNanos > 0 && startedAt - queuedAt > maxQueueWaitNanos) {
+                    expired.increment();
+                    throw new RejectedExecutionException("Password hashing queue wait exceeded");
+                }
+                try {
+                    return task.get();
+                } finally {
+                    hashLatency.computeIfAbsent(operation, k -> new LatencyHistogram()).record(System.nanoTime() - startedAt);
+                }
+            }, pool);
+            // Hand the result over before anyone sees it, so dependent stages never run on a hashing thread
+            return hashed.whenCompleteAsync((result, error) -> {
+            }, completionExecutor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * True if the failure is this executor turning the task away (answer 503).
+     */
+    public static boolean isRejected(Throwable error) {
+        return unwrap(error) instanceof RejectedExecutionException;
+    }
+
+    public static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    // Re-throws a failure from a handle() stage unchanged
+    public static CompletionException propagate(Throwable error) {
+        return error instanceof CompletionException ce ? ce : new CompletionException(error);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", pool.getMaximumPoolSize());
+        stats.put("active", pool.getActiveCount());
+        stats.put("queued", pool.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("rejected", rejected.sum());
+        stats.put("expiredInQueue", expired.sum());
+        stats.put("queueWait", queueWait.snapshot());
+        Map<String, Object> operations = new TreeMap<>();
+        hashLatency.forEach((operation, histogram) -> operations.put(operation, histogram.snapshot()));
+        stats.put("hashLatency", operations);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Lock-free latency histogram with power-of-two millisecond buckets (1, 2, 4 ... 32768 ms);
+     * percentiles are reported as the upper bound of the bucket they fall in.
+     */
+    static final class LatencyHistogram {
+
+        private static final int BUCKETS = 16;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        LatencyHistogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            // Bucket i holds latencies below 2^i ms
+            int bucket = millis == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(millis));
+            buckets[bucket].increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        Map<String, Object> snapshot() {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("count", total);
+            snapshot.put("avgMs", total == 0 ? 0.0 : totalNanos.sum() / 1e6 / total);
+            snapshot.put("p50Ms", percentile(counts, total, 0.50));
+            snapshot.put("p99Ms", percentile(counts, total, 0.99));
+            snapshot.put("maxMs", maxNanos.get() / 1e6);
+            return snapshot;
+        }
+
+        private static long percentile(long[] counts, long total, double p) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(p * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return 1L << i;
+                }
+            }
+            return 1L << (BUCKETS - 1);
+        }
+    }
+}
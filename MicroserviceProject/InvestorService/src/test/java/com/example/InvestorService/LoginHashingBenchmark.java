@@ -0,0 +1,120 @@
+package com.example.InvestorService;
+
+import com.example.InvestorService.util.PasswordHashExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load test of the login path (not part of the unit test run): {@code callers} threads log in back to back
+ * for {@code seconds} per BCrypt cost, each login being one {@code matches} on {@link PasswordHashExecutor}
+ * as in InvestorService.login. Prints logins/s, 503s (rejections) and p50/p99 login latency per cost.
+ * <pre>
+ * java ... LoginHashingBenchmark [costs=8,10,12] [callers=64] [seconds=10] [pool-threads=0 (CPUs)] [queue-capacity=64]
+ * </pre>
+ * A rejected caller backs off 10 ms before retrying, like a client honouring Retry-After on a small scale.
+ */
+public class LoginHashingBenchmark {
+
+    private record Result(int cost, double loginsPerSecond, double rejectedPerSecond, double p50Ms, double p99Ms,
+                          Object hashLatency) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] costs = Arrays.stream((args.length > 0 ? args[0] : "8,10,12").split(",")).mapToInt(Integer::parseInt).toArray();
+        int callers = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int poolThreads = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        int queueCapacity = args.length > 4 ? Integer.parseInt(args[4]) : 64;
+
+        List<Result> results = new ArrayList<>();
+        for (int cost : costs) {
+            results.add(run(cost, callers, seconds, poolThreads, queueCapacity));
+        }
+
+        System.out.printf("%n%d callers, %d s per cost, pool threads %s, queue %d%n", callers, seconds,
+                poolThreads > 0 ? poolThreads : Runtime.getRuntime().availableProcessors() + " (CPUs)", queueCapacity);
+        System.out.printf("%-6s %10s %10s %10s %10s  %s%n", "cost", "logins/s", "503/s", "p50 ms", "p99 ms", "hash latency");
+        for (Result r : results) {
+            System.out.printf("%-6d %10.1f %10.1f %10.1f %10.1f  %s%n", r.cost(), r.loginsPerSecond(), r.rejectedPerSecond(),
+                    r.p50Ms(), r.p99Ms(), r.hashLatency());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Result run(int cost, int callers, int seconds, int poolThreads, int queueCapacity) throws InterruptedException {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        String password = "investor-password";
+        String hash = encoder.encode(password);
+        ExecutorService completions = Executors.newCachedThreadPool();
+        PasswordHashExecutor executor = new PasswordHashExecutor(poolThreads, queueCapacity, 2000, completions);
+
+        LongAdder rejected = new LongAdder();
+        ConcurrentLinkedQueue<long[]> latencies = new ConcurrentLinkedQueue<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch done = new CountDownLatch(callers);
+        for (int i = 0; i < callers; i++) {
+            Thread caller = new Thread(() -> {
+                long[] mine = new long[256];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long sent = System.nanoTime();
+                    try {
+                        if (!executor.supply("login", () -> encoder.matches(password, hash)).join()) {
+                            throw new IllegalStateException("password did not match");
+                        }
+                    } catch (CompletionException e) {
+                        if (!PasswordHashExecutor.isRejected(e)) {
+                            throw e;
+                        }
+                        rejected.increment();
+                        sleep(10);
+                        continue;
+                    }
+                    if (count == mine.length) {
+                        mine = Arrays.copyOf(mine, count * 2);
+                    }
+                    mine[count++] = System.nanoTime() - sent;
+                }
+                latencies.add(Arrays.copyOf(mine, count));
+                done.countDown();
+            }, "login-" + i);
+            caller.start();
+        }
+        done.await();
+        Map<String, Object> stats = executor.stats();
+        executor.shutdown();
+        completions.shutdown();
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("cost %d: %d logins, %d rejected%n", cost, all.length, rejected.sum());
+        return new Result(cost, all.length / (double) seconds, rejected.sum() / (double) seconds,
+                percentile(all, 0.50), percentile(all, 0.99), ((Map<String, Object>) stats.get("hashLatency")).get("login"));
+    }
+
+    private static double percentile(long[] sortedNanos, double p) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.max(0, Math.ceil(p * sortedNanos.length) - 1));
+        return sortedNanos[index] / 1e6;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package com.example.PortfolioService;
 
+import com.example.common.config.AccessTokenFilter;
+import com.example.common.config.FeignResilienceConfig;
+import com.example.common.config.FeignTransportConfig;
+import com.example.common.config.ServiceAuthConfig;
+import com.example.common.util.BlockingCallExecutor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@Import({BlockingCallExecutor.class, FeignResilienceConfig.class, FeignTransportConfig.class,
+        AccessTokenFilter.class, ServiceAuthConfig.class})
 @EnableDiscoveryClient
 @EnableFeignClients
+@EnableScheduling
 public class PortfolioServiceApplication {
 
 	public static void main(String[] args) {
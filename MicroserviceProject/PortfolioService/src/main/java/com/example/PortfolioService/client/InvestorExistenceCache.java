@@ -0,0 +1,148 @@
+package com.example.PortfolioService.client;
+
+import com.example.common.util.BlockingCallExecutor;
+import feign.FeignException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Near-cache in front of {@link InvestorClient} for the "does this investor exist" check on submit.
+ * - Known investors are remembered for {@code ttl-seconds}; ids that investor-service answered 404 for
+ *   are remembered for the shorter {@code negative-ttl-seconds}, so a newly registered investor is
+ *   accepted soon after.
+ * - At most {@code max-size} ids are kept; the least recently used one is evicted first.
+ * - Errors other than 404 (investor-service down, timeouts) are never cached and are rethrown.
+ * - {@link #investorExistsAsync} answers hits inline and runs only misses on the blocking-call executor.
+ */
+@Component
+public class InvestorExistenceCache {
+
+    private final InvestorClient investorClient;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    // Guarded by itself; access-ordered so iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private record Entry(boolean exists, long expiresAt) {
+    }
+
+    @Autowired
+    public InvestorExistenceCache(InvestorClient investorClient,
+                                  @Value("${portfolio.investor-cache.max-size:10000}") int maxSize,
+                                  @Value("${portfolio.investor-cache.ttl-seconds:600}") long ttlSeconds,
+                                  @Value("${portfolio.investor-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.investorClient = investorClient;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.negativeTtlNanos = TimeUnit.SECONDS.toNanos(negativeTtlSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > InvestorExistenceCache.this.maxSize) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return whether investor-service knows the investor, from the cache when possible
+     * @throws FeignException if investor-service could not answer (never cached)
+     */
+    public boolean investorExists(Long investorId) {
+        Boolean cached = cachedExists(investorId);
+        return cached != null ? cached : fetchAndCache(investorId);
+    }
+
+    /**
+     * Non-blocking variant: completes immediately on a cache hit; otherwise investor-service is called
+     * on {@code executor}. Fails with the FeignException (or a RejectedExecutionException) on error.
+     */
+    public CompletableFuture<Boolean> investorExistsAsync(Long investorId, BlockingCallExecutor executor) {
+        Boolean cached = cachedExists(investorId);
+        return cached != null ? CompletableFuture.completedFuture(cached) : executor.supply(() -> fetchAndCache(investorId));
+    }
+
+    // Null when the id is not cached (or its entry expired)
+    private Boolean cachedExists(Long investorId) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry cached = entries.get(investorId);
+            if (cached != null) {
+                if (now - cached.expiresAt() < 0) {
+                    (cached.exists() ? hits : negativeHits).increment();
+                    return cached.exists();
+                }
+                entries.remove(investorId);
+                expirations.increment();
+            }
+        }
+        return null;
+    }
+
+    private boolean fetchAndCache(Long investorId) {
+        misses.increment();
+
+        boolean exists;
+        try {
+            InvestorClient.InvestorDto investor = investorClient.getInvestorById(investorId);
+            exists = investor != null && investor.getInvestorId() != null;
+        } catch (FeignException.NotFound e) {
+            exists = false;
+        }
+
+        Entry entry = new Entry(exists, System.nanoTime() + (exists ? ttlNanos : negativeTtlNanos));
+        synchronized (entries) {
+            entries.put(investorId, entry);
+        }
+        return exists;
+    }
+
+    public void invalidate(Long investorId) {
+        synchronized (entries) {
+            entries.remove(investorId);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum() + negativeHits.sum();
+        long lookups = hitCount + misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hits.sum());
+        stats.put("negativeHits", negativeHits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("sizeEvictions", sizeEvictions.sum());
+        stats.put("expirations", expirations.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.PortfolioService.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process Hibernate second-level cache with a bounded LRU map per region, e.g.
+ * <pre>
+ * spring.jpa.properties.hibernate.cache.region.factory_class=com.example.PortfolioService.config.BoundedCacheRegionFactory
+ * spring.jpa.properties.hibernate.cache.bounded.max-entries=10000
+ * spring.jpa.properties.hibernate.cache.bounded.max-entries.portfolio-by-investor=5000
+ * spring.jpa.properties.hibernate.cache.bounded.ttl-seconds=60
+ * </pre>
+ * - Entity and query-result regions keep at most {@code max-entries} (per region if set), least recently used out first.
+ * - Entries older than {@code ttl-seconds} are dropped on read (0 = no expiry). Writes from other instances
+ *   are evicted by SecondLevelCacheInvalidator; the TTL is the backstop if it is disabled or falls behind.
+ * - The update-timestamps region is never bounded or expired: a missing timestamp would make Hibernate
+ *   treat a cached query result as current.
+ * Consistency (soft locks, invalidation on update/delete) is Hibernate's, via the entity's cache concurrency strategy.
+ */
+public class BoundedCacheRegionFactory extends RegionFactoryTemplate {
+
+    public static final String MAX_ENTRIES = "hibernate.cache.bounded.max-entries";
+    public static final String TTL_SECONDS = "hibernate.cache.bounded.ttl-seconds";
+
+    private final Map<String, BoundedStorage> storages = new ConcurrentHashMap<>();
+    private Map<String, Object> settings = Map.of();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions options, Map<String, Object> configValues) {
+        this.settings = configValues;
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        storages.values().forEach(BoundedStorage::release);
+        storages.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return storage(regionConfig.getRegionName(), true);
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return storage(regionName, true);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return storage(regionName, false);
+    }
+
+    private BoundedStorage storage(String regionName, boolean bounded) {
+        int maxEntries = bounded ? intSetting(MAX_ENTRIES + "." + regionName, intSetting(MAX_ENTRIES, 10000)) : 0;
+        long ttlSeconds = bounded ? intSetting(TTL_SECONDS + "." + regionName, intSetting(TTL_SECONDS, 0)) : 0;
+        return storages.computeIfAbsent(regionName, name -> new BoundedStorage(name, maxEntries, TimeUnit.SECONDS.toNanos(ttlSeconds)));
+    }
+
+    private int intSetting(String key, int defaultValue) {
+        Object value = settings.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value.toString().trim());
+    }
+
+    /**
+     * Entry counts per region (hit and miss counts come from Hibernate's statistics).
+     */
+    public Map<String, Object> regionStats() {
+        Map<String, Object> regions = new TreeMap<>();
+        storages.forEach((name, storage) -> regions.put(name, storage.stats()));
+        return regions;
+    }
+
+    public void clearAll() {
+        storages.values().forEach(BoundedStorage::evictData);
+    }
+
+    static final class BoundedStorage implements DomainDataStorageAccess {
+
+        private final String regionName;
+        // 0 = unbounded
+        private final int maxEntries;
+        // 0 = no expiry
+        private final long ttlNanos;
+
+        // Guarded by itself; access-ordered so iteration starts at the least recently used entry
+        private final LinkedHashMap<Object, Entry> entries;
+
+        private final LongAdder sizeEvictions = new LongAdder();
+        private final LongAdder expirations = new LongAdder();
+
+        private record Entry(Object value, long storedAt) {
+        }
+
+        BoundedStorage(String regionName, int maxEntries, long ttlNanos) {
+            this.regionName = regionName;
+            this.maxEntries = maxEntries;
+            this.ttlNanos = ttlNanos;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                    if (BoundedStorage.this.maxEntries > 0 && size() > BoundedStorage.this.maxEntries) {
+                        sizeEvictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            synchronized (entries) {
+                Entry entry = entries.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (ttlNanos > 0 && System.nanoTime() - entry.storedAt() > ttlNanos) {
+                    entries.remove(key);
+                    expirations.increment();
+                    return null;
+                }
+                return entry.value();
+            }
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            Entry entry = new Entry(value, System.nanoTime());
+            synchronized (entries) {
+                entries.put(key, entry);
+            }
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            synchronized (entries) {
+                return entries.containsKey(key);
+            }
+        }
+
+        @Override
+        public void evictData() {
+            synchronized (entries) {
+                entries.clear();
+            }
+        }
+
+        @Override
+        public void evictData(Object key) {
+            synchronized (entries) {
+                entries.remove(key);
+            }
+        }
+
+        @Override
+        public void release() {
+            evictData();
+        }
+
+        Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            synchronized (entries) {
+                stats.put("entries", entries.size());
+            }
+            stats.put("maxEntries", maxEntries);
+            stats.put("ttlSeconds", TimeUnit.NANOSECONDS.toSeconds(ttlNanos));
+            stats.put("sizeEvictions", sizeEvictions.sum());
+            stats.put("expirations", expirations.sum());
+            return stats;
+        }
+
+        @Override
+        public String toString() {
+            return "BoundedStorage[" + regionName + "]";
+        }
+    }
+}
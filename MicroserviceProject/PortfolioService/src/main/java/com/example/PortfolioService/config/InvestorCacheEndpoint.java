@@ -0,0 +1,31 @@
+package com.example.PortfolioService.config;
+
+import com.example.PortfolioService.client.InvestorExistenceCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/investorcache shows the investor near-cache counters; DELETE clears it.
+ */
+@Component
+@Endpoint(id = "investorcache")
+public class InvestorCacheEndpoint {
+
+    @Autowired
+    private InvestorExistenceCache investorCache;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return investorCache.stats();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        investorCache.clear();
+    }
+}
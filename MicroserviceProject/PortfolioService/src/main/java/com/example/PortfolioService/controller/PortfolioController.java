@@ -1,55 +1,170 @@
 package com.example.PortfolioService.controller;
 
-import com.example.PortfolioService.client.InvestorClient;
+import com.example.PortfolioService.client.InvestorExistenceCache;
 import com.example.PortfolioService.entity.Portfolio;
 import com.example.PortfolioService.repositiory.PortfolioRepositiory;
+import com.example.PortfolioService.service.PortfolioOutboxService;
+import com.example.PortfolioService.service.PortfolioService;
+import com.example.common.client.FeignResilience;
+import com.example.common.dto.CursorPage;
+import com.example.common.util.BlockingCallExecutor;
+import com.example.common.util.PageCursor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDate;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/portfolios")
 public class PortfolioController {
 
+    private static final int MAX_CHUNK_SIZE = 2000;
+    private static final int MAX_BATCH_IDS = 1000;
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private PortfolioRepositiory portfolioRepository;
 
     @Autowired
-    private InvestorClient investorClient;
+    private InvestorExistenceCache investorCache;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private PortfolioOutboxService outboxService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BlockingCallExecutor blockingCalls;
 
     @GetMapping("/all")
     public List<Portfolio> getAllPortfolios() {
         return portfolioRepository.findAll();
     }
 
-    @PostMapping("/submit/{investorId}")
-    public ResponseEntity<?> submitPortfolio(@PathVariable Long investorId, @RequestBody Portfolio portfolioData) {
-
-        // Validate investor exists using Investor microservice
+    /**
+     * Keyset-paginated listing ordered by id. Pass the returned {@code nextCursor} back as
+     * {@code cursor} for the next page; each page costs the same regardless of depth.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getPortfolioPage(@RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "50") int limit) {
+        long afterId;
         try {
-            InvestorClient.InvestorDto investor = investorClient.getInvestorById(investorId);
-            if (investor == null || investor.getInvestorId() == null) {
-                return ResponseEntity.badRequest().body("Error: Investor not found with ID: " + investorId);
+            afterId = cursor == null ? 0L : Long.parseLong(PageCursor.decode(cursor, 1)[0]);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+        int pageSize = PageCursor.clampLimit(limit);
+        List<Portfolio> rows = portfolioRepository
+                .findByPortfolioIdGreaterThanOrderByPortfolioIdAsc(afterId, PageRequest.of(0, pageSize + 1));
+        return ResponseEntity.ok(CursorPage.from(rows, pageSize, p -> PageCursor.encode(p.getPortfolioId())));
+    }
+
+    /**
+     * Streams every portfolio as NDJSON (one JSON object per line) straight from a DB cursor.
+     * Unlike /all, nothing is materialised as a list, so heap use does not grow with row count.
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamPortfolios() {
+        StreamingResponseBody body = out -> {
+            ObjectWriter writer = objectMapper.writerFor(Portfolio.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                portfolioService.streamAllPortfolios(p -> {
+                    try {
+                        writer.writeValue(generator, p);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
             }
-        } catch (Exception e) {
-            // If Feign can't reach investor-service OR endpoint path mismatch OR 404
-            return ResponseEntity.status(502).body(
-                    "Error: Cannot validate investorId " + investorId +
-                            " (investor-service unreachable / wrong endpoint mapping / investor does not exist)"
-            );
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    /**
+     * Returns at most {@code size} portfolios with an id greater than {@code afterId}, ordered by id.
+     * Batch jobs (e.g. the compliance audit) walk the whole book by passing the last id they received.
+     */
+    @GetMapping("/chunk")
+    public List<Portfolio> getPortfolioChunk(@RequestParam(defaultValue = "0") Long afterId,
+                                             @RequestParam(defaultValue = "500") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CHUNK_SIZE));
+        return portfolioRepository.findByPortfolioIdGreaterThanOrderByPortfolioIdAsc(afterId, PageRequest.of(0, pageSize));
+    }
+
+    /**
+     * Bulk lookup for other services: ids found in the second-level cache are served from it, the rest
+     * are loaded with batched IN queries. Unknown ids are left out of the result, which is ordered by id.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> getPortfoliosByIds(@RequestBody List<Long> ids) {
+        Set<Long> uniqueIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(TreeSet::new));
+        if (uniqueIds.size() > MAX_BATCH_IDS) {
+            return ResponseEntity.badRequest().body("Error: At most " + MAX_BATCH_IDS + " ids per batch");
         }
+        List<Portfolio> found = new ArrayList<>(portfolioService.getPortfoliosByIds(uniqueIds));
+        found.sort(Comparator.comparing(Portfolio::getPortfolioId));
+        return ResponseEntity.ok(found);
+    }
 
-        // store investorId locally (no JPA Investor object)
-        portfolioData.setInvestorId(investorId);
-        portfolioData.setStatus(Portfolio.Status.Pending);
-        portfolioData.setRequestDate(LocalDate.now());
+    /**
+     * Async: the investor-service lookup (on a cache miss) runs on {@link BlockingCallExecutor}, so the
+     * request thread is not held while investor-service answers.
+     */
+    @PostMapping("/submit/{investorId}")
+    public CompletableFuture<ResponseEntity<?>> submitPortfolio(@PathVariable Long investorId, @RequestBody Portfolio portfolioData) {
+
+        // Validate investor exists using Investor microservice (answered from the near-cache when possible)
+        return investorCache.investorExistsAsync(investorId, blockingCalls).handle((exists, error) -> {
+            if (error != null) {
+                if (BlockingCallExecutor.isRejected(error)) {
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Error: Server busy, please retry");
+                }
+                HttpStatus upstream = FeignResilience.statusOf(error);
+                if (upstream == HttpStatus.SERVICE_UNAVAILABLE) {
+                    // Circuit open / bulkhead full for investor-service (or it answered 503)
+                    return ResponseEntity.status(upstream).body("Error: investor-service unavailable, please retry");
+                }
+                if (upstream == HttpStatus.GATEWAY_TIMEOUT) {
+                    return ResponseEntity.status(upstream).body("Error: Timed out validating investorId " + investorId);
+                }
+                // If Feign can't reach investor-service OR endpoint path mismatch OR 404
+                return ResponseEntity.status(502).body(
+                        "Error: Cannot validate investorId " + investorId +
+                                " (investor-service unreachable / wrong endpoint mapping / investor does not exist)"
+                );
+            }
+            if (!exists) {
+                return ResponseEntity.badRequest().body("Error: Investor not found with ID: " + investorId);
+            }
 
-        Portfolio saved = portfolioRepository.save(portfolioData);
-        return ResponseEntity.ok(saved);
+            // store investorId locally (no JPA Investor object); the Created outbox event is written with it
+            return ResponseEntity.ok(portfolioService.createPortfolio(investorId, portfolioData));
+        });
     }
 
     @GetMapping("/investor/{investorId}")
@@ -57,64 +172,55 @@ public class PortfolioController {
         return portfolioRepository.findByInvestorId(investorId);
     }
 
+    // Mutations go through PortfolioService so each change writes its outbox event in the same transaction
     @PatchMapping("/update-status/{id}")
     public ResponseEntity<?> updateStatus(@PathVariable Long id, @RequestParam Portfolio.Status status) {
-        Optional<Portfolio> portfolioOpt = portfolioRepository.findById(id);
-
-        if (portfolioOpt.isPresent()) {
-            Portfolio existing = portfolioOpt.get();
-            existing.setStatus(status);
-            return ResponseEntity.ok(portfolioRepository.save(existing));
-        } else {
-            return ResponseEntity.notFound().build();
-        }
+        return portfolioService.updateStatus(id, status)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/update/{id}")
     public ResponseEntity<?> updatePortfolio(@PathVariable Long id, @RequestBody Portfolio updatedData) {
-        Optional<Portfolio> portfolioOpt = portfolioRepository.findById(id);
-
-        if (portfolioOpt.isPresent()) {
-            Portfolio existing = portfolioOpt.get();
-
-            existing.setPortfolioName(updatedData.getPortfolioName());
-            existing.setInvestedAmount(updatedData.getInvestedAmount());
-            existing.setRegulationType(updatedData.getRegulationType());
-
-            existing.setEquityPercentage(updatedData.getEquityPercentage());
-            existing.setBondPercentage(updatedData.getBondPercentage());
-            existing.setDerivativePercentage(updatedData.getDerivativePercentage());
-
-            existing.setQuantity(updatedData.getQuantity());
-            existing.setStatus(Portfolio.Status.Approved);
-
-            Portfolio saved = portfolioRepository.save(existing);
-            return ResponseEntity.ok(saved);
-        } else {
-            return ResponseEntity.notFound().build();
-        }
+        return portfolioService.updatePortfolio(id, updatedData)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/resubmit/{id}")
     public ResponseEntity<?> resubmitPortfolio(@PathVariable Long id, @RequestBody Portfolio updatedData) {
-        return portfolioRepository.findById(id).map(existing -> {
-
-            existing.setPortfolioName(updatedData.getPortfolioName());
-            existing.setInvestedAmount(updatedData.getInvestedAmount());
-            existing.setRegulationType(updatedData.getRegulationType());
+        return portfolioService.resubmitPortfolio(id, updatedData)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 
-            existing.setStatus(Portfolio.Status.Pending);
-            existing.setRequestDate(LocalDate.now());
+    /**
+     * Outbox feed of portfolio changes after {@code afterEventId}, oldest first.
+     * Polled by compliance-service to re-audit only the portfolios that changed, and by
+     * exposure-alert-service to evaluate exposure limits as allocations change.
+     * - {@code consumer} names the poller so the purge keeps the events it has not read yet.
+     * - 410 Gone when events after {@code afterEventId} were already purged: re-read everything,
+     *   then resume from /changes/head.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String consumer,
+                                        @RequestParam(defaultValue = "0") Long afterEventId,
+                                        @RequestParam(defaultValue = "200") int limit) {
+        try {
+            return ResponseEntity.ok(outboxService.changesAfter(consumer, afterEventId, limit));
+        } catch (PortfolioOutboxService.EventsPurgedException e) {
+            return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+        }
+    }
 
-            Portfolio saved = portfolioRepository.save(existing);
-            return ResponseEntity.ok(saved);
-        }).orElse(ResponseEntity.notFound().build());
+    @GetMapping("/changes/head")
+    public Long getChangesHead() {
+        return outboxService.headEventId();
     }
 
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<?> deletePortfolio(@PathVariable Long id) {
-        if (portfolioRepository.existsById(id)) {
-            portfolioRepository.deleteById(id);
+        if (portfolioService.deletePortfolio(id)) {
             return ResponseEntity.ok("Portfolio PF-" + id + " deleted successfully.");
         }
         return ResponseEntity.notFound().build();
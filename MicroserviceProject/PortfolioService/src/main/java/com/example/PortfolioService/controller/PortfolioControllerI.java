@@ -4,12 +4,13 @@ import com.example.PortfolioService.entity.Portfolio;
 import org.springframework.http.ResponseEntity;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface PortfolioControllerI {
 
     List<Portfolio> getAllPortfolios();
 
-    ResponseEntity<?> submitPortfolio(Long investorId, Portfolio portfolioData);
+    CompletableFuture<ResponseEntity<?>> submitPortfolio(Long investorId, Portfolio portfolioData);
 
     List<Portfolio> getInvestorPortfolios(Long investorId);
 
@@ -0,0 +1,43 @@
+package com.example.PortfolioService.dto;
+
+import com.example.PortfolioService.entity.Portfolio;
+import com.example.PortfolioService.entity.PortfolioOutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * One outbox event as served to pollers, with the portfolio's current state attached
+ * (null when the portfolio has since been deleted).
+ */
+public class PortfolioChange {
+    private Long eventId;
+    private Long portfolioId;
+    private PortfolioOutboxEvent.ChangeType changeType;
+    private LocalDateTime createdAt;
+    private Portfolio portfolio;
+
+    public PortfolioChange() {}
+
+    public PortfolioChange(PortfolioOutboxEvent event, Portfolio portfolio) {
+        this.eventId = event.getEventId();
+        this.portfolioId = event.getPortfolioId();
+        this.changeType = event.getChangeType();
+        this.createdAt = event.getCreatedAt();
+        this.portfolio = portfolio;
+    }
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public Long getPortfolioId() { return portfolioId; }
+    public void setPortfolioId(Long portfolioId) { this.portfolioId = portfolioId; }
+
+    public PortfolioOutboxEvent.ChangeType getChangeType() { return changeType; }
+    public void setChangeType(PortfolioOutboxEvent.ChangeType changeType) { this.changeType = changeType; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public Portfolio getPortfolio() { return portfolio; }
+    public void setPortfolio(Portfolio portfolio) { this.portfolio = portfolio; }
+}
@@ -5,11 +5,16 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
+// Second-level cached (BoundedCacheRegionFactory); updates and deletes through JPA keep the region in step
 @Entity
 @Table(name = "portfolio")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "portfolio")
 @Getter
 @Setter
 @NoArgsConstructor
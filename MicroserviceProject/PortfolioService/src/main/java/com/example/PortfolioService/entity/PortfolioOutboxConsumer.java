@@ -0,0 +1,30 @@
+package com.example.PortfolioService.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last position a named consumer polled the outbox from (its afterEventId): it has everything up to here.
+ * The purge never deletes past the slowest consumer that is still polling.
+ */
+@Entity
+@Table(name = "portfolio_outbox_consumer")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PortfolioOutboxConsumer {
+
+    @Id
+    @Column(length = 100)
+    private String consumer;
+
+    @Column(nullable = false)
+    private Long lastEventId;
+
+    @Column(nullable = false)
+    private LocalDateTime lastPolledAt;
+}
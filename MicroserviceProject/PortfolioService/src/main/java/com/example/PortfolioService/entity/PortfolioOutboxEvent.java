@@ -0,0 +1,45 @@
+package com.example.PortfolioService.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transactional outbox row written in the same transaction as a portfolio change.
+ * Downstream services (compliance) poll these in eventId order instead of re-reading the whole book.
+ */
+@Entity
+@Table(name = "portfolio_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PortfolioOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long portfolioId;
+
+    // Plain varchar, not a MySQL ENUM, so adding a change type needs no ALTER (same as the reactive schema.sql)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "VARCHAR(255)")
+    private ChangeType changeType;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum ChangeType {
+        Created, Updated, Resubmitted, StatusChanged, Deleted
+    }
+
+    public PortfolioOutboxEvent(Long portfolioId, ChangeType changeType) {
+        this.portfolioId = portfolioId;
+        this.changeType = changeType;
+        this.createdAt = LocalDateTime.now();
+    }
+}
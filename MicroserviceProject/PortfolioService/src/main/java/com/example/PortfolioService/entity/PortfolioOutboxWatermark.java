@@ -0,0 +1,34 @@
+package com.example.PortfolioService.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Highest outbox eventId deleted by the purge. A consumer polling from below it has missed events
+ * and is told to start over (410 on /changes).
+ */
+@Entity
+@Table(name = "portfolio_outbox_watermark")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioOutboxWatermark {
+
+    public static final String PURGED = "purged";
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
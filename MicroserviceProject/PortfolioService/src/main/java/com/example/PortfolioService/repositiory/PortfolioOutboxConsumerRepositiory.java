@@ -0,0 +1,27 @@
+package com.example.PortfolioService.repositiory;
+
+import com.example.PortfolioService.entity.PortfolioOutboxConsumer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface PortfolioOutboxConsumerRepositiory extends JpaRepository<PortfolioOutboxConsumer, String> {
+
+    // One round trip per poll, no read-then-write race between instances of the same consumer
+    @Modifying
+    @Query(value = "INSERT INTO portfolio_outbox_consumer (consumer, last_event_id, last_polled_at) " +
+            "VALUES (:consumer, :eventId, :polledAt) " +
+            "ON DUPLICATE KEY UPDATE last_event_id = VALUES(last_event_id), last_polled_at = VALUES(last_polled_at)",
+            nativeQuery = true)
+    int recordPosition(@Param("consumer") String consumer,
+                       @Param("eventId") Long eventId,
+                       @Param("polledAt") LocalDateTime polledAt);
+
+    @Query("select min(c.lastEventId) from PortfolioOutboxConsumer c where c.lastPolledAt >= :since")
+    Long findSlowestPositionPolledSince(@Param("since") LocalDateTime since);
+}
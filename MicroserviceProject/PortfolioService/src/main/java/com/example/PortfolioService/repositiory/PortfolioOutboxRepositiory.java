@@ -0,0 +1,25 @@
+package com.example.PortfolioService.repositiory;
+
+import com.example.PortfolioService.entity.PortfolioOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PortfolioOutboxRepositiory extends JpaRepository<PortfolioOutboxEvent, Long> {
+
+    List<PortfolioOutboxEvent> findByEventIdGreaterThanOrderByEventIdAsc(Long afterEventId, Pageable pageable);
+
+    @Query("select max(e.eventId) from PortfolioOutboxEvent e where e.createdAt < :before")
+    Long findMaxEventIdCreatedBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("delete from PortfolioOutboxEvent e where e.eventId <= :eventId")
+    int deleteThrough(@Param("eventId") Long eventId);
+}
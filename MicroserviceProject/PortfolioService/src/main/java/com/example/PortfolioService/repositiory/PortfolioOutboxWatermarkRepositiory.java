@@ -0,0 +1,9 @@
+package com.example.PortfolioService.repositiory;
+
+import com.example.PortfolioService.entity.PortfolioOutboxWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PortfolioOutboxWatermarkRepositiory extends JpaRepository<PortfolioOutboxWatermark, String> {
+}
@@ -1,17 +1,44 @@
 package com.example.PortfolioService.repositiory;
 
 import com.example.PortfolioService.entity.Portfolio;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PortfolioRepositiory extends JpaRepository<Portfolio, Long> {
 
     // Old (monolith / JPA relation): findByInvestorInvestorId(Long investorId);
     // New (microservices / FK field):
+    // Query-cached: ids come from the cache region, rows from the portfolio entity cache. Any write to the
+    // portfolio table bumps its update timestamp, which invalidates the cached results.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "portfolio-by-investor")
+    })
     List<Portfolio> findByInvestorId(Long investorId);
 
     List<Portfolio> findByPortfolioNameContainingIgnoreCase(String name);
+
+    // Keyset chunk for batch consumers: rows strictly after the given id, in primary-key order.
+    // Scans bypass the second-level cache so they do not push hot portfolios out of it.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<Portfolio> findByPortfolioIdGreaterThanOrderByPortfolioIdAsc(Long afterId, Pageable pageable);
+
+    // Cursor-backed stream for exports; must be consumed inside a transaction and closed.
+    // The fetch size only takes effect with useCursorFetch=true on the MySQL JDBC URL.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select p from Portfolio p order by p.portfolioId")
+    Stream<Portfolio> streamAll();
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.example.PortfolioService.service;
+
+import com.example.PortfolioService.dto.PortfolioChange;
+import com.example.PortfolioService.entity.Portfolio;
+import com.example.PortfolioService.entity.PortfolioOutboxEvent;
+import com.example.PortfolioService.entity.PortfolioOutboxWatermark;
+import com.example.PortfolioService.repositiory.PortfolioOutboxConsumerRepositiory;
+import com.example.PortfolioService.repositiory.PortfolioOutboxRepositiory;
+import com.example.PortfolioService.repositiory.PortfolioOutboxWatermarkRepositiory;
+import com.example.PortfolioService.repositiory.PortfolioRepositiory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ordered feed of portfolio changes (GET /api/portfolios/changes).
+ * - eventIds are AUTO_INCREMENT values, taken at insert but visible only at commit, so a lower id can
+ *   show up after a higher one was served. A page stops before a missing id until the event after it is
+ *   {@code gap-timeout-ms} old; a transaction still open by then is taken to have rolled back.
+ *   The timeout must exceed the longest portfolio write transaction.
+ * - Consumers name themselves on each poll and their position is recorded. The purge deletes events past
+ *   the retention period only up to the slowest consumer polled within {@code consumer-expiry-days}.
+ * - Polling from below the purged range fails with {@link EventsPurgedException}; the consumer must re-read
+ *   every portfolio and resume from {@link #headEventId()}.
+ */
+@Service
+public class PortfolioOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioOutboxService.class);
+    private static final int MAX_BATCH = 1000;
+
+    @Autowired
+    private PortfolioOutboxRepositiory outboxRepository;
+
+    @Autowired
+    private PortfolioOutboxConsumerRepositiory consumerRepository;
+
+    @Autowired
+    private PortfolioOutboxWatermarkRepositiory watermarkRepository;
+
+    @Autowired
+    private PortfolioRepositiory portfolioRepository;
+
+    @Value("${portfolio.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${portfolio.outbox.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+
+    @Value("${portfolio.outbox.consumer-expiry-days:30}")
+    private int consumerExpiryDays;
+
+    public static class EventsPurgedException extends RuntimeException {
+        public EventsPurgedException(long afterEventId, long purgedThrough) {
+            super("Outbox events after " + afterEventId + " up to " + purgedThrough + " were purged");
+        }
+    }
+
+    // Must join the caller's transaction so the event commits (or rolls back) with the portfolio change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long portfolioId, PortfolioOutboxEvent.ChangeType changeType) {
+        outboxRepository.save(new PortfolioOutboxEvent(portfolioId, changeType));
+    }
+
+    @Transactional
+    public List<PortfolioChange> changesAfter(String consumer, Long afterEventId, int limit) {
+        long purgedThrough = purgedThrough();
+        if (afterEventId < purgedThrough) {
+            throw new EventsPurgedException(afterEventId, purgedThrough);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (consumer != null && !consumer.isBlank()) {
+            consumerRepository.recordPosition(consumer, afterEventId, now);
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_BATCH));
+        List<PortfolioOutboxEvent> events = settledPrefix(
+                outboxRepository.findByEventIdGreaterThanOrderByEventIdAsc(afterEventId, PageRequest.of(0, pageSize)),
+                Math.max(afterEventId, purgedThrough), now.minusNanos(gapTimeoutMs * 1_000_000));
+
+        // Attach current state with one query for the whole page
+        Map<Long, Portfolio> portfolios = portfolioRepository
+                .findAllById(events.stream().map(PortfolioOutboxEvent::getPortfolioId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Portfolio::getPortfolioId, Function.identity()));
+
+        return events.stream()
+                .map(e -> new PortfolioChange(e, portfolios.get(e.getPortfolioId())))
+                .toList();
+    }
+
+    /**
+     * Position to resume from after re-reading every portfolio: the newest event whose lower ids are all
+     * settled (committed, or older than the gap timeout), or the purge watermark if there is none.
+     */
+    @Transactional(readOnly = true)
+    public long headEventId() {
+        Long settled = outboxRepository.findMaxEventIdCreatedBefore(LocalDateTime.now().minusNanos(gapTimeoutMs * 1_000_000));
+        return Math.max(settled != null ? settled : 0L, purgedThrough());
+    }
+
+    /**
+     * Leading run of {@code events} with no missing id after {@code lastSeen}, except gaps whose next event
+     * was created before {@code settledBefore}.
+     */
+    public static List<PortfolioOutboxEvent> settledPrefix(List<PortfolioOutboxEvent> events, long lastSeen,
+                                                           LocalDateTime settledBefore) {
+        long expected = lastSeen + 1;
+        for (int i = 0; i < events.size(); i++) {
+            PortfolioOutboxEvent event = events.get(i);
+            if (event.getEventId() != expected && event.getCreatedAt().isAfter(settledBefore)) {
+                return events.subList(0, i);
+            }
+            expected = event.getEventId() + 1;
+        }
+        return events;
+    }
+
+    @Scheduled(cron = "${portfolio.outbox.purge-cron:0 30 2 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        Long purgeThrough = outboxRepository.findMaxEventIdCreatedBefore(now.minusDays(retentionDays));
+        if (purgeThrough == null) {
+            return;
+        }
+        // A consumer silent for consumer-expiry-days no longer holds events back; it gets a 410 when it returns
+        Long slowest = consumerRepository.findSlowestPositionPolledSince(now.minusDays(consumerExpiryDays));
+        if (slowest != null) {
+            purgeThrough = Math.min(purgeThrough, slowest);
+        }
+        PortfolioOutboxWatermark watermark = watermarkRepository.findById(PortfolioOutboxWatermark.PURGED)
+                .orElseGet(() -> new PortfolioOutboxWatermark(PortfolioOutboxWatermark.PURGED, 0L, now));
+        if (purgeThrough <= watermark.getEventId()) {
+            return;
+        }
+        int deleted = outboxRepository.deleteThrough(purgeThrough);
+        watermark.setEventId(purgeThrough);
+        watermark.setUpdatedAt(now);
+        watermarkRepository.save(watermark);
+        log.info("Purged {} outbox events through eventId {}", deleted, purgeThrough);
+    }
+
+    private long purgedThrough() {
+        return watermarkRepository.findById(PortfolioOutboxWatermark.PURGED)
+                .map(PortfolioOutboxWatermark::getEventId)
+                .orElse(0L);
+    }
+}
@@ -1,14 +1,26 @@
 package com.example.PortfolioService.service;
 
-import com.example.PortfolioService.client.InvestorClient;
+import com.example.PortfolioService.client.InvestorExistenceCache;
 import com.example.PortfolioService.entity.Portfolio;
+import com.example.PortfolioService.entity.PortfolioOutboxEvent;
 import com.example.PortfolioService.repositiory.PortfolioRepositiory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class PortfolioService {
@@ -17,37 +29,98 @@ public class PortfolioService {
     private PortfolioRepositiory portfolioRepository;
 
     @Autowired
-    private InvestorClient investorClient;
+    private InvestorExistenceCache investorCache;
+
+    @Autowired
+    private PortfolioOutboxService outboxService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public List<Portfolio> getAllPortfolios() {
         return portfolioRepository.findAll();
     }
 
+    /**
+     * Hands every portfolio to {@code sink} one row at a time from a database cursor.
+     * Each entity is detached once consumed so the persistence context stays empty and
+     * memory is flat regardless of table size. Returns the number of rows streamed.
+     */
+    @Transactional(readOnly = true)
+    public long streamAllPortfolios(Consumer<Portfolio> sink) {
+        long count = 0;
+        try (Stream<Portfolio> portfolios = portfolioRepository.streamAll()) {
+            Iterator<Portfolio> it = portfolios.iterator();
+            while (it.hasNext()) {
+                Portfolio p = it.next();
+                sink.accept(p);
+                entityManager.detach(p);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Bulk lookup by id that answers from the second-level cache where it can and loads only the
+     * misses from the database (unlike findAllById, whose IN query always goes to MySQL).
+     * Unknown ids are left out of the result.
+     */
+    @Transactional(readOnly = true)
+    public List<Portfolio> getPortfoliosByIds(Collection<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Portfolio.class)
+                .multiLoad(new ArrayList<>(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Validates the investor before any transaction starts: investor-service may be called, and no
+     * connection is held while it answers. Only the insert and its outbox event are transactional.
+     */
     public Portfolio submitPortfolio(Long investorId, Portfolio portfolioData) {
-        InvestorClient.InvestorDto investor = investorClient.getInvestorById(investorId);
-        
-        if (investor == null || investor.getInvestorId() == null) {
+        if (!investorCache.investorExists(investorId)) {
             throw new IllegalArgumentException("Investor not found with ID: " + investorId);
         }
+        return createPortfolio(investorId, portfolioData);
+    }
 
-        portfolioData.setInvestorId(investorId);
-        portfolioData.setStatus(Portfolio.Status.Pending);
-        portfolioData.setRequestDate(LocalDate.now());
-
-        return portfolioRepository.save(portfolioData);
+    /**
+     * Inserts a Pending portfolio for an investor the caller has already validated, and records its
+     * Created event in the same transaction.
+     */
+    public Portfolio createPortfolio(Long investorId, Portfolio portfolioData) {
+        return transactionTemplate.execute(status -> {
+            portfolioData.setInvestorId(investorId);
+            portfolioData.setStatus(Portfolio.Status.Pending);
+            portfolioData.setRequestDate(LocalDate.now());
+
+            Portfolio saved = portfolioRepository.save(portfolioData);
+            outboxService.record(saved.getPortfolioId(), PortfolioOutboxEvent.ChangeType.Created);
+            return saved;
+        });
     }
 
     public List<Portfolio> getInvestorPortfolios(Long investorId) {
         return portfolioRepository.findByInvestorId(investorId);
     }
 
+    @Transactional
     public Optional<Portfolio> updateStatus(Long id, Portfolio.Status status) {
         return portfolioRepository.findById(id).map(existing -> {
             existing.setStatus(status);
-            return portfolioRepository.save(existing);
+            Portfolio saved = portfolioRepository.save(existing);
+            outboxService.record(saved.getPortfolioId(), PortfolioOutboxEvent.ChangeType.StatusChanged);
+            return saved;
         });
     }
 
+    @Transactional
     public Optional<Portfolio> updatePortfolio(Long id, Portfolio updatedData) {
         return portfolioRepository.findById(id).map(existing -> {
             existing.setPortfolioName(updatedData.getPortfolioName());
@@ -59,10 +132,13 @@ public class PortfolioService {
             existing.setQuantity(updatedData.getQuantity());
             existing.setStatus(Portfolio.Status.Approved);
 
-            return portfolioRepository.save(existing);
+            Portfolio saved = portfolioRepository.save(existing);
+            outboxService.record(saved.getPortfolioId(), PortfolioOutboxEvent.ChangeType.Updated);
+            return saved;
         });
     }
 
+    @Transactional
     public Optional<Portfolio> resubmitPortfolio(Long id, Portfolio updatedData) {
         return portfolioRepository.findById(id).map(existing -> {
             existing.setPortfolioName(updatedData.getPortfolioName());
@@ -71,13 +147,17 @@ public class PortfolioService {
             existing.setStatus(Portfolio.Status.Pending);
             existing.setRequestDate(LocalDate.now());
 
-            return portfolioRepository.save(existing);
+            Portfolio saved = portfolioRepository.save(existing);
+            outboxService.record(saved.getPortfolioId(), PortfolioOutboxEvent.ChangeType.Resubmitted);
+            return saved;
         });
     }
 
+    @Transactional
     public boolean deletePortfolio(Long id) {
         if (portfolioRepository.existsById(id)) {
             portfolioRepository.deleteById(id);
+            outboxService.record(id, PortfolioOutboxEvent.ChangeType.Deleted);
             return true;
         }
         return false;
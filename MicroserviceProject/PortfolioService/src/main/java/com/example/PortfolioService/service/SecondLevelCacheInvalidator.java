@@ -0,0 +1,78 @@
+package com.example.PortfolioService.service;
+
+import com.example.PortfolioService.entity.Portfolio;
+import com.example.PortfolioService.entity.PortfolioOutboxEvent;
+import com.example.PortfolioService.repositiory.PortfolioOutboxRepositiory;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the in-process second-level cache in step with portfolio writes made by other instances (or the
+ * reactive deployment): every instance tails the outbox and evicts each changed portfolio, plus the
+ * portfolio-by-investor query region, which cannot be evicted per investor.
+ * - Staleness is bounded by {@code portfolio.cache.invalidation.poll-ms} instead of the cache TTL.
+ * - Events past a missing eventId are evicted again on every poll until the gap is settled (same rule as
+ *   /changes), so a late commit is not missed.
+ * - This instance's own writes are evicted too; that costs one extra read per write.
+ */
+@Service
+@ConditionalOnProperty(name = "portfolio.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheInvalidator {
+
+    private static final Logger log = LoggerFactory.getLogger(SecondLevelCacheInvalidator.class);
+    private static final String QUERY_REGION = "portfolio-by-investor";
+    private static final int BATCH = 1000;
+
+    @Autowired
+    private PortfolioOutboxRepositiory outboxRepository;
+
+    @Autowired
+    private PortfolioOutboxService outboxService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${portfolio.outbox.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+
+    private long afterEventId;
+
+    @PostConstruct
+    void start() {
+        // Nothing is cached yet; start at the settled head so changes still being committed are seen
+        afterEventId = outboxService.headEventId();
+    }
+
+    @Scheduled(fixedDelayString = "${portfolio.cache.invalidation.poll-ms:1000}")
+    public void evictChanged() {
+        List<PortfolioOutboxEvent> events = outboxRepository
+                .findByEventIdGreaterThanOrderByEventIdAsc(afterEventId, PageRequest.of(0, BATCH));
+        if (events.isEmpty()) {
+            return;
+        }
+        for (PortfolioOutboxEvent event : events) {
+            entityManagerFactory.getCache().evict(Portfolio.class, event.getPortfolioId());
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(QUERY_REGION);
+
+        List<PortfolioOutboxEvent> settled = PortfolioOutboxService.settledPrefix(events, afterEventId,
+                LocalDateTime.now().minusNanos(gapTimeoutMs * 1_000_000));
+        if (!settled.isEmpty()) {
+            afterEventId = settled.get(settled.size() - 1).getEventId();
+        }
+        log.debug("Evicted {} changed portfolios from the second-level cache, now after event {}",
+                events.size(), afterEventId);
+    }
+}
@@ -8,6 +8,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -34,9 +36,9 @@ class PortfolioControllerInterfaceTest {
         savedPortfolio.setPortfolioId(1L);
 
         when(portfolioControllerI.submitPortfolio(anyLong(), any(Portfolio.class)))
-            .thenAnswer(invocation -> ResponseEntity.status(HttpStatus.OK).body(savedPortfolio));
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.OK).body(savedPortfolio)));
 
-        ResponseEntity<?> response = portfolioControllerI.submitPortfolio(1L, portfolio);
+        ResponseEntity<?> response = portfolioControllerI.submitPortfolio(1L, portfolio).join();
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCode().value());
@@ -49,9 +51,10 @@ class PortfolioControllerInterfaceTest {
         portfolio.setPortfolioName("Test Portfolio");
 
         when(portfolioControllerI.submitPortfolio(anyLong(), any(Portfolio.class)))
-            .thenAnswer(invocation -> ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: Investor not found with ID: 999"));
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: Investor not found with ID: 999")));
 
-        ResponseEntity<?> response = portfolioControllerI.submitPortfolio(999L, portfolio);
+        ResponseEntity<?> response = portfolioControllerI.submitPortfolio(999L, portfolio).join();
 
         assertEquals(400, response.getStatusCode().value());
         verify(portfolioControllerI, times(1)).submitPortfolio(anyLong(), any(Portfolio.class));
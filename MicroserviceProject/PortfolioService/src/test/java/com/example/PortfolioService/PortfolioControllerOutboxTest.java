@@ -0,0 +1,105 @@
+package com.example.PortfolioService;
+
+import com.example.PortfolioService.client.InvestorClient;
+import com.example.PortfolioService.entity.Portfolio;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Submits and deletes over HTTP must write their outbox events, or compliance and exposure never see them.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:portfoliodb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "portfolio.cache.invalidation.enabled=false",
+        "security.access-token.jwks-uris=",
+        "security.access-token.required=false"
+})
+@AutoConfigureMockMvc
+class PortfolioControllerOutboxTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private InvestorClient investorClient;
+
+    private static Portfolio newPortfolio(String name) {
+        Portfolio portfolio = new Portfolio();
+        portfolio.setPortfolioName(name);
+        portfolio.setInvestedAmount(100000.0);
+        portfolio.setRegulationType("SEBI");
+        return portfolio;
+    }
+
+    private static InvestorClient.InvestorDto investor(Long id) {
+        InvestorClient.InvestorDto dto = new InvestorClient.InvestorDto();
+        dto.setInvestorId(id);
+        return dto;
+    }
+
+    private Portfolio submit(Long investorId, String name) throws Exception {
+        MvcResult pending = mockMvc.perform(post("/api/portfolios/submit/{investorId}", investorId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newPortfolio(name))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), Portfolio.class);
+    }
+
+    @Test
+    void testSubmitWritesCreatedChange() throws Exception {
+        when(investorClient.getInvestorById(1L)).thenReturn(investor(1L));
+
+        Portfolio saved = submit(1L, "Growth");
+
+        mockMvc.perform(get("/api/portfolios/changes?afterEventId=0&limit=1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.portfolioId == %d)].changeType", saved.getPortfolioId()).value(hasItem("Created")));
+    }
+
+    @Test
+    void testDeleteWritesDeletedChange() throws Exception {
+        when(investorClient.getInvestorById(2L)).thenReturn(investor(2L));
+        Portfolio saved = submit(2L, "Income");
+
+        mockMvc.perform(delete("/api/portfolios/delete/{id}", saved.getPortfolioId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/portfolios/changes?afterEventId=0&limit=1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.portfolioId == %d)].changeType", saved.getPortfolioId()).value(hasItem("Deleted")));
+    }
+
+    @Test
+    void testDeleteUnknownPortfolio() throws Exception {
+        mockMvc.perform(delete("/api/portfolios/delete/424242"))
+                .andExpect(status().isNotFound());
+    }
+}
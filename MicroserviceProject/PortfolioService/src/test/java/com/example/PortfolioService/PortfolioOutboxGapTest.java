@@ -0,0 +1,67 @@
+package com.example.PortfolioService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.PortfolioService.entity.PortfolioOutboxEvent;
+import com.example.PortfolioService.service.PortfolioOutboxService;
+
+/**
+ * A /changes page must not run past an eventId that may still be committed, or that event is skipped forever.
+ */
+class PortfolioOutboxGapTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+    private static final LocalDateTime SETTLED_BEFORE = NOW.minusSeconds(60);
+
+    @Test
+    void testContiguousPageIsServedWhole() {
+        List<PortfolioOutboxEvent> events = List.of(event(11, NOW), event(12, NOW), event(13, NOW));
+
+        assertEquals(ids(events), ids(PortfolioOutboxService.settledPrefix(events, 10, SETTLED_BEFORE)));
+    }
+
+    @Test
+    void testPageStopsBeforeRecentGap() {
+        // 12 is taken by a transaction that has not committed yet
+        List<PortfolioOutboxEvent> events = List.of(event(11, NOW), event(13, NOW), event(14, NOW));
+
+        assertEquals(List.of(11L), ids(PortfolioOutboxService.settledPrefix(events, 10, SETTLED_BEFORE)));
+    }
+
+    @Test
+    void testGapRightAfterPositionServesNothing() {
+        List<PortfolioOutboxEvent> events = List.of(event(12, NOW));
+
+        assertEquals(List.of(), ids(PortfolioOutboxService.settledPrefix(events, 10, SETTLED_BEFORE)));
+    }
+
+    @Test
+    void testSettledGapIsSkipped() {
+        // 12 rolled back: the event after it is older than the gap timeout
+        List<PortfolioOutboxEvent> events = List.of(event(11, NOW.minusMinutes(5)), event(13, NOW.minusMinutes(2)),
+                event(15, NOW));
+
+        assertEquals(List.of(11L, 13L), ids(PortfolioOutboxService.settledPrefix(events, 10, SETTLED_BEFORE)));
+    }
+
+    @Test
+    void testEmptyPage() {
+        assertEquals(List.of(), ids(PortfolioOutboxService.settledPrefix(List.of(), 10, SETTLED_BEFORE)));
+    }
+
+    private static PortfolioOutboxEvent event(long eventId, LocalDateTime createdAt) {
+        PortfolioOutboxEvent event = new PortfolioOutboxEvent(1L, PortfolioOutboxEvent.ChangeType.Updated);
+        event.setEventId(eventId);
+        event.setCreatedAt(createdAt);
+        return event;
+    }
+
+    private static List<Long> ids(List<PortfolioOutboxEvent> events) {
+        return events.stream().map(PortfolioOutboxEvent::getEventId).toList();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.PortfolioServiceReactive;
+
+import com.example.common.client.ServiceTokenSource;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Reactive deployment of portfolio-service: the same /api/portfolios contract on WebFlux and R2DBC,
+ * registered under the same service id, so it can replace (or run beside) the servlet version.
+ */
+@SpringBootApplication
+@Import(ServiceTokenSource.class)
+@EnableDiscoveryClient
+@EnableScheduling
+public class PortfolioServiceReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(PortfolioServiceReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.example.PortfolioServiceReactive.client;
+
+import com.example.common.client.ServiceTokenSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Non-blocking client for investor-service, resolved through Eureka by the load-balanced
+ * WebClient.Builder (see WebClientConfig). Calls carry this service's token from ServiceTokenSource,
+ * as investor-service requires one.
+ */
+@Component
+public class InvestorClient {
+
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final ServiceTokenSource serviceTokens;
+
+    @Autowired
+    public InvestorClient(WebClient.Builder loadBalancedBuilder, ServiceTokenSource serviceTokens,
+                          @Value("${services.investor.base-url:http://investor-service}") String baseUrl,
+                          @Value("${services.investor.timeout-ms:3000}") long timeoutMs) {
+        this.webClient = loadBalancedBuilder.baseUrl(baseUrl).build();
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.serviceTokens = serviceTokens;
+    }
+
+    /**
+     * Empty when investor-service answers 404; errors on any other failure (unreachable, 5xx, timeout).
+     */
+    public Mono<InvestorDto> getInvestorById(Long id) {
+        return serviceToken().flatMap(token -> webClient.get()
+                .uri("/api/investors/{id}", id)
+                .headers(headers -> token.ifPresent(headers::setBearerAuth))
+                .retrieve()
+                .bodyToMono(InvestorDto.class)
+                .timeout(timeout)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty()));
+    }
+
+    // A token fetch blocks, so it runs off the event loop; cached tokens come back at once
+    private Mono<Optional<String>> serviceToken() {
+        if (!serviceTokens.isConfigured()) {
+            return Mono.just(Optional.empty());
+        }
+        return Mono.fromCallable(() -> Optional.of(serviceTokens.token())).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public static class InvestorDto {
+        private Long investorId;
+        private String fullName;
+        private String email;
+        private String phoneNumber;
+
+        public Long getInvestorId() { return investorId; }
+        public void setInvestorId(Long investorId) { this.investorId = investorId; }
+
+        public String getFullName() { return fullName; }
+        public void setFullName(String fullName) { this.fullName = fullName; }
+
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+
+        public String getPhoneNumber() { return phoneNumber; }
+        public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+    }
+}
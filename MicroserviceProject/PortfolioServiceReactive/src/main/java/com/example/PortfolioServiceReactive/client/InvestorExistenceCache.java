@@ -0,0 +1,153 @@
+package com.example.PortfolioServiceReactive.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Near-cache in front of {@link InvestorClient} for the "does this investor exist" check on submit,
+ * with the same rules as portfolio-service's cache:
+ * - known investors are remembered for {@code ttl-seconds}, 404s for {@code negative-ttl-seconds};
+ * - at most {@code max-size} ids, least recently used evicted first;
+ * - errors other than 404 are never cached and are propagated.
+ * Hits complete immediately; concurrent misses for the same id share one investor-service call.
+ */
+@Component
+public class InvestorExistenceCache {
+
+    private final InvestorClient investorClient;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    // Guarded by itself; access-ordered so iteration starts at the least recently used entry.
+    // Only held for map operations, never across the remote call, so event-loop threads do not wait on it.
+    private final LinkedHashMap<Long, Entry> entries;
+    private final Map<Long, Mono<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sharedMisses = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private record Entry(boolean exists, long expiresAt) {
+    }
+
+    @Autowired
+    public InvestorExistenceCache(InvestorClient investorClient,
+                                  @Value("${portfolio.investor-cache.max-size:10000}") int maxSize,
+                                  @Value("${portfolio.investor-cache.ttl-seconds:600}") long ttlSeconds,
+                                  @Value("${portfolio.investor-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.investorClient = investorClient;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.negativeTtlNanos = TimeUnit.SECONDS.toNanos(negativeTtlSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > InvestorExistenceCache.this.maxSize) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Whether investor-service knows the investor; fails with the WebClient error if it could not answer.
+     */
+    public Mono<Boolean> investorExists(Long investorId) {
+        return Mono.defer(() -> {
+            Boolean cached = cachedExists(investorId);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            boolean[] created = {false};
+            Mono<Boolean> lookup = inFlight.computeIfAbsent(investorId, id -> {
+                created[0] = true;
+                return fetchAndCache(id)
+                        .doFinally(signal -> inFlight.remove(id))
+                        .cache();
+            });
+            if (!created[0]) {
+                sharedMisses.increment();
+            }
+            return lookup;
+        });
+    }
+
+    // Null when the id is not cached (or its entry expired)
+    private Boolean cachedExists(Long investorId) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry cached = entries.get(investorId);
+            if (cached != null) {
+                if (now - cached.expiresAt() < 0) {
+                    (cached.exists() ? hits : negativeHits).increment();
+                    return cached.exists();
+                }
+                entries.remove(investorId);
+                expirations.increment();
+            }
+        }
+        return null;
+    }
+
+    private Mono<Boolean> fetchAndCache(Long investorId) {
+        return Mono.defer(() -> {
+            misses.increment();
+            return investorClient.getInvestorById(investorId)
+                    .map(investor -> investor.getInvestorId() != null)
+                    .defaultIfEmpty(false)
+                    .doOnNext(exists -> {
+                        Entry entry = new Entry(exists, System.nanoTime() + (exists ? ttlNanos : negativeTtlNanos));
+                        synchronized (entries) {
+                            entries.put(investorId, entry);
+                        }
+                    });
+        });
+    }
+
+    public void invalidate(Long investorId) {
+        synchronized (entries) {
+            entries.remove(investorId);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum() + negativeHits.sum();
+        long lookups = hitCount + misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hits.sum());
+        stats.put("negativeHits", negativeHits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("sharedMisses", sharedMisses.sum());
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("sizeEvictions", sizeEvictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+}
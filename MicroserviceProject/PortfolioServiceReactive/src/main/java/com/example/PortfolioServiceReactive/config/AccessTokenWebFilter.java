@@ -0,0 +1,91 @@
+package com.example.PortfolioServiceReactive.config;
+
+import com.example.common.util.AccessTokenVerifier;
+import com.example.common.util.JwksKeySet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of the shared AccessTokenFilter: verifies bearer access tokens locally.
+ * - A request carrying a token that is invalid or expired is answered 401.
+ * - A request without a token is answered 401 too, unless {@code security.access-token.required=false}.
+ * - Paths under {@code open-paths} (public endpoints only, e.g. /actuator/health) are not checked at all.
+ * There is no switch to turn verification off: a token that is sent is always checked.
+ * The subject and role of a verified token are left in exchange attributes.
+ * Issuer public keys come from {@code security.access-token.jwks-uris}; JwksKeySet fetches them off the event loop.
+ */
+@Component
+public class AccessTokenWebFilter implements WebFilter {
+
+    public static final String SUBJECT_ATTR = AccessTokenWebFilter.class.getName() + ".subject";
+    public static final String ROLE_ATTR = AccessTokenWebFilter.class.getName() + ".role";
+
+    private final JwksKeySet keySet;
+    private final AccessTokenVerifier verifier;
+    private final boolean required;
+    private final List<String> openPaths;
+
+    public AccessTokenWebFilter(ObjectMapper objectMapper,
+                                @Value("${security.access-token.jwks-uris:}") String[] jwksUris,
+                                @Value("${security.access-token.jwks-refresh-seconds:300}") long jwksRefreshSeconds,
+                                @Value("${security.access-token.jwks-min-refetch-seconds:10}") long jwksMinRefetchSeconds,
+                                @Value("${security.access-token.clock-skew-seconds:30}") long clockSkewSeconds,
+                                @Value("${security.access-token.required:true}") boolean required,
+                                @Value("${security.access-token.open-paths:/actuator/health}") String[] openPaths) {
+        this.keySet = new JwksKeySet(objectMapper, Arrays.stream(jwksUris).map(String::trim).filter(u -> !u.isEmpty())
+                .map(URI::create).toList(), jwksRefreshSeconds, jwksMinRefetchSeconds);
+        this.keySet.start();
+        this.verifier = new AccessTokenVerifier(keySet::find, objectMapper, clockSkewSeconds);
+        this.required = required;
+        this.openPaths = Arrays.stream(openPaths).map(String::trim).filter(p -> !p.isEmpty()).toList();
+    }
+
+    @PreDestroy
+    public void close() {
+        keySet.close();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (openPaths.stream().anyMatch(path::startsWith)) {
+            return chain.filter(exchange);
+        }
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return required ? unauthorized(exchange) : chain.filter(exchange);
+        }
+        Map<String, Object> claims;
+        try {
+            // One ECDSA verify against a cached key, no I/O: fine on the event loop
+            claims = verifier.verify(header.substring(7).trim());
+        } catch (AccessTokenVerifier.InvalidTokenException e) {
+            return unauthorized(exchange);
+        }
+        if (claims.get("sub") != null) {
+            exchange.getAttributes().put(SUBJECT_ATTR, claims.get("sub"));
+        }
+        if (claims.get("role") != null) {
+            exchange.getAttributes().put(ROLE_ATTR, claims.get("role"));
+        }
+        return chain.filter(exchange);
+    }
+
+    private static Mono<Void> unauthorized(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.PortfolioServiceReactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorResourceFactory;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Fixes the number of Reactor Netty event-loop threads ({@code portfolio.reactive.event-loop-threads})
+ * used by both the HTTP server and the outbound WebClient, and bounds the outbound connection pool.
+ * Nothing on these threads may block: the database is reached through R2DBC and investor-service
+ * through WebClient.
+ */
+@Configuration
+public class EventLoopConfig {
+
+    @Bean
+    public ReactorResourceFactory reactorResourceFactory(
+            @Value("${portfolio.reactive.event-loop-threads:4}") int eventLoopThreads,
+            @Value("${portfolio.reactive.client-max-connections:200}") int maxConnections,
+            @Value("${portfolio.reactive.client-pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs) {
+        ReactorResourceFactory factory = new ReactorResourceFactory();
+        factory.setUseGlobalResources(false);
+        factory.setLoopResourcesSupplier(() -> LoopResources.create("portfolio-http", eventLoopThreads, true));
+        factory.setConnectionProviderSupplier(() -> ConnectionProvider.builder("portfolio-client")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .build());
+        return factory;
+    }
+}
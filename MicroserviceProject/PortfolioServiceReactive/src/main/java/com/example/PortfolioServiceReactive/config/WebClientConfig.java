@@ -0,0 +1,18 @@
+package com.example.PortfolioServiceReactive.config;
+
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+public class WebClientConfig {
+
+    // Resolves http://investor-service style hosts through Eureka; built on Boot's builder, so it
+    // shares the server's Reactor Netty event loops (see EventLoopConfig)
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder();
+    }
+}
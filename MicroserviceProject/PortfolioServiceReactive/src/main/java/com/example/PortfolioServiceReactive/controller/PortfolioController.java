@@ -0,0 +1,177 @@
+package com.example.PortfolioServiceReactive.controller;
+
+import com.example.PortfolioServiceReactive.entity.Portfolio;
+import com.example.PortfolioServiceReactive.service.PortfolioOutboxService;
+import com.example.PortfolioServiceReactive.service.PortfolioService;
+import com.example.common.dto.CursorPage;
+import com.example.common.util.PageCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Same /api/portfolios contract (paths, parameters, status codes and bodies) as portfolio-service,
+ * served without blocking: handlers return Mono/Flux and no request ever holds a thread while
+ * waiting on the database or investor-service.
+ */
+@RestController
+@RequestMapping("/api/portfolios")
+public class PortfolioController {
+
+    private static final int MAX_CHUNK_SIZE = 2000;
+    private static final int MAX_BATCH_IDS = 1000;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private PortfolioOutboxService outboxService;
+
+    @GetMapping("/all")
+    public Flux<Portfolio> getAllPortfolios() {
+        return portfolioService.getAllPortfolios();
+    }
+
+    /**
+     * Keyset-paginated listing ordered by id. Pass the returned {@code nextCursor} back as
+     * {@code cursor} for the next page; each page costs the same regardless of depth.
+     */
+    @GetMapping("/page")
+    public Mono<ResponseEntity<?>> getPortfolioPage(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "50") int limit) {
+        long afterId;
+        try {
+            afterId = cursor == null ? 0L : Long.parseLong(PageCursor.decode(cursor, 1)[0]);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().body("Invalid cursor"));
+        }
+        int pageSize = PageCursor.clampLimit(limit);
+        return portfolioService.getPortfolioChunk(afterId, pageSize + 1)
+                .collectList()
+                .<ResponseEntity<?>>map(rows -> ResponseEntity.ok(CursorPage.from(rows, pageSize, p -> PageCursor.encode(p.getPortfolioId()))));
+    }
+
+    /**
+     * Streams every portfolio as NDJSON (one JSON object per line), written as the client reads it.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Portfolio> streamPortfolios() {
+        return portfolioService.streamAllPortfolios();
+    }
+
+    /**
+     * Returns at most {@code size} portfolios with an id greater than {@code afterId}, ordered by id.
+     */
+    @GetMapping("/chunk")
+    public Flux<Portfolio> getPortfolioChunk(@RequestParam(defaultValue = "0") Long afterId,
+                                             @RequestParam(defaultValue = "500") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CHUNK_SIZE));
+        return portfolioService.getPortfolioChunk(afterId, pageSize);
+    }
+
+    /**
+     * Bulk lookup for other services: one IN query for all ids. Unknown ids are left out; ordered by id.
+     */
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<?>> getPortfoliosByIds(@RequestBody List<Long> ids) {
+        Set<Long> uniqueIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(TreeSet::new));
+        if (uniqueIds.size() > MAX_BATCH_IDS) {
+            return Mono.just(ResponseEntity.badRequest().body("Error: At most " + MAX_BATCH_IDS + " ids per batch"));
+        }
+        if (uniqueIds.isEmpty()) {
+            return Mono.just(ResponseEntity.ok(List.of()));
+        }
+        return portfolioService.getPortfoliosByIds(uniqueIds)
+                .collectSortedList(Comparator.comparing(Portfolio::getPortfolioId))
+                .<ResponseEntity<?>>map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/submit/{investorId}")
+    public Mono<ResponseEntity<?>> submitPortfolio(@PathVariable Long investorId, @RequestBody Portfolio portfolioData) {
+        return portfolioService.submitPortfolio(investorId, portfolioData)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    if (e instanceof IllegalArgumentException) {
+                        return Mono.just(ResponseEntity.badRequest().body("Error: " + e.getMessage()));
+                    }
+                    // investor-service unreachable, timed out or answered with an error other than 404
+                    return Mono.just(ResponseEntity.status(502).body(
+                            "Error: Cannot validate investorId " + investorId +
+                                    " (investor-service unreachable / wrong endpoint mapping / investor does not exist)"
+                    ));
+                });
+    }
+
+    @GetMapping("/investor/{investorId}")
+    public Flux<Portfolio> getInvestorPortfolios(@PathVariable Long investorId) {
+        return portfolioService.getInvestorPortfolios(investorId);
+    }
+
+    @PatchMapping("/update-status/{id}")
+    public Mono<ResponseEntity<Portfolio>> updateStatus(@PathVariable Long id, @RequestParam Portfolio.Status status) {
+        return portfolioService.updateStatus(id, status)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/update/{id}")
+    public Mono<ResponseEntity<Portfolio>> updatePortfolio(@PathVariable Long id, @RequestBody Portfolio updatedData) {
+        return portfolioService.updatePortfolio(id, updatedData)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/resubmit/{id}")
+    public Mono<ResponseEntity<Portfolio>> resubmitPortfolio(@PathVariable Long id, @RequestBody Portfolio updatedData) {
+        return portfolioService.resubmitPortfolio(id, updatedData)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Outbox feed of portfolio changes after {@code afterEventId}, oldest first
+     * (polled by compliance-service and exposure-alert-service).
+     * - {@code consumer} names the poller so the purge keeps the events it has not read yet.
+     * - 410 Gone when events after {@code afterEventId} were already purged: re-read everything,
+     *   then resume from /changes/head.
+     */
+    @GetMapping("/changes")
+    public Mono<ResponseEntity<?>> getChanges(@RequestParam(required = false) String consumer,
+                                              @RequestParam(defaultValue = "0") Long afterEventId,
+                                              @RequestParam(defaultValue = "200") int limit) {
+        return outboxService.changesAfter(consumer, afterEventId, limit)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(PortfolioOutboxService.EventsPurgedException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.GONE).body(e.getMessage())));
+    }
+
+    @GetMapping("/changes/head")
+    public Mono<Long> getChangesHead() {
+        return outboxService.headEventId();
+    }
+
+    @DeleteMapping("/delete/{id}")
+    public Mono<ResponseEntity<String>> deletePortfolio(@PathVariable Long id) {
+        return portfolioService.deletePortfolio(id).<ResponseEntity<String>>map(deleted -> deleted
+                ? ResponseEntity.ok("Portfolio PF-" + id + " deleted successfully.")
+                : ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Portfolio>> getPortfolioById(@PathVariable Long id) {
+        return portfolioService.getPortfolioById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.PortfolioServiceReactive.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transactional outbox row written in the same transaction as a portfolio change (same table as
+ * portfolio-service, so the /changes feed is continuous whichever deployment wrote the event).
+ */
+@Table("portfolio_outbox")
+public class PortfolioOutboxEvent {
+
+    @Id
+    private Long eventId;
+
+    private Long portfolioId;
+    private ChangeType changeType;
+    private LocalDateTime createdAt;
+
+    public enum ChangeType {
+        Created, Updated, Resubmitted, StatusChanged, Deleted
+    }
+
+    public PortfolioOutboxEvent() {}
+
+    public PortfolioOutboxEvent(Long portfolioId, ChangeType changeType) {
+        this.portfolioId = portfolioId;
+        this.changeType = changeType;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public Long getPortfolioId() { return portfolioId; }
+    public void setPortfolioId(Long portfolioId) { this.portfolioId = portfolioId; }
+
+    public ChangeType getChangeType() { return changeType; }
+    public void setChangeType(ChangeType changeType) { this.changeType = changeType; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,47 @@
+package com.example.PortfolioServiceReactive.repositiory;
+
+import com.example.PortfolioServiceReactive.entity.PortfolioOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface PortfolioOutboxRepositiory extends ReactiveCrudRepository<PortfolioOutboxEvent, Long> {
+
+    Flux<PortfolioOutboxEvent> findByEventIdGreaterThanOrderByEventIdAsc(Long afterEventId, Pageable pageable);
+
+    @Query("SELECT event_id FROM portfolio_outbox WHERE created_at < :before ORDER BY event_id DESC LIMIT 1")
+    Mono<Long> findMaxEventIdCreatedBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM portfolio_outbox WHERE event_id <= :eventId")
+    Mono<Integer> deleteThrough(@Param("eventId") Long eventId);
+
+    // Consumer positions and the purge watermark, shared with portfolio-service (see its outbox entities)
+    @Modifying
+    @Query("INSERT INTO portfolio_outbox_consumer (consumer, last_event_id, last_polled_at) " +
+            "VALUES (:consumer, :eventId, :polledAt) " +
+            "ON DUPLICATE KEY UPDATE last_event_id = VALUES(last_event_id), last_polled_at = VALUES(last_polled_at)")
+    Mono<Integer> recordConsumerPosition(@Param("consumer") String consumer,
+                                         @Param("eventId") Long eventId,
+                                         @Param("polledAt") LocalDateTime polledAt);
+
+    @Query("SELECT last_event_id FROM portfolio_outbox_consumer WHERE last_polled_at >= :since " +
+            "ORDER BY last_event_id LIMIT 1")
+    Mono<Long> findSlowestConsumerPositionPolledSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT event_id FROM portfolio_outbox_watermark WHERE name = 'purged'")
+    Mono<Long> findPurgedThrough();
+
+    @Modifying
+    @Query("INSERT INTO portfolio_outbox_watermark (name, event_id, updated_at) VALUES ('purged', :eventId, :updatedAt) " +
+            "ON DUPLICATE KEY UPDATE event_id = GREATEST(event_id, VALUES(event_id)), updated_at = VALUES(updated_at)")
+    Mono<Integer> raisePurgedThrough(@Param("eventId") Long eventId, @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,16 @@
+package com.example.PortfolioServiceReactive.repositiory;
+
+import com.example.PortfolioServiceReactive.entity.Portfolio;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface PortfolioRepositiory extends ReactiveCrudRepository<Portfolio, Long> {
+
+    Flux<Portfolio> findByInvestorId(Long investorId);
+
+    // Keyset chunk: rows strictly after the given id, in primary-key order (also drives /stream)
+    Flux<Portfolio> findByPortfolioIdGreaterThanOrderByPortfolioIdAsc(Long afterId, Pageable pageable);
+}
@@ -0,0 +1,140 @@
+package com.example.PortfolioServiceReactive.service;
+
+import com.example.PortfolioServiceReactive.dto.PortfolioChange;
+import com.example.PortfolioServiceReactive.entity.Portfolio;
+import com.example.PortfolioServiceReactive.entity.PortfolioOutboxEvent;
+import com.example.PortfolioServiceReactive.repositiory.PortfolioOutboxRepositiory;
+import com.example.PortfolioServiceReactive.repositiory.PortfolioRepositiory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Ordered feed of portfolio changes, same rules as portfolio-service's PortfolioOutboxService (shared tables):
+ * - a page stops before a missing eventId (an uncommitted insert) until the event after it is
+ *   {@code gap-timeout-ms} old;
+ * - named consumers' positions bound the purge, unless they have not polled for {@code consumer-expiry-days};
+ * - polling from below the purged range fails with {@link EventsPurgedException} (410): re-read everything,
+ *   then resume from {@link #headEventId()}.
+ */
+@Service
+public class PortfolioOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioOutboxService.class);
+
+    private static final int MAX_BATCH = 1000;
+
+    @Autowired
+    private PortfolioOutboxRepositiory outboxRepository;
+
+    @Autowired
+    private PortfolioRepositiory portfolioRepository;
+
+    @Value("${portfolio.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${portfolio.outbox.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+
+    @Value("${portfolio.outbox.consumer-expiry-days:30}")
+    private int consumerExpiryDays;
+
+    public static class EventsPurgedException extends RuntimeException {
+        public EventsPurgedException(long afterEventId, long purgedThrough) {
+            super("Outbox events after " + afterEventId + " up to " + purgedThrough + " were purged");
+        }
+    }
+
+    // Must join the caller's (reactive) transaction so the event commits or rolls back with the change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Mono<PortfolioOutboxEvent> record(Long portfolioId, PortfolioOutboxEvent.ChangeType changeType) {
+        return outboxRepository.save(new PortfolioOutboxEvent(portfolioId, changeType));
+    }
+
+    @Transactional
+    public Mono<List<PortfolioChange>> changesAfter(String consumer, Long afterEventId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_BATCH));
+        LocalDateTime now = LocalDateTime.now();
+        return purgedThrough().flatMap(purgedThrough -> {
+            if (afterEventId < purgedThrough) {
+                return Mono.error(new EventsPurgedException(afterEventId, purgedThrough));
+            }
+            Mono<Integer> recorded = consumer != null && !consumer.isBlank()
+                    ? outboxRepository.recordConsumerPosition(consumer, afterEventId, now)
+                    : Mono.just(0);
+            return recorded.then(outboxRepository
+                    .findByEventIdGreaterThanOrderByEventIdAsc(afterEventId, PageRequest.of(0, pageSize))
+                    .collectList()
+                    .map(events -> settledPrefix(events, Math.max(afterEventId, purgedThrough),
+                            now.minusNanos(gapTimeoutMs * 1_000_000))));
+        }).flatMap(events -> {
+            // Attach current state with one query for the whole page
+            List<Long> ids = events.stream().map(PortfolioOutboxEvent::getPortfolioId).distinct().toList();
+            Mono<Map<Long, Portfolio>> portfolios = ids.isEmpty()
+                    ? Mono.just(Map.of())
+                    : portfolioRepository.findAllById(ids).collectMap(Portfolio::getPortfolioId, Function.identity());
+            return portfolios.map(byId -> events.stream()
+                    .map(e -> new PortfolioChange(e, byId.get(e.getPortfolioId())))
+                    .toList());
+        });
+    }
+
+    /**
+     * Position to resume from after re-reading every portfolio: the newest settled event, or the purge
+     * watermark if there is none.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Long> headEventId() {
+        return outboxRepository.findMaxEventIdCreatedBefore(LocalDateTime.now().minusNanos(gapTimeoutMs * 1_000_000))
+                .defaultIfEmpty(0L)
+                .zipWith(purgedThrough(), Math::max);
+    }
+
+    // Leading run of events with no missing id after lastSeen, except gaps whose next event is settled
+    static List<PortfolioOutboxEvent> settledPrefix(List<PortfolioOutboxEvent> events, long lastSeen,
+                                                    LocalDateTime settledBefore) {
+        long expected = lastSeen + 1;
+        for (int i = 0; i < events.size(); i++) {
+            PortfolioOutboxEvent event = events.get(i);
+            if (event.getEventId() != expected && event.getCreatedAt().isAfter(settledBefore)) {
+                return events.subList(0, i);
+            }
+            expected = event.getEventId() + 1;
+        }
+        return events;
+    }
+
+    @Scheduled(cron = "${portfolio.outbox.purge-cron:0 30 2 * * *}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.findMaxEventIdCreatedBefore(now.minusDays(retentionDays))
+                // A consumer silent for consumer-expiry-days no longer holds events back; it gets a 410 when it returns
+                .zipWith(outboxRepository.findSlowestConsumerPositionPolledSince(now.minusDays(consumerExpiryDays))
+                        .defaultIfEmpty(Long.MAX_VALUE), Math::min)
+                .zipWith(purgedThrough())
+                .filter(through -> through.getT1() > through.getT2())
+                .map(Tuple2::getT1)
+                .flatMap(through -> outboxRepository.raisePurgedThrough(through, now)
+                        .then(outboxRepository.deleteThrough(through))
+                        .doOnNext(deleted -> log.info("Purged {} outbox events through eventId {}", deleted, through)))
+                .subscribe(deleted -> { },
+                        e -> log.warn("Outbox purge failed: {}", e.getMessage()));
+    }
+
+    private Mono<Long> purgedThrough() {
+        return outboxRepository.findPurgedThrough().defaultIfEmpty(0L);
+    }
+}
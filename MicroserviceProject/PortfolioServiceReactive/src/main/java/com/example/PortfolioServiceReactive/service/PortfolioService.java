@@ -0,0 +1,150 @@
+package com.example.PortfolioServiceReactive.service;
+
+import com.example.PortfolioServiceReactive.client.InvestorExistenceCache;
+import com.example.PortfolioServiceReactive.entity.Portfolio;
+import com.example.PortfolioServiceReactive.entity.PortfolioOutboxEvent;
+import com.example.PortfolioServiceReactive.repositiory.PortfolioRepositiory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reactive counterpart of portfolio-service's PortfolioService. Every method returns a publisher and
+ * never blocks, so a few event-loop threads serve all requests. Mutations are @Transactional on the
+ * R2DBC transaction manager, and write their outbox event inside the same transaction.
+ */
+@Service
+public class PortfolioService {
+
+    @Autowired
+    private PortfolioRepositiory portfolioRepository;
+
+    @Autowired
+    private InvestorExistenceCache investorCache;
+
+    @Autowired
+    private PortfolioOutboxService outboxService;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Value("${portfolio.stream.chunk-size:500}")
+    private int streamChunkSize;
+
+    public Flux<Portfolio> getAllPortfolios() {
+        return portfolioRepository.findAll();
+    }
+
+    /**
+     * Every portfolio in id order, read as keyset chunks of {@code portfolio.stream.chunk-size}.
+     * The next chunk is only queried once the subscriber has asked for more rows, so a slow client
+     * holds at most one chunk in memory and no connection between chunks.
+     */
+    public Flux<Portfolio> streamAllPortfolios() {
+        return chunkAfter(0L).expand(chunk -> chunk.size() < streamChunkSize
+                        ? Mono.empty()
+                        : chunkAfter(chunk.get(chunk.size() - 1).getPortfolioId()))
+                .concatMapIterable(chunk -> chunk, 1);
+    }
+
+    private Mono<List<Portfolio>> chunkAfter(Long afterId) {
+        return portfolioRepository
+                .findByPortfolioIdGreaterThanOrderByPortfolioIdAsc(afterId, PageRequest.of(0, streamChunkSize))
+                .collectList();
+    }
+
+    /**
+     * Fails with IllegalArgumentException when investor-service does not know the investor, and with the
+     * WebClient error when investor-service could not answer. The transaction only starts after that
+     * lookup, so no connection is held while investor-service answers.
+     */
+    public Mono<Portfolio> submitPortfolio(Long investorId, Portfolio portfolioData) {
+        return investorCache.investorExists(investorId).flatMap(exists -> {
+            if (!exists) {
+                return Mono.error(new IllegalArgumentException("Investor not found with ID: " + investorId));
+            }
+            portfolioData.setPortfolioId(null);
+            portfolioData.setInvestorId(investorId);
+            portfolioData.setStatus(Portfolio.Status.Pending);
+            portfolioData.setRequestDate(LocalDate.now());
+            return portfolioRepository.save(portfolioData)
+                    .flatMap(saved -> outboxService.record(saved.getPortfolioId(), PortfolioOutboxEvent.ChangeType.Created)
+                            .thenReturn(saved))
+                    .as(transactionalOperator::transactional);
+        });
+    }
+
+    public Flux<Portfolio> getInvestorPortfolios(Long investorId) {
+        return portfolioRepository.findByInvestorId(investorId);
+    }
+
+    @Transactional
+    public Mono<Portfolio> updateStatus(Long id, Portfolio.Status status) {
+        return change(id, PortfolioOutboxEvent.ChangeType.StatusChanged, existing -> existing.setStatus(status));
+    }
+
+    @Transactional
+    public Mono<Portfolio> updatePortfolio(Long id, Portfolio updatedData) {
+        return change(id, PortfolioOutboxEvent.ChangeType.Updated, existing -> {
+            existing.setPortfolioName(updatedData.getPortfolioName());
+            existing.setInvestedAmount(updatedData.getInvestedAmount());
+            existing.setRegulationType(updatedData.getRegulationType());
+            existing.setEquityPercentage(updatedData.getEquityPercentage());
+            existing.setBondPercentage(updatedData.getBondPercentage());
+            existing.setDerivativePercentage(updatedData.getDerivativePercentage());
+            existing.setQuantity(updatedData.getQuantity());
+            existing.setStatus(Portfolio.Status.Approved);
+        });
+    }
+
+    @Transactional
+    public Mono<Portfolio> resubmitPortfolio(Long id, Portfolio updatedData) {
+        return change(id, PortfolioOutboxEvent.ChangeType.Resubmitted, existing -> {
+            existing.setPortfolioName(updatedData.getPortfolioName());
+            existing.setInvestedAmount(updatedData.getInvestedAmount());
+            existing.setRegulationType(updatedData.getRegulationType());
+            existing.setStatus(Portfolio.Status.Pending);
+            existing.setRequestDate(LocalDate.now());
+        });
+    }
+
+    // Empty when the portfolio does not exist
+    private Mono<Portfolio> change(Long id, PortfolioOutboxEvent.ChangeType changeType, Consumer<Portfolio> update) {
+        return portfolioRepository.findById(id)
+                .flatMap(existing -> {
+                    update.accept(existing);
+                    return portfolioRepository.save(existing);
+                })
+                .flatMap(saved -> outboxService.record(saved.getPortfolioId(), changeType).thenReturn(saved));
+    }
+
+    @Transactional
+    public Mono<Boolean> deletePortfolio(Long id) {
+        return portfolioRepository.existsById(id).flatMap(exists -> exists
+                ? portfolioRepository.deleteById(id)
+                        .then(outboxService.record(id, PortfolioOutboxEvent.ChangeType.Deleted))
+                        .thenReturn(true)
+                : Mono.just(false));
+    }
+
+    public Mono<Portfolio> getPortfolioById(Long id) {
+        return portfolioRepository.findById(id);
+    }
+
+    public Flux<Portfolio> getPortfolioChunk(Long afterId, int size) {
+        return portfolioRepository.findByPortfolioIdGreaterThanOrderByPortfolioIdAsc(afterId, PageRequest.of(0, size));
+    }
+
+    public Flux<Portfolio> getPortfoliosByIds(Iterable<Long> ids) {
+        return portfolioRepository.findAllById(ids);
+    }
+}
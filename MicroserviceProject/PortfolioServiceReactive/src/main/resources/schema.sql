@@ -0,0 +1,37 @@
+-- Same tables as portfolio-service's JPA entities (MySQL and H2 compatible); existing tables are left as they are
+CREATE TABLE IF NOT EXISTS portfolio (
+    portfolio_id BIGINT NOT NULL AUTO_INCREMENT,
+    portfolio_name VARCHAR(255),
+    invested_amount DOUBLE,
+    request_date DATE,
+    equity_percentage DOUBLE,
+    bond_percentage DOUBLE,
+    derivative_percentage DOUBLE,
+    regulation_type VARCHAR(255),
+    quantity INT,
+    status VARCHAR(255),
+    investor_id BIGINT NOT NULL,
+    PRIMARY KEY (portfolio_id)
+);
+
+CREATE TABLE IF NOT EXISTS portfolio_outbox (
+    event_id BIGINT NOT NULL AUTO_INCREMENT,
+    portfolio_id BIGINT NOT NULL,
+    change_type VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (event_id)
+);
+
+CREATE TABLE IF NOT EXISTS portfolio_outbox_consumer (
+    consumer VARCHAR(100) NOT NULL,
+    last_event_id BIGINT NOT NULL,
+    last_polled_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (consumer)
+);
+
+CREATE TABLE IF NOT EXISTS portfolio_outbox_watermark (
+    name VARCHAR(50) NOT NULL,
+    event_id BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+);
@@ -3,6 +3,11 @@ package com.example.RiskScoreService.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(name = "portfolio-service")
 public interface PortfolioClient {
@@ -10,6 +15,14 @@ public interface PortfolioClient {
     @GetMapping("/api/portfolios/{id}")
     PortfolioDto getPortfolioById(@PathVariable("id") Long id);
 
+    // Resolves many ids in one round-trip; unknown ids are simply missing from the result
+    @PostMapping("/api/portfolios/batch")
+    List<PortfolioDto> getPortfoliosByIds(@RequestBody List<Long> ids);
+
+    // Keyset-paged read used by the full recalculation: portfolios with id > afterId, ordered by id
+    @GetMapping("/api/portfolios/chunk")
+    List<PortfolioDto> getPortfolioChunk(@RequestParam("afterId") Long afterId, @RequestParam("size") int size);
+
     class PortfolioDto {
         private Long portfolioId;
         private Long investorId;
@@ -0,0 +1,35 @@
+package com.example.RiskScoreService.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class RiskEngineConfig {
+
+    /**
+     * Dedicated pool for scoring so a full recalculation never competes with the common pool.
+     * A parallelism of 0 (the default) means one worker per available core.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool riskScoringPool(@Value("${risk.recalculate.parallelism:0}") int parallelism) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(workers);
+    }
+
+    /**
+     * Fetches the next portfolio chunk while the current one is scored and written.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService riskChunkPrefetcher() {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "risk-chunk-prefetch");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
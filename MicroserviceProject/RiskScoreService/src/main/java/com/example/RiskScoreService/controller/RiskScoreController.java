@@ -1,14 +1,25 @@
 package com.example.RiskScoreService.controller;
 
+import com.example.RiskScoreService.client.CoalescingPortfolioClient;
 import com.example.RiskScoreService.client.PortfolioClient;
+import com.example.RiskScoreService.dto.RecalculationSummary;
 import com.example.RiskScoreService.entity.RiskScore;
+import com.example.RiskScoreService.repositiory.RiskHistoryRepositiory;
 import com.example.RiskScoreService.repositiory.RiskScoreRepositiory;
+import com.example.RiskScoreService.service.RiskScoreEngine;
+import com.example.common.client.FeignResilience;
+import com.example.common.config.AccessTokenFilter;
+import com.example.common.util.BlockingCallExecutor;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/risk-scores")
@@ -18,48 +29,103 @@ public class RiskScoreController {
     private RiskScoreRepositiory riskScoreRepository;
 
     @Autowired
-    private PortfolioClient portfolioClient;
+    private CoalescingPortfolioClient portfolioClient;
+
+    @Autowired
+    private RiskScoreEngine riskScoreEngine;
+
+    @Autowired
+    private RiskHistoryRepositiory historyRepository;
+
+    @Autowired
+    private BlockingCallExecutor blockingCalls;
+
 
     /**
      * Calculate/Save risk score for a given portfolioId.
-     * - Validates that portfolio exists by calling Portfolio Service (Feign + Eureka).
+     * - Loads the portfolio from Portfolio Service (Feign + Eureka) and scores its allocation server-side;
+     *   any score or level in the request body is ignored.
      * - Upsert behavior: if risk score already exists for portfolioId, update same row.
+     * - Async: the request thread is released while the (coalesced) portfolio lookup is in flight;
+     *   scoring and the upsert then run on {@link BlockingCallExecutor}.
      */
     @PostMapping("/calculate/{portfolioId}")
-    public ResponseEntity<?> saveRiskScore(@PathVariable Long portfolioId,
-                                           @RequestBody RiskScore riskScore) {
-
-        // 1) Validate portfolio exists (service-to-service, no DB sharing)
-        PortfolioClient.PortfolioDto portfolio;
-        try {
-            portfolio = portfolioClient.getPortfolioById(portfolioId);
-        } catch (Exception ex) {
-            // If Feign gets 404 or cannot reach portfolio-service, treat as not found / bad request
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body("Portfolio not found for id: " + portfolioId);
-        }
+    public CompletableFuture<ResponseEntity<?>> saveRiskScore(@PathVariable Long portfolioId,
+                                                              @RequestBody(required = false) RiskScore ignored) {
 
-        if (portfolio == null || portfolio.getPortfolioId() == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body("Portfolio not found for id: " + portfolioId);
-        }
+        // 1) Load portfolio (service-to-service, no DB sharing)
+        return portfolioClient.lookup(portfolioId).<ResponseEntity<?>>handleAsync((portfolio, error) -> {
+            if (error != null) {
+                // Only a 404 from portfolio-service means the portfolio is missing; rejections, timeouts
+                // and other failures are reported as such
+                HttpStatus upstream = FeignResilience.statusOf(error);
+                return switch (upstream) {
+                    case NOT_FOUND -> ResponseEntity.status(upstream).body("Portfolio not found for id: " + portfolioId);
+                    case SERVICE_UNAVAILABLE -> ResponseEntity.status(upstream).body("Portfolio service unavailable, please retry");
+                    case GATEWAY_TIMEOUT -> ResponseEntity.status(upstream).body("Timed out loading portfolio " + portfolioId);
+                    default -> ResponseEntity.status(upstream).body("Could not load portfolio " + portfolioId + " from portfolio service");
+                };
+            }
 
-        // 2) Set required fields for RiskScore
-        riskScore.setPortfolioId(portfolioId);
-        riskScore.setCalculationDate(LocalDate.now());
+            if (portfolio == null || portfolio.getPortfolioId() == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body("Portfolio not found for id: " + portfolioId);
+            }
 
-        // 3) Upsert: if already exists for this portfolio, update the same row
-        riskScoreRepository.findByPortfolioId(portfolioId)
-                .ifPresent(existing -> riskScore.setRiskId(existing.getRiskId()));
+            // 2) Score from the portfolio's own allocation and upsert
+            RiskScore savedScore = riskScoreEngine.calculate(portfolio);
+            if (savedScore == null) {
+                return ResponseEntity.badRequest()
+                        .body("Portfolio " + portfolioId + " has no allocation data to score");
+            }
+            return ResponseEntity.ok(savedScore);
+        }, blockingCalls.executor()).exceptionally(error -> {
+            if (BlockingCallExecutor.isRejected(error)) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Server busy, please retry");
+            }
+            throw BlockingCallExecutor.propagate(error);
+        });
+    }
 
-        // 4) Save and return
-        RiskScore savedScore = riskScoreRepository.save(riskScore);
-        return ResponseEntity.ok(savedScore);
+    /**
+     * Re-scores every portfolio with the current model; returns counts rather than the rows.
+     * Staff and service tokens only (403 otherwise).
+     */
+    @PostMapping("/recalculate-all")
+    public ResponseEntity<RecalculationSummary> recalculateAll(HttpServletRequest request) {
+        if (!AccessTokenFilter.hasAnyRole(request, AccessTokenFilter.OPERATOR_ROLES)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(riskScoreEngine.recalculateAll());
     }
+
     @GetMapping("/portfolio/{portfolioId}")
     public ResponseEntity<RiskScore> getScoreByPortfolio(@PathVariable Long portfolioId) {
         return riskScoreRepository.findByPortfolioId(portfolioId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
-}
\ No newline at end of file
+
+    /**
+     * Risk drift for charts: the portfolio's history over [from, to], aggregated per day, week or
+     * month by the database. Defaults to the last 90 days, daily.
+     */
+    @GetMapping("/portfolio/{portfolioId}/history")
+    public ResponseEntity<?> getScoreHistory(@PathVariable Long portfolioId,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                             @RequestParam(defaultValue = "daily") String interval) {
+        RiskHistoryRepositiory.Interval bucket;
+        try {
+            bucket = RiskHistoryRepositiory.Interval.valueOf(interval.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("interval must be daily, weekly or monthly");
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(90);
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().body("from must not be after to");
+        }
+        return ResponseEntity.ok(historyRepository.findSeries(portfolioId, start, end, bucket));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.RiskScoreService.dto;
+
+/**
+ * Outcome of one {@code /api/risk-scores/recalculate-all} run.
+ */
+public class RecalculationSummary {
+    private long portfoliosScanned;
+    private long portfoliosScored;
+    private long portfoliosSkipped;
+    private long high;
+    private long medium;
+    private long low;
+    private long scoresInserted;
+    private long scoresUpdated;
+    private int chunks;
+    private long durationMs;
+
+    // Getters and Setters
+    public long getPortfoliosScanned() { return portfoliosScanned; }
+    public void setPortfoliosScanned(long portfoliosScanned) { this.portfoliosScanned = portfoliosScanned; }
+
+    public long getPortfoliosScored() { return portfoliosScored; }
+    public void setPortfoliosScored(long portfoliosScored) { this.portfoliosScored = portfoliosScored; }
+
+    public long getPortfoliosSkipped() { return portfoliosSkipped; }
+    public void setPortfoliosSkipped(long portfoliosSkipped) { this.portfoliosSkipped = portfoliosSkipped; }
+
+    public long getHigh() { return high; }
+    public void setHigh(long high) { this.high = high; }
+
+    public long getMedium() { return medium; }
+    public void setMedium(long medium) { this.medium = medium; }
+
+    public long getLow() { return low; }
+    public void setLow(long low) { this.low = low; }
+
+    public long getScoresInserted() { return scoresInserted; }
+    public void setScoresInserted(long scoresInserted) { this.scoresInserted = scoresInserted; }
+
+    public long getScoresUpdated() { return scoresUpdated; }
+    public void setScoresUpdated(long scoresUpdated) { this.scoresUpdated = scoresUpdated; }
+
+    public int getChunks() { return chunks; }
+    public void setChunks(int chunks) { this.chunks = chunks; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+}
@@ -0,0 +1,56 @@
+package com.example.RiskScoreService.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One bucket (day, week starting Monday, or month) of a portfolio's risk history.
+ */
+public class RiskHistoryPoint {
+    private LocalDate bucketStart;
+    private long samples;
+    private double avgScore;
+    private int minScore;
+    private int maxScore;
+    private double avgEquityPercentage;
+    private double avgBondPercentage;
+    private double avgDerivativePercentage;
+
+    public RiskHistoryPoint() {}
+
+    public RiskHistoryPoint(LocalDate bucketStart, long samples, double avgScore, int minScore, int maxScore,
+                            double avgEquityPercentage, double avgBondPercentage, double avgDerivativePercentage) {
+        this.bucketStart = bucketStart;
+        this.samples = samples;
+        this.avgScore = avgScore;
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+        this.avgEquityPercentage = avgEquityPercentage;
+        this.avgBondPercentage = avgBondPercentage;
+        this.avgDerivativePercentage = avgDerivativePercentage;
+    }
+
+    // Getters and Setters
+    public LocalDate getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDate bucketStart) { this.bucketStart = bucketStart; }
+
+    public long getSamples() { return samples; }
+    public void setSamples(long samples) { this.samples = samples; }
+
+    public double getAvgScore() { return avgScore; }
+    public void setAvgScore(double avgScore) { this.avgScore = avgScore; }
+
+    public int getMinScore() { return minScore; }
+    public void setMinScore(int minScore) { this.minScore = minScore; }
+
+    public int getMaxScore() { return maxScore; }
+    public void setMaxScore(int maxScore) { this.maxScore = maxScore; }
+
+    public double getAvgEquityPercentage() { return avgEquityPercentage; }
+    public void setAvgEquityPercentage(double avgEquityPercentage) { this.avgEquityPercentage = avgEquityPercentage; }
+
+    public double getAvgBondPercentage() { return avgBondPercentage; }
+    public void setAvgBondPercentage(double avgBondPercentage) { this.avgBondPercentage = avgBondPercentage; }
+
+    public double getAvgDerivativePercentage() { return avgDerivativePercentage; }
+    public void setAvgDerivativePercentage(double avgDerivativePercentage) { this.avgDerivativePercentage = avgDerivativePercentage; }
+}
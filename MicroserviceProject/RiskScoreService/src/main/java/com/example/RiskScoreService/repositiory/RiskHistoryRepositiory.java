@@ -0,0 +1,151 @@
+package com.example.RiskScoreService.repositiory;
+
+import com.example.RiskScoreService.dto.RiskHistoryPoint;
+import com.example.RiskScoreService.service.RiskModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Append-only risk score history in {@code risk_score_history}, one row per calculation.
+ * The table is created and partitioned here with plain JDBC (not via ddl-auto) because MySQL
+ * range partitioning needs the partition column in the primary key:
+ * - Compact row: score as SMALLINT, level as a TINYINT code, percentages as SMALLINT hundredths
+ *   of a percent (fixed point, 45.67% is stored as 4567).
+ * - Primary key (portfolio_id, calculated_at, history_id) clusters each portfolio's series, so a
+ *   range query reads contiguous pages.
+ * - One RANGE COLUMNS partition per month; range queries only touch the months they cover and
+ *   old months can be dropped as a whole.
+ */
+@Repository
+public class RiskHistoryRepositiory {
+
+    public static final String TABLE = "risk_score_history";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO " + TABLE + " (portfolio_id, calculated_at, score, risk_level, equity_bp, bond_bp, derivative_bp) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    public enum Interval {
+        DAILY("DATE(calculated_at)"),
+        WEEKLY("DATE_SUB(DATE(calculated_at), INTERVAL WEEKDAY(calculated_at) DAY)"),
+        MONTHLY("CAST(DATE_FORMAT(calculated_at, '%Y-%m-01') AS DATE)");
+
+        // Fixed SQL fragments, never built from request input
+        private final String bucketExpression;
+
+        Interval(String bucketExpression) {
+            this.bucketExpression = bucketExpression;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void createTableIfMissing() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (" +
+                "history_id BIGINT NOT NULL AUTO_INCREMENT, " +
+                "portfolio_id BIGINT NOT NULL, " +
+                "calculated_at DATETIME NOT NULL, " +
+                "score SMALLINT NOT NULL, " +
+                "risk_level TINYINT NOT NULL, " +
+                "equity_bp SMALLINT NOT NULL, " +
+                "bond_bp SMALLINT NOT NULL, " +
+                "derivative_bp SMALLINT NOT NULL, " +
+                "PRIMARY KEY (portfolio_id, calculated_at, history_id), " +
+                "KEY idx_history_id (history_id)" +
+                ") ENGINE=InnoDB " +
+                "PARTITION BY RANGE COLUMNS (calculated_at) (PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+    }
+
+    /**
+     * Monthly partitions that currently exist, oldest first (excluding the catch-all pmax).
+     */
+    public List<String> monthPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT partition_name FROM information_schema.partitions " +
+                        "WHERE table_schema = DATABASE() AND table_name = ? AND partition_name <> 'pmax' " +
+                        "ORDER BY partition_ordinal_position", String.class, TABLE);
+    }
+
+    /**
+     * Splits the next month off the catch-all partition. Months must be added in order.
+     */
+    public void addMonthPartition(YearMonth month) {
+        String boundary = month.plusMonths(1).atDay(1).toString();
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION pmax INTO (" +
+                "PARTITION " + partitionName(month) + " VALUES LESS THAN ('" + boundary + "'), " +
+                "PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+    }
+
+    public void dropPartition(String partitionName) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partitionName);
+    }
+
+    public static String partitionName(YearMonth month) {
+        return month.format(PARTITION_NAME);
+    }
+
+    public static YearMonth partitionMonth(String partitionName) {
+        return YearMonth.parse(partitionName.substring(1), DateTimeFormatter.ofPattern("yyyyMM"));
+    }
+
+    /**
+     * Rows are [portfolioId, calculatedAt (Timestamp), score, levelCode, equityBp, bondBp, derivativeBp].
+     */
+    public void appendBatch(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    public static Object[] row(long portfolioId, LocalDateTime calculatedAt, int score, String riskLevel,
+                               double equity, double bond, double derivative) {
+        return new Object[]{portfolioId, Timestamp.valueOf(calculatedAt), (short) score, levelCode(riskLevel),
+                toBasisPoints(equity), toBasisPoints(bond), toBasisPoints(derivative)};
+    }
+
+    /**
+     * Downsampled series for one portfolio over [from, to] (whole days), aggregated by MySQL.
+     */
+    public List<RiskHistoryPoint> findSeries(long portfolioId, LocalDate from, LocalDate to, Interval interval) {
+        String sql = "SELECT " + interval.bucketExpression + " AS bucket, COUNT(*) AS samples, " +
+                "AVG(score) AS avg_score, MIN(score) AS min_score, MAX(score) AS max_score, " +
+                "AVG(equity_bp) / 100 AS avg_equity, AVG(bond_bp) / 100 AS avg_bond, AVG(derivative_bp) / 100 AS avg_derivative " +
+                "FROM " + TABLE + " WHERE portfolio_id = ? AND calculated_at >= ? AND calculated_at < ? " +
+                "GROUP BY bucket ORDER BY bucket";
+        return jdbcTemplate.query(sql, (rs, i) -> new RiskHistoryPoint(
+                        rs.getDate("bucket").toLocalDate(),
+                        rs.getLong("samples"),
+                        rs.getDouble("avg_score"),
+                        rs.getInt("min_score"),
+                        rs.getInt("max_score"),
+                        rs.getDouble("avg_equity"),
+                        rs.getDouble("avg_bond"),
+                        rs.getDouble("avg_derivative")),
+                portfolioId, Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+    }
+
+    private static byte levelCode(String riskLevel) {
+        return switch (riskLevel) {
+            case RiskModel.HIGH -> 2;
+            case RiskModel.MEDIUM -> 1;
+            default -> 0;
+        };
+    }
+
+    // Hundredths of a percent in a SMALLINT: 45.67 -> 4567 (range +/-327.67%)
+    private static short toBasisPoints(double percentage) {
+        long bp = Math.round(percentage * 100);
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, bp));
+    }
+}
@@ -2,9 +2,17 @@ package com.example.RiskScoreService.repositiory;
 
 import com.example.RiskScoreService.entity.RiskScore;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RiskScoreRepositiory extends JpaRepository<RiskScore, Long> {
     Optional<RiskScore> findByPortfolioId(Long portfolioId);
-}
\ No newline at end of file
+
+    // Pre-loads the score row ids of a whole chunk in one query: each row is [portfolioId, riskId]
+    @Query("select r.portfolioId, r.riskId from RiskScore r where r.portfolioId in :portfolioIds order by r.riskId")
+    List<Object[]> findRiskIdsByPortfolioIdIn(@Param("portfolioIds") Collection<Long> portfolioIds);
+}
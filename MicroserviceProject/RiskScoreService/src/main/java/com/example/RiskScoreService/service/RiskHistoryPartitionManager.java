@@ -0,0 +1,67 @@
+package com.example.RiskScoreService.service;
+
+import com.example.RiskScoreService.repositiory.RiskHistoryRepositiory;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Keeps risk_score_history partitioned by month: creates the table on startup, keeps
+ * {@code months-ahead} empty future partitions split off the catch-all, and, when
+ * {@code retention-months} is set, drops whole months that fall out of retention.
+ */
+@Service
+public class RiskHistoryPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(RiskHistoryPartitionManager.class);
+
+    @Autowired
+    private RiskHistoryRepositiory historyRepository;
+
+    @Value("${risk.history.months-ahead:3}")
+    private int monthsAhead;
+
+    // 0 keeps history forever
+    @Value("${risk.history.retention-months:0}")
+    private int retentionMonths;
+
+    @PostConstruct
+    public void init() {
+        historyRepository.createTableIfMissing();
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${risk.history.partition-cron:0 15 0 * * *}")
+    public synchronized void maintainPartitions() {
+        try {
+            List<String> partitions = historyRepository.monthPartitions();
+            YearMonth current = YearMonth.now();
+            YearMonth next = partitions.isEmpty()
+                    ? current
+                    : RiskHistoryRepositiory.partitionMonth(partitions.get(partitions.size() - 1)).plusMonths(1);
+            for (YearMonth last = current.plusMonths(monthsAhead); !next.isAfter(last); next = next.plusMonths(1)) {
+                historyRepository.addMonthPartition(next);
+            }
+
+            if (retentionMonths > 0) {
+                YearMonth oldestKept = current.minusMonths(retentionMonths);
+                for (String partition : partitions) {
+                    if (RiskHistoryRepositiory.partitionMonth(partition).isBefore(oldestKept)) {
+                        historyRepository.dropPartition(partition);
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            // Another instance may have changed the partitions concurrently; retried on the next run
+            log.warn("Risk history partition maintenance failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.RiskScoreService.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Weighted risk model: score = min(maxScore, round(equity * we + bond * wb + derivative * wd)),
+ * bucketed into High / Medium / Low by two thresholds. Defaults match the formula the dashboard
+ * used to compute client-side. Everything is primitive arithmetic on final fields.
+ */
+@Component
+public class RiskModel {
+
+    public static final String HIGH = "High";
+    public static final String MEDIUM = "Medium";
+    public static final String LOW = "Low";
+
+    private final double equityWeight;
+    private final double bondWeight;
+    private final double derivativeWeight;
+    private final int maxScore;
+    private final int highThreshold;
+    private final int mediumThreshold;
+
+    public RiskModel(@Value("${risk.model.equity-weight:0.7}") double equityWeight,
+                     @Value("${risk.model.bond-weight:0.3}") double bondWeight,
+                     @Value("${risk.model.derivative-weight:1.5}") double derivativeWeight,
+                     @Value("${risk.model.max-score:100}") int maxScore,
+                     @Value("${risk.model.high-threshold:75}") int highThreshold,
+                     @Value("${risk.model.medium-threshold:45}") int mediumThreshold) {
+        if (mediumThreshold > highThreshold) {
+            throw new IllegalStateException("risk.model.medium-threshold must not exceed risk.model.high-threshold");
+        }
+        this.equityWeight = equityWeight;
+        this.bondWeight = bondWeight;
+        this.derivativeWeight = derivativeWeight;
+        this.maxScore = maxScore;
+        this.highThreshold = highThreshold;
+        this.mediumThreshold = mediumThreshold;
+    }
+
+    public int score(double equity, double bond, double derivative) {
+        long raw = Math.round(equity * equityWeight + bond * bondWeight + derivative * derivativeWeight);
+        return (int) Math.max(0, Math.min(maxScore, raw));
+    }
+
+    public String level(int score) {
+        if (score >= highThreshold) return HIGH;
+        if (score >= mediumThreshold) return MEDIUM;
+        return LOW;
+    }
+}
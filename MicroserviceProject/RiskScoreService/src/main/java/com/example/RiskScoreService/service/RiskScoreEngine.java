@@ -0,0 +1,212 @@
+package com.example.RiskScoreService.service;
+
+import com.example.RiskScoreService.client.PortfolioClient;
+import com.example.RiskScoreService.dto.RecalculationSummary;
+import com.example.RiskScoreService.entity.RiskScore;
+import com.example.RiskScoreService.repositiory.RiskHistoryRepositiory;
+import com.example.RiskScoreService.repositiory.RiskScoreRepositiory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Computes risk scores from portfolio allocations with {@link RiskModel}.
+ * Full recalculation is a three-stage pipeline per chunk of portfolios:
+ * - the next chunk is fetched from portfolio-service while the current one is processed;
+ * - the chunk is scored in parallel on a dedicated fork-join pool;
+ * - existing risk ids are pre-loaded with one query and the chunk is written with JDBC batch
+ *   updates/inserts in its own short transaction.
+ * Every calculation also appends a row to the risk history, so the current score is upserted
+ * while the series keeps each value.
+ */
+@Service
+public class RiskScoreEngine {
+
+    private static final String UPDATE_SQL =
+            "UPDATE risk_score SET equity_percentage = ?, bond_percentage = ?, derivative_percentage = ?, " +
+                    "calculated_score = ?, risk_level = ?, calculation_date = ? WHERE risk_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO risk_score (portfolio_id, equity_percentage, bond_percentage, derivative_percentage, " +
+                    "calculated_score, risk_level, calculation_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private PortfolioClient portfolioClient;
+
+    @Autowired
+    private RiskScoreRepositiory riskScoreRepository;
+
+    @Autowired
+    private RiskHistoryRepositiory historyRepository;
+
+    @Autowired
+    private RiskModel riskModel;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("riskScoringPool")
+    private ForkJoinPool scoringPool;
+
+    @Autowired
+    @Qualifier("riskChunkPrefetcher")
+    private ExecutorService prefetcher;
+
+    @Value("${risk.recalculate.chunk-size:1000}")
+    private int chunkSize;
+
+    private record ScoredPortfolio(long portfolioId, double equity, double bond, double derivative,
+                                   int score, String level) {
+    }
+
+    /**
+     * Scores one portfolio and upserts its row. Returns null if the portfolio has no allocation data.
+     */
+    @Transactional
+    public RiskScore calculate(PortfolioClient.PortfolioDto portfolio) {
+        ScoredPortfolio scored = score(portfolio);
+        if (scored == null) {
+            return null;
+        }
+        RiskScore riskScore = riskScoreRepository.findByPortfolioId(scored.portfolioId()).orElseGet(RiskScore::new);
+        riskScore.setPortfolioId(scored.portfolioId());
+        riskScore.setEquityPercentage(scored.equity());
+        riskScore.setBondPercentage(scored.bond());
+        riskScore.setDerivativePercentage(scored.derivative());
+        riskScore.setCalculatedScore(scored.score());
+        riskScore.setRiskLevel(scored.level());
+        riskScore.setCalculationDate(LocalDate.now());
+        RiskScore saved = riskScoreRepository.save(riskScore);
+        historyRepository.appendBatch(List.<Object[]>of(historyRow(scored, LocalDateTime.now())));
+        return saved;
+    }
+
+    public RecalculationSummary recalculateAll() {
+        long started = System.currentTimeMillis();
+        RecalculationSummary summary = new RecalculationSummary();
+        LocalDateTime calculatedAt = LocalDateTime.now();
+
+        CompletableFuture<List<PortfolioClient.PortfolioDto>> next = fetchChunk(0L);
+        while (true) {
+            List<PortfolioClient.PortfolioDto> chunk = next.join();
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            // Only an empty chunk ends the scan: portfolio-service caps the chunk size, so a short chunk
+            // does not mean the last one
+            Long lastId = chunk.get(chunk.size() - 1).getPortfolioId();
+            boolean more = lastId != null;
+            if (more) {
+                next = fetchChunk(lastId);
+            }
+
+            processChunk(chunk, calculatedAt, summary);
+            summary.setChunks(summary.getChunks() + 1);
+            if (!more) {
+                break;
+            }
+        }
+
+        summary.setDurationMs(System.currentTimeMillis() - started);
+        return summary;
+    }
+
+    private CompletableFuture<List<PortfolioClient.PortfolioDto>> fetchChunk(long afterId) {
+        return CompletableFuture.supplyAsync(() -> portfolioClient.getPortfolioChunk(afterId, chunkSize), prefetcher);
+    }
+
+    private void processChunk(List<PortfolioClient.PortfolioDto> chunk, LocalDateTime calculatedAt, RecalculationSummary summary) {
+        List<ScoredPortfolio> scored = scoringPool.submit(() -> chunk.parallelStream()
+                .map(this::score)
+                .filter(Objects::nonNull)
+                .toList()).join();
+
+        summary.setPortfoliosScanned(summary.getPortfoliosScanned() + chunk.size());
+        summary.setPortfoliosScored(summary.getPortfoliosScored() + scored.size());
+        summary.setPortfoliosSkipped(summary.getPortfoliosSkipped() + (chunk.size() - scored.size()));
+        if (scored.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> existingRiskIds = loadExistingRiskIds(scored);
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> history = new ArrayList<>(scored.size());
+        Date calculationDate = Date.valueOf(calculatedAt.toLocalDate());
+        for (ScoredPortfolio s : scored) {
+            history.add(historyRow(s, calculatedAt));
+            Long riskId = existingRiskIds.get(s.portfolioId());
+            if (riskId != null) {
+                updates.add(new Object[]{s.equity(), s.bond(), s.derivative(), s.score(), s.level(), calculationDate, riskId});
+            } else {
+                inserts.add(new Object[]{s.portfolioId(), s.equity(), s.bond(), s.derivative(), s.score(), s.level(), calculationDate});
+            }
+            switch (s.level()) {
+                case RiskModel.HIGH -> summary.setHigh(summary.getHigh() + 1);
+                case RiskModel.MEDIUM -> summary.setMedium(summary.getMedium() + 1);
+                default -> summary.setLow(summary.getLow() + 1);
+            }
+        }
+
+        // One short transaction per chunk instead of one per portfolio
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            }
+            historyRepository.appendBatch(history);
+        });
+        summary.setScoresUpdated(summary.getScoresUpdated() + updates.size());
+        summary.setScoresInserted(summary.getScoresInserted() + inserts.size());
+    }
+
+    private static Object[] historyRow(ScoredPortfolio s, LocalDateTime calculatedAt) {
+        return RiskHistoryRepositiory.row(s.portfolioId(), calculatedAt, s.score(), s.level(),
+                s.equity(), s.bond(), s.derivative());
+    }
+
+    private ScoredPortfolio score(PortfolioClient.PortfolioDto p) {
+        if (p.getPortfolioId() == null ||
+                p.getEquityPercentage() == null ||
+                p.getBondPercentage() == null ||
+                p.getDerivativePercentage() == null) {
+            return null;
+        }
+        double equity = p.getEquityPercentage();
+        double bond = p.getBondPercentage();
+        double derivative = p.getDerivativePercentage();
+        int score = riskModel.score(equity, bond, derivative);
+        return new ScoredPortfolio(p.getPortfolioId(), equity, bond, derivative, score, riskModel.level(score));
+    }
+
+    private Map<Long, Long> loadExistingRiskIds(List<ScoredPortfolio> scored) {
+        List<Long> ids = scored.stream().map(ScoredPortfolio::portfolioId).toList();
+        Map<Long, Long> riskIds = new HashMap<>(ids.size() * 2);
+        for (Object[] row : riskScoreRepository.findRiskIdsByPortfolioIdIn(ids)) {
+            // Rows come back ordered by riskId, so the oldest score row per portfolio is the one we keep updating
+            riskIds.putIfAbsent((Long) row[0], (Long) row[1]);
+        }
+        return riskIds;
+    }
+}
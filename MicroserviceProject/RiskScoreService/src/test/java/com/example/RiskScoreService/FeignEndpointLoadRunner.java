@@ -0,0 +1,116 @@
+package com.example.RiskScoreService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load test for the Feign-bound endpoints (not part of the unit test run). Keeps {@code concurrency}
+ * requests outstanding against one URL for {@code seconds} and reports throughput and latency.
+ * Given the delay the downstream service adds per call, it also reports how many requests the
+ * service was working on at once: throughput x downstream delay (Little's law); requests beyond
+ * that were waiting in a queue.
+ * <pre>
+ * java ... FeignEndpointLoadRunner http://localhost:8304/api/risk-scores/calculate/1 POST 1000 30 200 [bearer-token]
+ * </pre>
+ * Compare runs against the same service:
+ * - {@code blocking-executor.threads=200} on Java 17: served concurrency is bounded by the pool;
+ * - {@code spring.threads.virtual.enabled=true} on Java 21: it follows the offered concurrency until
+ *   the downstream service becomes the limit.
+ * Add latency to portfolio-service (or point the URL at another Feign-bound endpoint, e.g.
+ * /api/portfolios/submit/{investorId} or /api/alerts/send/{portfolioId}) to make the difference visible.
+ */
+public class FeignEndpointLoadRunner {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: FeignEndpointLoadRunner <url> [GET|POST] [concurrency] [seconds] [downstream-delay-ms] [bearer-token]");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        String method = args.length > 1 ? args[1].toUpperCase() : "GET";
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        long downstreamDelayMs = args.length > 4 ? Long.parseLong(args[4]) : 0;
+        String token = args.length > 5 ? args[5] : null;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .method(method, "GET".equals(method) ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString("{}"));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+
+        Semaphore slots = new Semaphore(concurrency);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        LongAdder completed = new LongAdder();
+        LongAdder totalLatencyMicros = new LongAdder();
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < deadline) {
+            if (!slots.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent);
+                String outcome = error != null ? error.getClass().getSimpleName() : String.valueOf(response.statusCode());
+                outcomes.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+                latencies.add(micros);
+                totalLatencyMicros.add(micros);
+                completed.increment();
+                inFlight.decrementAndGet();
+                slots.release();
+            });
+        }
+        // Let the outstanding requests finish before reporting
+        slots.acquire(concurrency);
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        long count = completed.sum();
+        double throughput = count / elapsedSeconds;
+        double meanMillis = count == 0 ? 0 : totalLatencyMicros.sum() / 1000.0 / count;
+
+        System.out.printf("%s %s, %d client connections, %.1f s%n", method, uri, concurrency, elapsedSeconds);
+        System.out.printf("requests: %d (%s)%n", count, outcomes);
+        System.out.printf("throughput: %.1f req/s%n", throughput);
+        System.out.printf("latency ms: p50 %.1f, p99 %.1f, max %.1f, mean %.1f%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0), meanMillis);
+        System.out.printf("in flight: peak %d, average %.0f (throughput x mean latency)%n",
+                peakInFlight.get(), throughput * meanMillis / 1000.0);
+        if (downstreamDelayMs > 0) {
+            System.out.printf("served concurrently: %.0f (throughput x %d ms downstream delay)%n",
+                    throughput * downstreamDelayMs / 1000.0, downstreamDelayMs);
+        }
+    }
+
+    private static double percentile(long[] sortedMicros, double p) {
+        if (sortedMicros.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedMicros.length - 1, Math.ceil(p * sortedMicros.length) - 1);
+        return sortedMicros[Math.max(0, index)] / 1000.0;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.RiskScoreService;
+
+import com.example.common.client.PooledFeignTransport;
+import com.example.common.config.FeignTransportProperties;
+import feign.Client;
+import feign.Feign;
+import feign.Param;
+import feign.Request;
+import feign.RequestLine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark for the Feign transport (not part of the unit test run): calls getPortfolioById with
+ * {@code threads} concurrent callers for {@code seconds}, first over Feign's default HttpURLConnection
+ * client and then over {@link PooledFeignTransport}, and prints throughput and p50/p99/max latency of each.
+ * <pre>
+ * java ... FeignTransportBenchmark http://localhost:8303 1 64 30 [warmup-seconds] [max-connections-per-route]
+ * </pre>
+ * Point it straight at a portfolio-service instance (not the gateway) so only the transport differs.
+ */
+public class FeignTransportBenchmark {
+
+    interface PortfolioApi {
+        @RequestLine("GET /api/portfolios/{id}")
+        String getPortfolioById(@Param("id") Long id);
+    }
+
+    private record Result(String name, long calls, long errors, double seconds, long[] sortedMicros) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: FeignTransportBenchmark <portfolio-service-url> [portfolioId] [threads] [seconds] [warmup-seconds] [max-connections-per-route]");
+            System.exit(2);
+        }
+        String url = args[0];
+        long portfolioId = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        int warmupSeconds = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+
+        FeignTransportProperties properties = new FeignTransportProperties();
+        properties.setMaxConnectionsPerRoute(args.length > 5 ? Integer.parseInt(args[5]) : threads);
+        properties.setMaxConnections(Math.max(properties.getMaxConnections(), properties.getMaxConnectionsPerRoute()));
+        PooledFeignTransport pooled = new PooledFeignTransport(properties);
+
+        List<Result> results = new ArrayList<>();
+        try {
+            results.add(run("HttpURLConnection", new Client.Default(null, null), url, portfolioId, threads, seconds, warmupSeconds));
+            results.add(run("pooled HttpClient 5", pooled, url, portfolioId, threads, seconds, warmupSeconds));
+            System.out.println("pool after run: " + pooled.stats());
+        } finally {
+            pooled.close();
+        }
+
+        System.out.printf("%nGET %s/api/portfolios/%d, %d threads, %d s each%n", url, portfolioId, threads, seconds);
+        System.out.printf("%-20s %10s %8s %10s %9s %9s %9s%n", "transport", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Result r : results) {
+            System.out.printf("%-20s %10.1f %8d %10.2f %9.2f %9.2f %9.2f%n", r.name(), r.calls() / r.seconds(), r.errors(),
+                    percentile(r.sortedMicros(), 0.50), percentile(r.sortedMicros(), 0.99),
+                    percentile(r.sortedMicros(), 0.999), percentile(r.sortedMicros(), 1.0));
+        }
+    }
+
+    private static Result run(String name, Client client, String url, long portfolioId,
+                              int threads, int seconds, int warmupSeconds) throws InterruptedException {
+        PortfolioApi api = Feign.builder()
+                .client(client)
+                .options(new Request.Options(2, TimeUnit.SECONDS, 10, TimeUnit.SECONDS, true))
+                .target(PortfolioApi.class, url);
+
+        load(api, portfolioId, threads, warmupSeconds, null);
+        Map<Thread, long[]> perThread = new ConcurrentHashMap<>();
+        LongAdder errors = new LongAdder();
+        long started = System.nanoTime();
+        long calls = load(api, portfolioId, threads, seconds, (latencies, failures) -> {
+            perThread.put(Thread.currentThread(), latencies);
+            errors.add(failures);
+        });
+        double elapsed = (System.nanoTime() - started) / 1e9;
+
+        long[] all = perThread.values().stream().flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(all);
+        System.out.printf("%s: %d calls in %.1f s%n", name, calls, elapsed);
+        return new Result(name, calls, errors.sum(), elapsed, all);
+    }
+
+    private interface Recorder {
+        void record(long[] latencies, long failures);
+    }
+
+    // Every thread calls back-to-back until the deadline; returns the number of successful calls
+    private static long load(PortfolioApi api, long portfolioId, int threads, int seconds, Recorder recorder)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        LongAdder calls = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                long failures = 0;
+                while (System.nanoTime() < deadline) {
+                    long sent = System.nanoTime();
+                    try {
+                        api.getPortfolioById(portfolioId);
+                    } catch (RuntimeException e) {
+                        failures++;
+                        continue;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent);
+                }
+                calls.add(count);
+                if (recorder != null) {
+                    recorder.record(Arrays.copyOf(latencies, count), failures);
+                }
+                done.countDown();
+            }, "bench-" + i);
+            worker.start();
+        }
+        done.await();
+        return calls.sum();
+    }
+
+    private static double percentile(long[] sortedMicros, double p) {
+        if (sortedMicros.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedMicros.length - 1, Math.ceil(p * sortedMicros.length) - 1);
+        return sortedMicros[Math.max(0, index)] / 1000.0;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.common.client;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Authorization for every outgoing Feign call, so the called service's AccessTokenFilter accepts it:
+ * - the caller's bearer token, when the call is made on the thread serving that caller's request;
+ * - otherwise (scheduled jobs, calls handed to an executor) this service's token from {@link ServiceTokenSource}.
+ * A call that already sets Authorization is left alone.
+ */
+@Component
+public class BearerTokenRelay implements RequestInterceptor {
+
+    private final ServiceTokenSource serviceTokens;
+
+    public BearerTokenRelay(ServiceTokenSource serviceTokens) {
+        this.serviceTokens = serviceTokens;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if (template.headers().containsKey(HttpHeaders.AUTHORIZATION)) {
+            return;
+        }
+        String callerAuthorization = callerAuthorization();
+        if (callerAuthorization != null) {
+            template.header(HttpHeaders.AUTHORIZATION, callerAuthorization);
+        } else if (serviceTokens.isConfigured()) {
+            template.header(HttpHeaders.AUTHORIZATION, "Bearer " + serviceTokens.token());
+        }
+    }
+
+    private static String callerAuthorization() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            String header = attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+            if (header != null && header.startsWith("Bearer ")) {
+                return header;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,484 @@
+package com.example.common.client;
+
+import com.example.common.config.FeignResilienceProperties;
+import feign.Client;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resilience layer applied to every Feign call (the load-balanced Feign {@link Client} bean is wrapped
+ * by {@link #wrap}, see FeignResilienceConfig). Per client (Feign client name):
+ * - bulkhead: at most {@code max-concurrent-calls} calls in flight, callers wait up to {@code max-wait-ms};
+ * - circuit breaker: opens when the failure rate over the last calls reaches the threshold, then lets
+ *   {@code half-open-calls} trial calls through after {@code open-ms};
+ * - hedging (opt-in): idempotent calls unanswered after {@code hedge-delay-ms} are sent a second time,
+ *   which the round-robin load balancer routes to the next instance; the first good answer wins.
+ * Rejected calls never reach the network: they get a local 503 (header {@value #REJECTED_HEADER}),
+ * which Feign turns into a FeignException like any other 503. Counters are kept per client and method.
+ */
+@Component
+public class FeignResilience {
+
+    public static final String REJECTED_HEADER = "X-Feign-Rejected";
+
+    private final FeignResilienceProperties properties;
+    private final ThreadPoolExecutor hedgeExecutor;
+    private final Map<String, ClientGuard> guards = new ConcurrentHashMap<>();
+    private final Map<String, MethodStats> methods = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FeignResilience(FeignResilienceProperties properties) {
+        this.properties = properties;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hedgeExecutor = new ThreadPoolExecutor(0, Math.max(2, properties.getHedgeThreads()),
+                60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            Thread t = new Thread(r, "feign-hedge-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    public Client wrap(Client delegate) {
+        return (request, options) -> execute(delegate, request, options);
+    }
+
+    Response execute(Client delegate, Request request, Request.Options options) throws IOException {
+        if (!properties.isEnabled()) {
+            return delegate.execute(request, options);
+        }
+        String clientName = clientName(request);
+        ClientGuard guard = guards.computeIfAbsent(clientName.toLowerCase(Locale.ROOT), n -> new ClientGuard(properties.resolve(clientName)));
+        MethodStats stats = methods.computeIfAbsent(clientName + " " + methodKey(request), k -> new MethodStats());
+        stats.calls.increment();
+
+        if (!guard.acquireBulkhead()) {
+            stats.bulkheadRejected.increment();
+            return rejected(request, "bulkhead-full", "Too many concurrent calls to " + clientName, 1);
+        }
+        CircuitBreaker.State admittedIn = guard.breaker.tryAcquire();
+        if (admittedIn == null) {
+            guard.bulkhead.release();
+            stats.circuitRejected.increment();
+            return rejected(request, "circuit-open", "Circuit open for " + clientName,
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(guard.breaker.retryAfterMs() + 999)));
+        }
+
+        long started = System.nanoTime();
+        try {
+            Response response = hedgeable(request, guard.settings)
+                    ? executeHedged(delegate, request, options, guard, stats)
+                    : delegate.execute(request, options);
+            boolean failed = response.status() >= 500;
+            guard.breaker.record(admittedIn, !failed);
+            (failed ? stats.failures : stats.successes).increment();
+            return response;
+        } catch (IOException | RuntimeException e) {
+            guard.breaker.record(admittedIn, false);
+            stats.failures.increment();
+            if (isTimeout(e)) {
+                stats.timeouts.increment();
+            }
+            throw e;
+        } finally {
+            stats.record(System.nanoTime() - started);
+            guard.bulkhead.release();
+        }
+    }
+
+    private Response executeHedged(Client delegate, Request request, Request.Options options,
+                                   ClientGuard guard, MethodStats stats) throws IOException {
+        CompletableFuture<Response> primary;
+        try {
+            primary = CompletableFuture.supplyAsync(() -> call(delegate, request, options), hedgeExecutor);
+        } catch (RejectedExecutionException e) {
+            // Hedge threads all busy: plain call on the caller's thread
+            return delegate.execute(request, options);
+        }
+        try {
+            return primary.get(guard.settings.getHedgeDelayMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Slow primary: fall through and hedge
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeWhenDone(primary);
+            throw new InterruptedIOException("Interrupted waiting for " + request.url());
+        }
+
+        CompletableFuture<Response> hedge = null;
+        // The backup attempt takes its own bulkhead slot and is skipped while the breaker is not closed
+        if (guard.breaker.isClosed() && guard.bulkhead.tryAcquire()) {
+            try {
+                hedge = CompletableFuture.supplyAsync(() -> call(delegate, request, options), hedgeExecutor);
+                hedge.whenComplete((r, e) -> guard.bulkhead.release());
+                stats.hedges.increment();
+            } catch (RejectedExecutionException e) {
+                guard.bulkhead.release();
+            }
+        }
+        CompletableFuture<Response> winner = hedge == null ? primary : firstGood(primary, hedge);
+        try {
+            Response response = winner.get();
+            if (hedge != null && hedge.isDone() && !hedge.isCompletedExceptionally() && hedge.getNow(null) == response) {
+                stats.hedgeWins.increment();
+            }
+            return response;
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeWhenDone(primary);
+            if (hedge != null) {
+                closeWhenDone(hedge);
+            }
+            throw new InterruptedIOException("Interrupted waiting for " + request.url());
+        }
+    }
+
+    // Completes with the first non-5xx response; otherwise with the outcome of the attempt that finished last
+    private static CompletableFuture<Response> firstGood(CompletableFuture<Response> a, CompletableFuture<Response> b) {
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(2);
+        for (CompletableFuture<Response> attempt : List.of(a, b)) {
+            attempt.whenComplete((response, error) -> {
+                boolean last = remaining.decrementAndGet() == 0;
+                boolean good = error == null && response.status() < 500;
+                if (good || last) {
+                    boolean completed = error != null ? result.completeExceptionally(error) : result.complete(response);
+                    if (!completed && response != null) {
+                        response.close();
+                    }
+                } else if (response != null) {
+                    response.close();
+                }
+            });
+        }
+        return result;
+    }
+
+    private static Response call(Client delegate, Request request, Request.Options options) {
+        try {
+            return delegate.execute(request, options);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void closeWhenDone(CompletableFuture<Response> attempt) {
+        attempt.thenAccept(Response::close);
+    }
+
+    private static IOException rethrow(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof UncheckedIOException unchecked) {
+            return unchecked.getCause();
+        }
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new IOException(cause);
+    }
+
+    private static boolean hedgeable(Request request, FeignResilienceProperties.Settings settings) {
+        if (!settings.getHedgeEnabled()) {
+            return false;
+        }
+        if (request.httpMethod() == Request.HttpMethod.GET) {
+            return true;
+        }
+        String method = methodKey(request);
+        int hash = method.indexOf('#');
+        int paren = method.indexOf('(');
+        String name = hash >= 0 && paren > hash ? method.substring(hash + 1, paren) : method;
+        return settings.getHedgeMethods().contains(name);
+    }
+
+    private static Response rejected(Request request, String reason, String message, long retryAfterSeconds) {
+        Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.put(REJECTED_HEADER, List.of(reason));
+        headers.put("Retry-After", List.of(String.valueOf(retryAfterSeconds)));
+        return Response.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .reason(message)
+                .request(request)
+                .headers(headers)
+                .body(message, StandardCharsets.UTF_8)
+                .build();
+    }
+
+    private static String clientName(Request request) {
+        if (request.requestTemplate() != null && request.requestTemplate().feignTarget() != null) {
+            return request.requestTemplate().feignTarget().name();
+        }
+        return "unknown";
+    }
+
+    private static String methodKey(Request request) {
+        if (request.requestTemplate() != null && request.requestTemplate().methodMetadata() != null) {
+            return request.requestTemplate().methodMetadata().configKey();
+        }
+        return request.httpMethod().name();
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof SocketTimeoutException || t instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Status a caller should answer with when a call through this layer failed:
+     * 404 when the remote said so, 503 when the call was rejected (or the remote was unavailable),
+     * 504 on a timeout and 502 for anything else.
+     */
+    public static HttpStatus statusOf(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof FeignException feign) {
+            if (feign.status() == 404) {
+                return HttpStatus.NOT_FOUND;
+            }
+            if (feign.status() == 503) {
+                return HttpStatus.SERVICE_UNAVAILABLE;
+            }
+            if (feign.status() == 504) {
+                return HttpStatus.GATEWAY_TIMEOUT;
+            }
+        }
+        return isTimeout(cause) ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.BAD_GATEWAY;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> clients = new TreeMap<>();
+        guards.forEach((name, guard) -> clients.put(name, guard.stats()));
+        Map<String, Object> byMethod = new TreeMap<>();
+        methods.forEach((key, stats) -> byMethod.put(key, stats.snapshot()));
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("clients", clients);
+        stats.put("methods", byMethod);
+        stats.put("hedgeThreadsActive", hedgeExecutor.getActiveCount());
+        return stats;
+    }
+
+    private static final class ClientGuard {
+        final FeignResilienceProperties.Settings settings;
+        final Semaphore bulkhead;
+        final CircuitBreaker breaker;
+
+        ClientGuard(FeignResilienceProperties.Settings settings) {
+            this.settings = settings;
+            this.bulkhead = new Semaphore(settings.getMaxConcurrentCalls());
+            this.breaker = new CircuitBreaker(settings);
+        }
+
+        boolean acquireBulkhead() {
+            if (settings.getMaxWaitMs() <= 0) {
+                return bulkhead.tryAcquire();
+            }
+            try {
+                return bulkhead.tryAcquire(settings.getMaxWaitMs(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>(breaker.stats());
+            stats.put("inFlight", settings.getMaxConcurrentCalls() - bulkhead.availablePermits());
+            stats.put("maxConcurrentCalls", settings.getMaxConcurrentCalls());
+            stats.put("hedgeEnabled", settings.getHedgeEnabled());
+            return stats;
+        }
+    }
+
+    /**
+     * Count-based circuit breaker. Outcomes of calls admitted in a state the breaker has since left are ignored.
+     */
+    static final class CircuitBreaker {
+
+        enum State { CLOSED, OPEN, HALF_OPEN }
+
+        private final boolean[] window;
+        private final int minimumCalls;
+        private final int failureRateThreshold;
+        private final long openNanos;
+        private final int halfOpenCalls;
+
+        // Guarded by this
+        private State state = State.CLOSED;
+        private int next;
+        private int recorded;
+        private int failures;
+        private long openedAt;
+        private int halfOpenStarted;
+        private int halfOpenSucceeded;
+        private long timesOpened;
+
+        CircuitBreaker(FeignResilienceProperties.Settings settings) {
+            this.window = new boolean[Math.max(1, settings.getSlidingWindowSize())];
+            this.minimumCalls = Math.max(1, Math.min(settings.getMinimumCalls(), window.length));
+            this.failureRateThreshold = settings.getFailureRateThreshold();
+            this.openNanos = TimeUnit.MILLISECONDS.toNanos(settings.getOpenMs());
+            this.halfOpenCalls = Math.max(1, settings.getHalfOpenCalls());
+        }
+
+        /**
+         * @return the state the call is admitted in, or null if it must be rejected
+         */
+        synchronized State tryAcquire() {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return null;
+                }
+                state = State.HALF_OPEN;
+                halfOpenStarted = 0;
+                halfOpenSucceeded = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenStarted >= halfOpenCalls) {
+                    return null;
+                }
+                halfOpenStarted++;
+            }
+            return state;
+        }
+
+        synchronized void record(State admittedIn, boolean success) {
+            if (admittedIn != state) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                if (!success) {
+                    open();
+                } else if (++halfOpenSucceeded >= halfOpenCalls) {
+                    state = State.CLOSED;
+                    next = 0;
+                    recorded = 0;
+                    failures = 0;
+                }
+                return;
+            }
+            if (recorded == window.length && !window[next]) {
+                failures--;
+            }
+            window[next] = !success;
+            if (!success) {
+                failures++;
+            }
+            next = (next + 1) % window.length;
+            recorded = Math.min(recorded + 1, window.length);
+            if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+                open();
+            }
+        }
+
+        synchronized boolean isClosed() {
+            return state == State.CLOSED;
+        }
+
+        synchronized long retryAfterMs() {
+            return state == State.OPEN
+                    ? Math.max(0, TimeUnit.NANOSECONDS.toMillis(openNanos - (System.nanoTime() - openedAt)))
+                    : 0;
+        }
+
+        private void open() {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            timesOpened++;
+        }
+
+        synchronized Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("state", state.name());
+            stats.put("failureRate", recorded == 0 ? 0.0 : 100.0 * failures / recorded);
+            stats.put("windowCalls", recorded);
+            stats.put("timesOpened", timesOpened);
+            return stats;
+        }
+    }
+
+    private static final class MethodStats {
+        final LongAdder calls = new LongAdder();
+        final LongAdder successes = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder timeouts = new LongAdder();
+        final LongAdder bulkheadRejected = new LongAdder();
+        final LongAdder circuitRejected = new LongAdder();
+        final LongAdder hedges = new LongAdder();
+        final LongAdder hedgeWins = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder timed = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            totalNanos.add(nanos);
+            timed.increment();
+            maxNanos.accumulate(nanos);
+        }
+
+        Map<String, Object> snapshot() {
+            long count = timed.sum();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("calls", calls.sum());
+            stats.put("successes", successes.sum());
+            stats.put("failures", failures.sum());
+            stats.put("timeouts", timeouts.sum());
+            stats.put("bulkheadRejected", bulkheadRejected.sum());
+            stats.put("circuitRejected", circuitRejected.sum());
+            stats.put("hedges", hedges.sum());
+            stats.put("hedgeWins", hedgeWins.sum());
+            stats.put("meanMs", count == 0 ? 0.0 : totalNanos.sum() / 1e6 / count);
+            stats.put("maxMs", maxNanos.get() / 1e6);
+            return stats;
+        }
+    }
+}
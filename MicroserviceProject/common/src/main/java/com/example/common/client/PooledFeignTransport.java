@@ -0,0 +1,214 @@
+package com.example.common.client;
+
+import com.example.common.config.FeignTransportProperties;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Feign transport on a pooled Apache HttpClient 5, replacing the default one-connection-per-call
+ * HttpURLConnection client underneath the load balancer (see FeignTransportConfig).
+ * - Keep-alive connections are pooled: at most {@code max-connections} in total and, per service
+ *   instance, the {@code max-connections-per-route} of the Feign client calling it.
+ * - A call waits at most {@code lease-timeout-ms} for a free connection.
+ * - Idle connections are evicted after {@code idle-evict-ms}; stale ones are re-validated before reuse.
+ * - Responses may be gzip-compressed (Accept-Encoding is sent; bodies are inflated transparently).
+ * Connect and read timeouts still come from the Feign client's options. No automatic retries:
+ * FeignResilience decides whether a call is repeated.
+ */
+public class PooledFeignTransport implements Client {
+
+    private final FeignTransportProperties properties;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final Set<HttpRoute> configuredRoutes = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder leaseTimeouts = new LongAdder();
+    private final LongAdder ioErrors = new LongAdder();
+
+    public PooledFeignTransport(FeignTransportProperties properties) {
+        this.properties = properties;
+        ConnectionConfig.Builder connectionConfig = ConnectionConfig.custom()
+                .setValidateAfterInactivity(TimeValue.ofMilliseconds(properties.getValidateAfterInactivityMs()));
+        if (properties.getTimeToLiveMs() > 0) {
+            connectionConfig.setTimeToLive(TimeValue.ofMilliseconds(properties.getTimeToLiveMs()));
+        }
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setDefaultConnectionConfig(connectionConfig.build())
+                .build();
+
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .disableAutomaticRetries()
+                .disableCookieManagement()
+                .evictExpiredConnections();
+        if (properties.getIdleEvictMs() > 0) {
+            builder.evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleEvictMs()));
+        }
+        if (!properties.isCompression()) {
+            builder.disableContentCompression();
+        }
+        this.httpClient = builder.build();
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        URI uri = URI.create(request.url());
+        limitRoute(uri, request);
+        requests.increment();
+
+        HttpUriRequestBase httpRequest = new HttpUriRequestBase(request.httpMethod().name(), uri);
+        httpRequest.setConfig(requestConfig(options));
+        String contentType = null;
+        for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+            String name = header.getKey();
+            // The client computes these itself from the entity
+            if (name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH) || name.equalsIgnoreCase(HttpHeaders.TRANSFER_ENCODING)) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                httpRequest.addHeader(name, value);
+                if (name.equalsIgnoreCase(HttpHeaders.CONTENT_TYPE)) {
+                    contentType = value;
+                }
+            }
+        }
+        if (request.body() != null) {
+            httpRequest.setEntity(new ByteArrayEntity(request.body(), contentType == null ? null : ContentType.parse(contentType)));
+        }
+
+        ClassicHttpResponse response;
+        try {
+            response = httpClient.executeOpen(null, httpRequest, null);
+        } catch (ConnectionRequestTimeoutException e) {
+            leaseTimeouts.increment();
+            throw e;
+        } catch (IOException e) {
+            ioErrors.increment();
+            throw e;
+        }
+        return toFeignResponse(request, response);
+    }
+
+    @SuppressWarnings("deprecation")
+    private RequestConfig requestConfig(Request.Options options) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(properties.getLeaseTimeoutMs()))
+                // Per-request connect timeout, so each Feign client keeps its own setting
+                .setConnectTimeout(options.connectTimeout(), options.connectTimeoutUnit())
+                .setResponseTimeout(options.readTimeout(), options.readTimeoutUnit())
+                .setRedirectsEnabled(options.isFollowRedirects())
+                .build();
+    }
+
+    // Applies the calling client's per-route limit the first time an instance is seen
+    private void limitRoute(URI uri, Request request) {
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() >= 0 ? uri.getPort() : (secure ? 443 : 80);
+        HttpRoute route = new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port), null, secure);
+        if (configuredRoutes.add(route)) {
+            String clientName = request.requestTemplate() != null && request.requestTemplate().feignTarget() != null
+                    ? request.requestTemplate().feignTarget().name()
+                    : "";
+            connectionManager.setMaxPerRoute(route, properties.maxPerRouteFor(clientName));
+        }
+    }
+
+    private static Response toFeignResponse(Request request, ClassicHttpResponse response) throws IOException {
+        Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Header header : response.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), k -> new ArrayList<>()).add(header.getValue());
+        }
+        Response.Builder builder = Response.builder()
+                .status(response.getCode())
+                .reason(response.getReasonPhrase())
+                .headers(headers)
+                .request(request);
+
+        HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            response.close();
+            return builder.build();
+        }
+        long length = entity.getContentLength();
+        // Closing the body returns the connection to the pool once the entity has been read to the end
+        InputStream content = new FilterInputStream(entity.getContent()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    response.close();
+                }
+            }
+        };
+        return builder.body(content, length >= 0 && length <= Integer.MAX_VALUE ? (int) length : null).build();
+    }
+
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    public Map<String, Object> stats() {
+        PoolStats total = connectionManager.getTotalStats();
+        Map<String, Object> routes = new TreeMap<>();
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            PoolStats stats = connectionManager.getStats(route);
+            Map<String, Object> routeStats = new LinkedHashMap<>();
+            routeStats.put("leased", stats.getLeased());
+            routeStats.put("available", stats.getAvailable());
+            routeStats.put("pending", stats.getPending());
+            routeStats.put("max", stats.getMax());
+            routes.put(route.getTargetHost().toURI(), routeStats);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("leased", total.getLeased());
+        stats.put("available", total.getAvailable());
+        stats.put("pending", total.getPending());
+        stats.put("max", total.getMax());
+        stats.put("utilisation", total.getMax() == 0 ? 0.0 : (double) total.getLeased() / total.getMax());
+        stats.put("requests", requests.sum());
+        stats.put("leaseTimeouts", leaseTimeouts.sum());
+        stats.put("ioErrors", ioErrors.sum());
+        stats.put("routes", routes);
+        return stats;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.common.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This service's own access token, for calls made without a user's token (scheduled jobs, background threads),
+ * from admin-user-service's client-credentials endpoint, e.g.
+ * <pre>
+ * security.service-token.uri=http://localhost:8307/internal/service-token
+ * security.service-token.client-id=portfolio-service
+ * security.service-token.client-secret=${SERVICE_CLIENT_SECRET:}
+ * </pre>
+ * - Cached, and fetched again {@code refresh-before-seconds} before it expires; concurrent callers share one fetch.
+ * - Without a uri or secret {@link #isConfigured()} is false and such calls go out unauthenticated.
+ */
+@Component
+public class ServiceTokenSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceTokenSource.class);
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final URI uri;
+    private final String basicCredentials;
+    private final long refreshBeforeSeconds;
+    private final HttpClient httpClient;
+
+    private record CachedToken(String value, long refreshAtNanos) {
+    }
+
+    private volatile CachedToken cached;
+
+    public ServiceTokenSource(ObjectMapper objectMapper,
+                              @Value("${security.service-token.uri:}") String uri,
+                              @Value("${security.service-token.client-id:}") String clientId,
+                              @Value("${security.service-token.client-secret:}") String clientSecret,
+                              @Value("${security.service-token.refresh-before-seconds:60}") long refreshBeforeSeconds) {
+        this.objectMapper = objectMapper;
+        boolean configured = !uri.isBlank() && !clientId.isBlank() && !clientSecret.isBlank();
+        this.uri = configured ? URI.create(uri.trim()) : null;
+        this.basicCredentials = configured ? "Basic " + Base64.getEncoder().encodeToString(
+                (clientId.trim() + ":" + clientSecret).getBytes(StandardCharsets.UTF_8)) : null;
+        this.refreshBeforeSeconds = refreshBeforeSeconds;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        if (!configured) {
+            log.warn("security.service-token is not configured; calls made without a user token carry no credential");
+        }
+    }
+
+    public boolean isConfigured() {
+        return uri != null;
+    }
+
+    /**
+     * @return a bearer token valid for at least {@code refresh-before-seconds} more
+     * @throws IllegalStateException if not configured or the token cannot be fetched
+     */
+    public String token() {
+        CachedToken current = cached;
+        if (current != null && System.nanoTime() - current.refreshAtNanos() < 0) {
+            return current.value();
+        }
+        synchronized (this) {
+            current = cached;
+            if (current == null || System.nanoTime() - current.refreshAtNanos() >= 0) {
+                current = fetch();
+                cached = current;
+            }
+            return current.value();
+        }
+    }
+
+    private CachedToken fetch() {
+        if (!isConfigured()) {
+            throw new IllegalStateException("security.service-token is not configured");
+        }
+        try {
+            HttpResponse<byte[]> response = httpClient.send(
+                    HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5))
+                            .header(HttpHeaders.AUTHORIZATION, basicCredentials)
+                            .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Service token request to " + uri + " answered " + response.statusCode());
+            }
+            Map<String, Object> document = objectMapper.readValue(response.body(), JSON_OBJECT);
+            if (!(document.get("token") instanceof String token) || !(document.get("expiresIn") instanceof Number expiresIn)) {
+                throw new IllegalStateException("Malformed service token response from " + uri);
+            }
+            long refreshInSeconds = Math.max(0, expiresIn.longValue() - refreshBeforeSeconds);
+            return new CachedToken(token, System.nanoTime() + TimeUnit.SECONDS.toNanos(refreshInSeconds));
+        } catch (IOException e) {
+            throw new IllegalStateException("Service token request to " + uri + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching a service token", e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.common.config;
+
+import com.example.common.util.AccessTokenVerifier;
+import com.example.common.util.JwksKeySet;
+import com.example.common.util.LocalSigningKeys;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Verifies bearer access tokens in this service instead of trusting that the gateway did.
+ * - A request carrying a token that is invalid or expired is answered 401.
+ * - A request without a token is answered 401 too, unless {@code security.access-token.required=false}.
+ *   Feign calls between services carry the caller's token or a service token (see BearerTokenRelay).
+ * - Paths under {@code open-paths} (public endpoints only, e.g. /actuator/health) are not checked at all.
+ * There is no switch to turn verification off: a token that is sent is always checked.
+ * The subject and role of a verified token are left in request attributes for controllers; endpoints that
+ * change shared state check them with {@link #hasAnyRole}.
+ * Issuer public keys come from {@code security.access-token.jwks-uris}, cached and refreshed by JwksKeySet;
+ * an issuer's own keys are looked up first in its {@link LocalSigningKeys} bean, if it has one.
+ * Servlet services opt in with {@code @Import(AccessTokenFilter.class)}.
+ */
+@Component
+public class AccessTokenFilter extends OncePerRequestFilter {
+
+    public static final String SUBJECT_ATTR = AccessTokenFilter.class.getName() + ".subject";
+    public static final String ROLE_ATTR = AccessTokenFilter.class.getName() + ".role";
+    // Staff roles issued by admin-user-service, and service tokens
+    public static final Set<String> OPERATOR_ROLES = Set.of("COMPLIANCE_OFFICER", "ASSET_MANAGER", "SERVICE");
+
+    private final JwksKeySet keySet;
+    private final AccessTokenVerifier verifier;
+    private final boolean required;
+    private final List<String> openPaths;
+
+    public AccessTokenFilter(ObjectMapper objectMapper, ObjectProvider<LocalSigningKeys> localKeys,
+                             @Value("${security.access-token.jwks-uris:}") String[] jwksUris,
+                             @Value("${security.access-token.jwks-refresh-seconds:300}") long jwksRefreshSeconds,
+                             @Value("${security.access-token.jwks-min-refetch-seconds:10}") long jwksMinRefetchSeconds,
+                             @Value("${security.access-token.clock-skew-seconds:30}") long clockSkewSeconds,
+                             @Value("${security.access-token.required:true}") boolean required,
+                             @Value("${security.access-token.open-paths:/actuator/health}") String[] openPaths) {
+        this.keySet = new JwksKeySet(objectMapper, Arrays.stream(jwksUris).map(String::trim).filter(u -> !u.isEmpty())
+                .map(URI::create).toList(), jwksRefreshSeconds, jwksMinRefetchSeconds);
+        this.keySet.start();
+        LocalSigningKeys own = localKeys.getIfAvailable();
+        this.verifier = new AccessTokenVerifier(own == null ? keySet::find : kid -> {
+            PublicKey key = own.publicKey(kid);
+            return key != null ? key : keySet.find(kid);
+        }, objectMapper, clockSkewSeconds);
+        this.required = required;
+        this.openPaths = Arrays.stream(openPaths).map(String::trim).filter(p -> !p.isEmpty()).toList();
+    }
+
+    /**
+     * True when the request carried a verified token with one of {@code roles}; false without a token.
+     */
+    public static boolean hasAnyRole(HttpServletRequest request, Set<String> roles) {
+        Object role = request.getAttribute(ROLE_ATTR);
+        return role != null && roles.contains(role);
+    }
+
+    @Override
+    public void destroy() {
+        keySet.close();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return openPaths.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            if (required) {
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Access token required");
+                return;
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+        Map<String, Object> claims;
+        try {
+            claims = verifier.verify(header.substring(7).trim());
+        } catch (AccessTokenVerifier.InvalidTokenException e) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid access token: " + e.getMessage());
+            return;
+        }
+        request.setAttribute(SUBJECT_ATTR, claims.get("sub"));
+        request.setAttribute(ROLE_ATTR, claims.get("role"));
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.common.config;
+
+import com.example.common.client.PooledFeignTransport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/feignpool shows the Feign transport's connection pool: leased / available / pending, overall and per instance.
+ * Registered by {@link FeignTransportConfig}, so it is absent with {@code feign.transport.pooled=false}.
+ */
+@Endpoint(id = "feignpool")
+public class FeignPoolEndpoint {
+
+    @Autowired
+    private PooledFeignTransport feignTransport;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return feignTransport.stats();
+    }
+}
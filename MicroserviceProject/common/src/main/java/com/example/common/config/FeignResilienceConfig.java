@@ -0,0 +1,34 @@
+package com.example.common.config;
+
+import com.example.common.client.FeignResilience;
+import feign.Client;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Bulkhead, circuit breaker and hedging for every Feign client, with their state at /actuator/feignresilience;
+ * services opt in with {@code @Import(FeignResilienceConfig.class)}.
+ */
+@Configuration
+@Import({FeignResilience.class, FeignResilienceProperties.class, FeignResilienceEndpoint.class})
+public class FeignResilienceConfig {
+
+    /**
+     * Wraps the load-balancing Feign {@link Client} bean so every {@code @FeignClient} call passes through
+     * {@link FeignResilience}; transports underneath it are left alone, so a hedged attempt is load-balanced
+     * again. Static, as BeanPostProcessors must be created before ordinary beans.
+     */
+    @Bean
+    public static BeanPostProcessor feignResiliencePostProcessor(ObjectProvider<FeignResilience> resilience) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof FeignBlockingLoadBalancerClient client ? resilience.getObject().wrap(client) : bean;
+            }
+        };
+    }
+}
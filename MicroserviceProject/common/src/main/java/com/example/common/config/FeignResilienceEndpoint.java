@@ -0,0 +1,24 @@
+package com.example.common.config;
+
+import com.example.common.client.FeignResilience;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/feignresilience shows breaker state and bulkhead use per Feign client, and call counters per method.
+ * Registered by {@link FeignResilienceConfig}; the service adds it to management.endpoints.web.exposure.include.
+ */
+@Endpoint(id = "feignresilience")
+public class FeignResilienceEndpoint {
+
+    @Autowired
+    private FeignResilience feignResilience;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return feignResilience.stats();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulkhead, circuit-breaker and hedging settings for the Feign clients, e.g.
+ * <pre>
+ * feign.resilience.defaults.max-concurrent-calls=50
+ * feign.resilience.clients.portfolio-service.hedge-enabled=true
+ * </pre>
+ * Client names are matched case-insensitively; unset per-client values fall back to the defaults.
+ * Connect/read timeouts stay in {@code spring.cloud.openfeign.client.config.<client>.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "feign.resilience")
+public class FeignResilienceProperties {
+
+    private boolean enabled = true;
+    // Threads that run hedged GETs (primary and backup attempt)
+    private int hedgeThreads = 32;
+    private Settings defaults = Settings.builtIn();
+    private Map<String, Settings> clients = new LinkedHashMap<>();
+
+    public static class Settings {
+        // Bulkhead: calls in flight to this client, and how long a caller may wait for a slot
+        private Integer maxConcurrentCalls;
+        private Long maxWaitMs;
+        // Circuit breaker over the last sliding-window-size calls (5xx and I/O errors count as failures)
+        private Integer slidingWindowSize;
+        private Integer minimumCalls;
+        private Integer failureRateThreshold;
+        private Long openMs;
+        private Integer halfOpenCalls;
+        // Hedging: a GET still unanswered after hedge-delay-ms is sent again (normally to another
+        // instance, the load balancer being round-robin) and the first good answer wins.
+        private Boolean hedgeEnabled;
+        private Long hedgeDelayMs;
+        // Non-GET methods that are safe to hedge (read-only POSTs), by Java method name
+        private List<String> hedgeMethods;
+
+        static Settings builtIn() {
+            Settings s = new Settings();
+            s.maxConcurrentCalls = 50;
+            s.maxWaitMs = 0L;
+            s.slidingWindowSize = 20;
+            s.minimumCalls = 10;
+            s.failureRateThreshold = 50;
+            s.openMs = 10000L;
+            s.halfOpenCalls = 3;
+            s.hedgeEnabled = false;
+            s.hedgeDelayMs = 150L;
+            s.hedgeMethods = new ArrayList<>();
+            return s;
+        }
+
+        Settings orElse(Settings fallback) {
+            Settings s = new Settings();
+            s.maxConcurrentCalls = maxConcurrentCalls != null ? maxConcurrentCalls : fallback.maxConcurrentCalls;
+            s.maxWaitMs = maxWaitMs != null ? maxWaitMs : fallback.maxWaitMs;
+            s.slidingWindowSize = slidingWindowSize != null ? slidingWindowSize : fallback.slidingWindowSize;
+            s.minimumCalls = minimumCalls != null ? minimumCalls : fallback.minimumCalls;
+            s.failureRateThreshold = failureRateThreshold != null ? failureRateThreshold : fallback.failureRateThreshold;
+            s.openMs = openMs != null ? openMs : fallback.openMs;
+            s.halfOpenCalls = halfOpenCalls != null ? halfOpenCalls : fallback.halfOpenCalls;
+            s.hedgeEnabled = hedgeEnabled != null ? hedgeEnabled : fallback.hedgeEnabled;
+            s.hedgeDelayMs = hedgeDelayMs != null ? hedgeDelayMs : fallback.hedgeDelayMs;
+            s.hedgeMethods = hedgeMethods != null ? hedgeMethods : fallback.hedgeMethods;
+            return s;
+        }
+
+        public Integer getMaxConcurrentCalls() { return maxConcurrentCalls; }
+        public void setMaxConcurrentCalls(Integer maxConcurrentCalls) { this.maxConcurrentCalls = maxConcurrentCalls; }
+
+        public Long getMaxWaitMs() { return maxWaitMs; }
+        public void setMaxWaitMs(Long maxWaitMs) { this.maxWaitMs = maxWaitMs; }
+
+        public Integer getSlidingWindowSize() { return slidingWindowSize; }
+        public void setSlidingWindowSize(Integer slidingWindowSize) { this.slidingWindowSize = slidingWindowSize; }
+
+        public Integer getMinimumCalls() { return minimumCalls; }
+        public void setMinimumCalls(Integer minimumCalls) { this.minimumCalls = minimumCalls; }
+
+        public Integer getFailureRateThreshold() { return failureRateThreshold; }
+        public void setFailureRateThreshold(Integer failureRateThreshold) { this.failureRateThreshold = failureRateThreshold; }
+
+        public Long getOpenMs() { return openMs; }
+        public void setOpenMs(Long openMs) { this.openMs = openMs; }
+
+        public Integer getHalfOpenCalls() { return halfOpenCalls; }
+        public void setHalfOpenCalls(Integer halfOpenCalls) { this.halfOpenCalls = halfOpenCalls; }
+
+        public Boolean getHedgeEnabled() { return hedgeEnabled; }
+        public void setHedgeEnabled(Boolean hedgeEnabled) { this.hedgeEnabled = hedgeEnabled; }
+
+        public Long getHedgeDelayMs() { return hedgeDelayMs; }
+        public void setHedgeDelayMs(Long hedgeDelayMs) { this.hedgeDelayMs = hedgeDelayMs; }
+
+        public List<String> getHedgeMethods() { return hedgeMethods; }
+        public void setHedgeMethods(List<String> hedgeMethods) { this.hedgeMethods = hedgeMethods; }
+    }
+
+    /**
+     * Effective settings for one client: its own entry over the defaults over the built-in values.
+     */
+    public Settings resolve(String clientName) {
+        Settings base = defaults.orElse(Settings.builtIn());
+        for (Map.Entry<String, Settings> entry : clients.entrySet()) {
+            if (entry.getKey().toLowerCase(Locale.ROOT).equals(clientName.toLowerCase(Locale.ROOT))) {
+                return entry.getValue().orElse(base);
+            }
+        }
+        return base;
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getHedgeThreads() { return hedgeThreads; }
+    public void setHedgeThreads(int hedgeThreads) { this.hedgeThreads = hedgeThreads; }
+
+    public Settings getDefaults() { return defaults; }
+    public void setDefaults(Settings defaults) { this.defaults = defaults; }
+
+    public Map<String, Settings> getClients() { return clients; }
+    public void setClients(Map<String, Settings> clients) { this.clients = clients; }
+}
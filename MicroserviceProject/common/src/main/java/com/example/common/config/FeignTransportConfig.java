@@ -0,0 +1,39 @@
+package com.example.common.config;
+
+import com.example.common.client.PooledFeignTransport;
+import feign.Client;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.LoadBalancerFeignRequestTransformer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Puts {@link PooledFeignTransport} under the load-balancing Feign client, with its pool at /actuator/feignpool.
+ * With {@code feign.transport.pooled=false} Spring Cloud's default (HttpURLConnection) client is used instead.
+ * Services opt in with {@code @Import(FeignTransportConfig.class)}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "feign.transport.pooled", havingValue = "true", matchIfMissing = true)
+@Import({FeignTransportProperties.class, FeignPoolEndpoint.class})
+public class FeignTransportConfig {
+
+    @Bean(destroyMethod = "close")
+    public PooledFeignTransport pooledFeignTransport(FeignTransportProperties properties) {
+        return new PooledFeignTransport(properties);
+    }
+
+    // Same client Spring Cloud would create, over the pooled transport; its presence disables the default one
+    @Bean
+    public Client feignClient(PooledFeignTransport transport,
+                              LoadBalancerClient loadBalancerClient,
+                              LoadBalancerClientFactory loadBalancerClientFactory,
+                              ObjectProvider<LoadBalancerFeignRequestTransformer> transformers) {
+        return new FeignBlockingLoadBalancerClient(transport, loadBalancerClient, loadBalancerClientFactory,
+                transformers.orderedStream().toList());
+    }
+}
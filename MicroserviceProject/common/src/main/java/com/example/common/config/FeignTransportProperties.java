@@ -0,0 +1,80 @@
+package com.example.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection pool of the Feign transport ({@link FeignTransportConfig}), e.g.
+ * <pre>
+ * feign.transport.max-connections=200
+ * feign.transport.max-connections-per-route=50
+ * feign.transport.clients.portfolio-service.max-connections-per-route=100
+ * </pre>
+ * A route is one service instance (host:port); its limit comes from the Feign client that calls it.
+ */
+@Component
+@ConfigurationProperties(prefix = "feign.transport")
+public class FeignTransportProperties {
+
+    private boolean pooled = true;
+    private int maxConnections = 200;
+    private int maxConnectionsPerRoute = 50;
+    // Per Feign client name (case-insensitive)
+    private Map<String, Client> clients = new LinkedHashMap<>();
+    // How long a call may wait for a free pooled connection before failing
+    private long leaseTimeoutMs = 1000;
+    // Idle connections are closed after this long; 0 keeps them until the server closes them
+    private long idleEvictMs = 30000;
+    // Connections are never reused beyond this age; 0 means no limit
+    private long timeToLiveMs = 0;
+    // A connection idle for longer than this is checked before it is reused
+    private long validateAfterInactivityMs = 2000;
+    // Ask for gzip responses (decompressed transparently by the client)
+    private boolean compression = true;
+
+    public static class Client {
+        private Integer maxConnectionsPerRoute;
+
+        public Integer getMaxConnectionsPerRoute() { return maxConnectionsPerRoute; }
+        public void setMaxConnectionsPerRoute(Integer maxConnectionsPerRoute) { this.maxConnectionsPerRoute = maxConnectionsPerRoute; }
+    }
+
+    public int maxPerRouteFor(String clientName) {
+        for (Map.Entry<String, Client> entry : clients.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(clientName) && entry.getValue().getMaxConnectionsPerRoute() != null) {
+                return entry.getValue().getMaxConnectionsPerRoute();
+            }
+        }
+        return maxConnectionsPerRoute;
+    }
+
+    public boolean isPooled() { return pooled; }
+    public void setPooled(boolean pooled) { this.pooled = pooled; }
+
+    public int getMaxConnections() { return maxConnections; }
+    public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+
+    public int getMaxConnectionsPerRoute() { return maxConnectionsPerRoute; }
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) { this.maxConnectionsPerRoute = maxConnectionsPerRoute; }
+
+    public Map<String, Client> getClients() { return clients; }
+    public void setClients(Map<String, Client> clients) { this.clients = clients; }
+
+    public long getLeaseTimeoutMs() { return leaseTimeoutMs; }
+    public void setLeaseTimeoutMs(long leaseTimeoutMs) { this.leaseTimeoutMs = leaseTimeoutMs; }
+
+    public long getIdleEvictMs() { return idleEvictMs; }
+    public void setIdleEvictMs(long idleEvictMs) { this.idleEvictMs = idleEvictMs; }
+
+    public long getTimeToLiveMs() { return timeToLiveMs; }
+    public void setTimeToLiveMs(long timeToLiveMs) { this.timeToLiveMs = timeToLiveMs; }
+
+    public long getValidateAfterInactivityMs() { return validateAfterInactivityMs; }
+    public void setValidateAfterInactivityMs(long validateAfterInactivityMs) { this.validateAfterInactivityMs = validateAfterInactivityMs; }
+
+    public boolean isCompression() { return compression; }
+    public void setCompression(boolean compression) { this.compression = compression; }
+}
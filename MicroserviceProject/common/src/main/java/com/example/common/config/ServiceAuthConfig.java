@@ -0,0 +1,15 @@
+package com.example.common.config;
+
+import com.example.common.client.BearerTokenRelay;
+import com.example.common.client.ServiceTokenSource;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Authenticates every outgoing Feign call with the caller's token or this service's own
+ * ({@link BearerTokenRelay}); services that call others opt in with {@code @Import(ServiceAuthConfig.class)}.
+ */
+@Configuration
+@Import({ServiceTokenSource.class, BearerTokenRelay.class})
+public class ServiceAuthConfig {
+}
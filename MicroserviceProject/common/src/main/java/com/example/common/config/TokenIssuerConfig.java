@@ -0,0 +1,25 @@
+package com.example.common.config;
+
+import com.example.common.controller.JwksController;
+import com.example.common.entity.SigningKey;
+import com.example.common.repositiory.SigningKeyRepositiory;
+import com.example.common.service.RefreshTokenService;
+import com.example.common.service.SigningKeyService;
+import com.example.common.service.TokenRevocationService;
+import com.example.common.util.SigningKeyCipher;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Signing keys and their JWKS, refresh tokens and access-token revocation for the services that issue
+ * tokens (investor-service, admin-user-service); they opt in with {@code @Import(TokenIssuerConfig.class)}.
+ * The shared entities and repositories are scanned along with the service's own, so the service must not
+ * narrow JPA scanning with @EntityScan or @EnableJpaRepositories.
+ */
+@Configuration
+@AutoConfigurationPackage(basePackageClasses = {SigningKey.class, SigningKeyRepositiory.class})
+@Import({SigningKeyCipher.class, SigningKeyService.class, RefreshTokenService.class, TokenRevocationService.class,
+        JwksController.class})
+public class TokenIssuerConfig {
+}
@@ -0,0 +1,23 @@
+package com.example.common.controller;
+
+import com.example.common.service.SigningKeyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Public keys for verifying this service's access tokens, fetched by the gateway and the other services.
+ */
+@RestController
+public class JwksController {
+
+    @Autowired
+    private SigningKeyService signingKeys;
+
+    @GetMapping("/.well-known/jwks.json")
+    public Map<String, Object> jwks() {
+        return signingKeys.jwks();
+    }
+}
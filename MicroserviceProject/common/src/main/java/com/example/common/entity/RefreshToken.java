@@ -0,0 +1,55 @@
+package com.example.common.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One issued refresh token. Only the SHA-256 of the opaque token is stored, never the token itself.
+ * Every rotation creates a new row in the same family and marks the old one used; presenting a used
+ * token again revokes the whole family (the token was copied, so every session derived from it is cut).
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = @Index(name = "idx_refresh_tokens_family", columnList = "familyId"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false)
+    private String role;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Set when rotated (used) or revoked; a token is only accepted while this is null
+    private LocalDateTime revokedAt;
+
+    public RefreshToken(String tokenHash, String familyId, String subject, String role, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.subject = subject;
+        this.role = role;
+        this.createdAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+    }
+}
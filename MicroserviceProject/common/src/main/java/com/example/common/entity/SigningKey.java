@@ -0,0 +1,54 @@
+package com.example.common.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One EC P-256 key pair used to sign access tokens (ES256), kept in the database so every instance of the
+ * service signs with the same key and tokens stay verifiable across restarts.
+ * A key is published in the JWKS from {@code createdAt} and signs from {@code activatesAt} on.
+ */
+@Entity
+@Table(name = "signing_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SigningKey {
+
+    // RFC 7638 thumbprint of the public key
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    // X.509 SubjectPublicKeyInfo, Base64
+    @Column(nullable = false, length = 512)
+    private String publicKey;
+
+    // PKCS#8 encrypted by SigningKeyCipher (legacy rows: plain PKCS#8, Base64, re-encrypted on load)
+    @Column(nullable = false, length = 512)
+    private String privateKey;
+
+    // 1, 2, 3, ... per rotation; unique, so when several instances rotate at once only one new key is kept
+    @Column(unique = true)
+    private Long generation;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime activatesAt;
+
+    public SigningKey(String kid, String publicKey, String privateKey, Long generation,
+                      LocalDateTime createdAt, LocalDateTime activatesAt) {
+        this.kid = kid;
+        this.publicKey = publicKey;
+        this.privateKey = privateKey;
+        this.generation = generation;
+        this.createdAt = createdAt;
+        this.activatesAt = activatesAt;
+    }
+}
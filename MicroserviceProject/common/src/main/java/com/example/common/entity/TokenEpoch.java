@@ -0,0 +1,36 @@
+package com.example.common.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Every access token of {@code subject} issued before {@code notBefore} (epoch milliseconds, compared with the
+ * token's iatMs claim) is revoked; set on password changes and resets, and when a spent refresh token is
+ * presented again. Kept until all such tokens have expired.
+ */
+@Entity
+@Table(name = "token_epochs", indexes = @Index(name = "idx_token_epochs_expires", columnList = "expiresAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class TokenEpoch {
+
+    @Id
+    private String subject;
+
+    @Column(nullable = false)
+    private long notBefore;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    public TokenEpoch(String subject, long notBefore, LocalDateTime expiresAt) {
+        this.subject = subject;
+        this.notBefore = notBefore;
+        this.expiresAt = expiresAt;
+    }
+}
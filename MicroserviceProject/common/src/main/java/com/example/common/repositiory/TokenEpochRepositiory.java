@@ -0,0 +1,21 @@
+package com.example.common.repositiory;
+
+import com.example.common.entity.TokenEpoch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenEpochRepositiory extends JpaRepository<TokenEpoch, String> {
+
+    List<TokenEpoch> findByExpiresAtAfter(LocalDateTime now);
+
+    @Modifying
+    @Query("delete from TokenEpoch e where e.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
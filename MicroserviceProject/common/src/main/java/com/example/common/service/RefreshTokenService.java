@@ -0,0 +1,124 @@
+package com.example.common.service;
+
+import com.example.common.entity.RefreshToken;
+import com.example.common.repositiory.RefreshTokenRepositiory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Opaque refresh tokens: 256 random bits handed to the client once, stored only as a SHA-256 hash
+ * (a fast hash is enough for a random secret of that size, so refreshing never touches BCrypt).
+ * - {@link #rotate} spends a token and issues its successor in the same family.
+ * - A spent token presented again revokes the family: whoever holds the latest token has to log in again.
+ * - {@link #revokeAll} revokes every token of a subject (investor-service: on a password change or reset).
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepositiory repository;
+
+    @Autowired
+    private TokenRevocationService revocations;
+
+    @Value("${auth.refresh-token.ttl-days:14}")
+    private long ttlDays;
+
+    public record Rotation(String refreshToken, String subject, String role) {
+    }
+
+    // Starts a new token family (one per login)
+    @Transactional
+    public String issue(String subject, String role) {
+        return create(UUID.randomUUID().toString(), subject, role);
+    }
+
+    /**
+     * Exchanges a refresh token for its successor. Empty if the token is unknown, expired, already spent
+     * (which also revokes its family) or was spent by a concurrent request.
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Optional.empty();
+        }
+        Optional<RefreshToken> found = repository.findByTokenHash(hash(rawToken));
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        RefreshToken token = found.get();
+        LocalDateTime now = LocalDateTime.now();
+        if (token.getRevokedAt() != null) {
+            int revoked = repository.revokeFamily(token.getFamilyId(), now);
+            // The copied token may have been refreshed already: access tokens issued from it are cut too
+            revocations.revokeIssuedBefore(token.getSubject());
+            log.warn("Spent refresh token reused for {}; revoked {} token(s) of its family", token.getSubject(), revoked);
+            return Optional.empty();
+        }
+        if (!token.getExpiresAt().isAfter(now) || repository.markUsed(token.getId(), now) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new Rotation(create(token.getFamilyId(), token.getSubject(), token.getRole()),
+                token.getSubject(), token.getRole()));
+    }
+
+    // Logout: revokes the session the token belongs to; false if the token is unknown
+    @Transactional
+    public boolean revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return false;
+        }
+        return repository.findByTokenHash(hash(rawToken))
+                .map(token -> {
+                    repository.revokeFamily(token.getFamilyId(), LocalDateTime.now());
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Transactional
+    public int revokeAll(String subject) {
+        return repository.revokeSubject(subject, LocalDateTime.now());
+    }
+
+    @Scheduled(cron = "${auth.refresh-token.purge-cron:0 45 2 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        repository.deleteExpiredBefore(LocalDateTime.now());
+    }
+
+    private String create(String familyId, String subject, String role) {
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+        repository.save(new RefreshToken(hash(rawToken), familyId, subject, role, LocalDateTime.now().plusDays(ttlDays)));
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
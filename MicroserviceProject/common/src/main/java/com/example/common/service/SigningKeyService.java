@@ -0,0 +1,211 @@
+package com.example.common.service;
+
+import com.example.common.entity.SigningKey;
+import com.example.common.repositiory.SigningKeyRepositiory;
+import com.example.common.util.LocalSigningKeys;
+import com.example.common.util.SigningKeyCipher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rotating EC P-256 keys for signing access tokens (ES256), published as a JWKS for the gateway and the services.
+ * - A new key is created every {@code auth.signing-keys.rotation-hours}. It is published at once but only signs
+ *   {@code publish-ahead-seconds} later, so verifiers refreshing their key sets pick it up before the first token.
+ * - A replaced key stays published until every token it signed has expired (access-token TTL plus a minute).
+ * - Keys live in signing_keys and every instance reloads them each {@code reload-seconds}; keep that well
+ *   below {@code publish-ahead-seconds} so all instances switch to a new key together.
+ * - Private keys are stored encrypted ({@link SigningKeyCipher}). Each key has a unique generation number, so
+ *   when several instances rotate at the same time one insert wins and the others load the winner's key.
+ */
+@Service
+public class SigningKeyService implements LocalSigningKeys {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyService.class);
+    private static final long RETIRE_GRACE_SECONDS = 60;
+    private static final int COORDINATE_BYTES = 32;
+    private static final Base64.Encoder URL_BASE64 = Base64.getUrlEncoder().withoutPadding();
+
+    @Autowired
+    private SigningKeyRepositiory repository;
+
+    @Autowired
+    private SigningKeyCipher cipher;
+
+    @Value("${auth.signing-keys.rotation-hours:24}")
+    private long rotationHours;
+
+    @Value("${auth.signing-keys.publish-ahead-seconds:600}")
+    private long publishAheadSeconds;
+
+    @Value("${auth.access-token.ttl-seconds:900}")
+    private long accessTokenTtlSeconds;
+
+    public record ActiveKey(String kid, PrivateKey privateKey) {
+    }
+
+    private record LoadedKey(String kid, ECPublicKey publicKey, PrivateKey privateKey, LocalDateTime activatesAt) {
+    }
+
+    // Newest activation first; replaced as a whole on every reload
+    private volatile List<LoadedKey> keys;
+
+    /**
+     * The key new tokens are signed with: the most recently activated one.
+     */
+    public ActiveKey activeKey() {
+        List<LoadedKey> current = loadedKeys();
+        LocalDateTime now = LocalDateTime.now();
+        for (LoadedKey key : current) {
+            if (!key.activatesAt().isAfter(now)) {
+                return new ActiveKey(key.kid(), key.privateKey());
+            }
+        }
+        throw new IllegalStateException("No active signing key");
+    }
+
+    // Null if the kid is not (or no longer) published
+    @Override
+    public PublicKey publicKey(String kid) {
+        for (LoadedKey key : loadedKeys()) {
+            if (key.kid().equals(kid)) {
+                return key.publicKey();
+            }
+        }
+        return null;
+    }
+
+    public Map<String, Object> jwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (LoadedKey key : loadedKeys()) {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            jwk.put("kid", key.kid());
+            jwk.put("x", coordinate(key.publicKey().getW().getAffineX()));
+            jwk.put("y", coordinate(key.publicKey().getW().getAffineY()));
+            jwks.add(jwk);
+        }
+        return Map.of("keys", jwks);
+    }
+
+    /**
+     * Creates the next key when the newest one is older than the rotation interval, deletes keys no token
+     * can still be signed with, and reloads the key ring. Runs at startup and every {@code reload-seconds}.
+     */
+    @Scheduled(fixedDelayString = "${auth.signing-keys.reload-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public synchronized void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        List<SigningKey> stored = new ArrayList<>(repository.findAllByOrderByActivatesAtDescKidDesc());
+        if (stored.isEmpty() || !stored.get(0).getCreatedAt().plusHours(rotationHours).isAfter(now)) {
+            // The very first key has to sign at once; every later one is published ahead of use
+            LocalDateTime activatesAt = stored.isEmpty() ? now : now.plusSeconds(publishAheadSeconds);
+            Long newest = stored.isEmpty() ? null : stored.get(0).getGeneration();
+            long generation = newest == null ? 1 : newest + 1;
+            try {
+                SigningKey created = repository.saveAndFlush(generate(generation, now, activatesAt));
+                stored.add(0, created);
+                log.info("Created signing key {} (generation {}), signing from {}", created.getKid(), generation, activatesAt);
+            } catch (DataIntegrityViolationException e) {
+                log.info("Signing key generation {} was created by another instance", generation);
+                stored = new ArrayList<>(repository.findAllByOrderByActivatesAtDescKidDesc());
+            }
+        }
+
+        // Key i stopped signing when key i-1 activated; once its last token has expired, it and all older keys go
+        for (int i = 1; i < stored.size(); i++) {
+            LocalDateTime replacedAt = stored.get(i - 1).getActivatesAt();
+            if (replacedAt.plusSeconds(accessTokenTtlSeconds + RETIRE_GRACE_SECONDS).isBefore(now)) {
+                List<SigningKey> retired = stored.subList(i, stored.size());
+                repository.deleteAll(new ArrayList<>(retired));
+                log.info("Retired {} signing key(s)", retired.size());
+                retired.clear();
+                break;
+            }
+        }
+        keys = stored.stream().map(this::load).toList();
+    }
+
+    private List<LoadedKey> loadedKeys() {
+        List<LoadedKey> current = keys;
+        if (current == null) {
+            reload();
+            current = keys;
+        }
+        return current;
+    }
+
+    private SigningKey generate(long generation, LocalDateTime now, LocalDateTime activatesAt) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair pair = generator.generateKeyPair();
+            String kid = thumbprint((ECPublicKey) pair.getPublic());
+            return new SigningKey(kid, Base64.getEncoder().encodeToString(pair.getPublic().getEncoded()),
+                    cipher.encrypt(kid, pair.getPrivate().getEncoded()), generation, now, activatesAt);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private LoadedKey load(SigningKey key) {
+        try {
+            KeyFactory factory = KeyFactory.getInstance("EC");
+            ECPublicKey publicKey = (ECPublicKey) factory.generatePublic(
+                    new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey())));
+            byte[] pkcs8 = cipher.decrypt(key.getKid(), key.getPrivateKey());
+            PrivateKey privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(pkcs8));
+            if (!cipher.isEncrypted(key.getPrivateKey())) {
+                key.setPrivateKey(cipher.encrypt(key.getKid(), pkcs8));
+                repository.save(key);
+                log.info("Encrypted stored signing key {}", key.getKid());
+            }
+            return new LoadedKey(key.getKid(), publicKey, privateKey, key.getActivatesAt());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unreadable signing key " + key.getKid(), e);
+        }
+    }
+
+    // RFC 7638: SHA-256 over the required members in lexicographic order, without whitespace
+    static String thumbprint(ECPublicKey key) throws GeneralSecurityException {
+        String members = "{\"crv\":\"P-256\",\"kty\":\"EC\",\"x\":\"" + coordinate(key.getW().getAffineX())
+                + "\",\"y\":\"" + coordinate(key.getW().getAffineY()) + "\"}";
+        return URL_BASE64.encodeToString(MessageDigest.getInstance("SHA-256").digest(members.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    // JWK coordinates are fixed-length big-endian, without BigInteger's sign byte
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[COORDINATE_BYTES];
+        int length = Math.min(bytes.length, COORDINATE_BYTES);
+        System.arraycopy(bytes, bytes.length - length, fixed, COORDINATE_BYTES - length, length);
+        return URL_BASE64.encodeToString(fixed);
+    }
+}
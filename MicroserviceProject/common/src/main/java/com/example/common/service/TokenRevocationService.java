@@ -0,0 +1,91 @@
+package com.example.common.service;
+
+import com.example.common.entity.RevokedToken;
+import com.example.common.entity.TokenEpoch;
+import com.example.common.repositiory.RevokedTokenRepositiory;
+import com.example.common.repositiory.TokenEpochRepositiory;
+import com.example.common.util.SubjectHash;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Revocation of access tokens before their expiry, enforced by the gateway from {@link #snapshot()}.
+ * - One token, by jti: {@link #revokeToken} (logout).
+ * - Every token of a subject issued so far: {@link #revokeIssuedBefore} (password change or reset,
+ *   refresh-token reuse). Stored as a per-subject epoch compared with the token's iat, so it needs no jti list.
+ * Entries are dropped once the tokens they cover have expired, which keeps the snapshot small.
+ * The snapshot lists subjects by {@link SubjectHash}, not in the clear.
+ */
+@Service
+public class TokenRevocationService {
+
+    // Covers clock skew between this service and the verifiers
+    private static final long EXPIRY_GRACE_SECONDS = 60;
+
+    @Autowired
+    private RevokedTokenRepositiory revokedTokens;
+
+    @Autowired
+    private TokenEpochRepositiory epochs;
+
+    @Value("${auth.access-token.ttl-seconds:900}")
+    private long accessTokenTtlSeconds;
+
+    @Transactional
+    public void revokeToken(String jti, String subject, Date expiresAt) {
+        if (jti == null || subject == null || expiresAt == null) {
+            return;
+        }
+        revokedTokens.save(new RevokedToken(jti, subject,
+                LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()).plusSeconds(EXPIRY_GRACE_SECONDS)));
+    }
+
+    /**
+     * Revokes the subject's access tokens issued up to now. The epoch is in milliseconds and compared with
+     * the tokens' iatMs claim, so a token issued right after the change, in the same second, stays valid.
+     */
+    @Transactional
+    public void revokeIssuedBefore(String subject) {
+        long notBefore = Instant.now().toEpochMilli();
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(accessTokenTtlSeconds + EXPIRY_GRACE_SECONDS);
+        TokenEpoch epoch = epochs.findById(subject).orElseGet(() -> new TokenEpoch(subject, notBefore, expiresAt));
+        epoch.setNotBefore(Math.max(epoch.getNotBefore(), notBefore));
+        epoch.setExpiresAt(expiresAt);
+        epochs.save(epoch);
+    }
+
+    /**
+     * Everything currently revoked: {@code revokedTokenIds} (jti) and {@code notBefore} (subject -> epoch milliseconds).
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> snapshot() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("generatedAt", Instant.now().getEpochSecond());
+        List<String> tokenIds = revokedTokens.findByExpiresAtAfter(now).stream().map(RevokedToken::getJti).toList();
+        snapshot.put("revokedTokenIds", tokenIds);
+        snapshot.put("notBefore", epochs.findByExpiresAtAfter(now).stream()
+                .collect(Collectors.toMap(epoch -> SubjectHash.of(epoch.getSubject()), TokenEpoch::getNotBefore)));
+        return snapshot;
+    }
+
+    @Scheduled(cron = "${auth.revocation.purge-cron:0 */10 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokens.deleteExpiredBefore(now);
+        epochs.deleteExpiredBefore(now);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.common.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Verifies the access tokens issued by investor-service / admin-user-service (ES256 JWTs) locally,
+ * with the JDK's ECDSA only, so a service does not depend on the gateway having checked them.
+ * The public key is looked up by the token's kid (see JwksKeySet); the Signature is reused per thread.
+ */
+public class AccessTokenVerifier {
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+
+    // JOSE encodes an ECDSA signature as R || S, which is the JDK's P1363 format (no DER conversion)
+    private static final String SIGNATURE_ALGORITHM = "SHA256withECDSAinP1363Format";
+    private static final int SIGNATURE_BYTES = 64;
+
+    private final Function<String, PublicKey> keys;
+    private final ObjectMapper objectMapper;
+    private final long clockSkewSeconds;
+    private final ThreadLocal<Signature> signatures;
+
+    public static class InvalidTokenException extends RuntimeException {
+        public InvalidTokenException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * @param keys issuer public key by kid, null if unknown
+     */
+    public AccessTokenVerifier(Function<String, PublicKey> keys, ObjectMapper objectMapper, long clockSkewSeconds) {
+        this.keys = keys;
+        this.objectMapper = objectMapper;
+        this.clockSkewSeconds = clockSkewSeconds;
+        this.signatures = ThreadLocal.withInitial(() -> {
+            try {
+                return Signature.getInstance(SIGNATURE_ALGORITHM);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * @return the token's claims
+     * @throws InvalidTokenException if the token is malformed, not ES256, signed by an unknown key or badly,
+     *                               expired or not yet valid
+     */
+    public Map<String, Object> verify(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = token.indexOf('.', firstDot + 1);
+        if (firstDot < 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        Map<String, Object> header = decodeJson(token.substring(0, firstDot));
+        // Only the algorithm the issuers use; "none" and algorithm confusion are rejected here
+        if (!"ES256".equals(header.get("alg"))) {
+            throw new InvalidTokenException("Unsupported algorithm");
+        }
+        PublicKey key = header.get("kid") instanceof String kid ? keys.apply(kid) : null;
+        if (key == null) {
+            throw new InvalidTokenException("Unknown signing key");
+        }
+
+        byte[] signature;
+        try {
+            signature = Base64.getUrlDecoder().decode(token.substring(secondDot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed signature");
+        }
+        if (signature.length != SIGNATURE_BYTES || !signatureMatches(key, token.substring(0, secondDot), signature)) {
+            throw new InvalidTokenException("Bad signature");
+        }
+
+        Map<String, Object> claims = decodeJson(token.substring(firstDot + 1, secondDot));
+        long now = System.currentTimeMillis() / 1000;
+        if (!(claims.get("exp") instanceof Number exp) || now > exp.longValue() + clockSkewSeconds) {
+            throw new InvalidTokenException("Token expired");
+        }
+        if (claims.get("nbf") instanceof Number nbf && now + clockSkewSeconds < nbf.longValue()) {
+            throw new InvalidTokenException("Token not yet valid");
+        }
+        return claims;
+    }
+
+    private boolean signatureMatches(PublicKey key, String signingInput, byte[] signature) {
+        Signature verifier = signatures.get();
+        try {
+            verifier.initVerify(key);
+            verifier.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return verifier.verify(signature);
+        } catch (GeneralSecurityException e) {
+            return false;
+        }
+    }
+
+    private Map<String, Object> decodeJson(String base64Url) {
+        try {
+            return objectMapper.readValue(Base64.getUrlDecoder().decode(base64Url), JSON_OBJECT);
+        } catch (Exception e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.common.util;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the blocking part of async controller methods (Feign calls, JPA saves) so Tomcat's request
+ * threads are released while a downstream service answers.
+ * - With {@code spring.threads.virtual.enabled=true} on a Java 21+ runtime, every task gets its own
+ *   virtual thread (Tomcat's request threads are then virtual as well).
+ * - Otherwise a bounded platform pool of {@code blocking-executor.threads} threads and a queue of
+ *   {@code queue-capacity}; when both are full the task is rejected and the endpoint answers 503.
+ * Deliberately not an Executor bean, so Spring Boot's applicationTaskExecutor is left in place.
+ * Services opt in with {@code @Import(BlockingCallExecutor.class)}.
+ */
+@Component
+public class BlockingCallExecutor {
+
+    private final Executor executor;
+    private final ExecutorService pool;
+    private final boolean virtual;
+
+    public BlockingCallExecutor(Environment environment,
+                                @Value("${blocking-executor.threads:200}") int threads,
+                                @Value("${blocking-executor.queue-capacity:2000}") int queueCapacity) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+        if (virtual) {
+            SimpleAsyncTaskExecutor virtualThreads = new SimpleAsyncTaskExecutor("blocking-call-");
+            virtualThreads.setVirtualThreads(true);
+            this.executor = virtualThreads;
+            this.pool = null;
+        } else {
+            AtomicInteger counter = new AtomicInteger();
+            this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    r -> {
+                        Thread thread = new Thread(r, "blocking-call-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            this.executor = pool;
+        }
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // For thenApplyAsync/handleAsync stages; a rejection completes the stage exceptionally
+    public Executor executor() {
+        return executor;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * True if the failure is this executor turning the task away (answer 503, not 5xx/4xx).
+     */
+    public static boolean isRejected(Throwable error) {
+        return unwrap(error) instanceof RejectedExecutionException;
+    }
+
+    public static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    // Re-throws a failure from an exceptionally() stage unchanged
+    public static CompletionException propagate(Throwable error) {
+        return error instanceof CompletionException ce ? ce : new CompletionException(error);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor virtualThreads) {
+            virtualThreads.close();
+        }
+    }
+}
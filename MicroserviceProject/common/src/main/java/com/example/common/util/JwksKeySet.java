@@ -0,0 +1,171 @@
+package com.example.common.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Public keys of the token issuers (investor-service, admin-user-service), fetched from their JWKS endpoints
+ * and looked up by kid, so access tokens are verified without a shared secret.
+ * - Fetched on {@link #start()}, then refreshed every {@code refreshSeconds} on a background thread;
+ *   a failed fetch keeps that issuer's previous keys.
+ * - An unknown kid schedules an early refresh, at most one per {@code minRefetchSeconds}. The issuers publish
+ *   a key before they sign with it, so after a rotation lookups normally hit without waiting for one.
+ */
+public class JwksKeySet implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeySet.class);
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+    private static final ECParameterSpec P256 = p256();
+
+    private final ObjectMapper objectMapper;
+    private final List<URI> uris;
+    private final long refreshSeconds;
+    private final long minRefetchNanos;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong lastRefetch;
+
+    private final Map<URI, Map<String, PublicKey>> keysBySource = new ConcurrentHashMap<>();
+    // All issuers' keys merged, replaced as a whole on every load
+    private volatile Map<String, PublicKey> keys = Map.of();
+
+    public JwksKeySet(ObjectMapper objectMapper, List<URI> uris, long refreshSeconds, long minRefetchSeconds) {
+        this.objectMapper = objectMapper;
+        this.uris = List.copyOf(uris);
+        this.refreshSeconds = refreshSeconds;
+        this.minRefetchNanos = TimeUnit.SECONDS.toNanos(minRefetchSeconds);
+        this.lastRefetch = new AtomicLong(System.nanoTime() - minRefetchNanos);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // First fetch on the caller's thread, so keys are there before the first request
+    public void start() {
+        if (!uris.isEmpty()) {
+            refresh();
+            scheduler.scheduleWithFixedDelay(this::refresh, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * @return the public key for {@code kid}, or null if no issuer currently publishes it
+     */
+    public PublicKey find(String kid) {
+        PublicKey key = kid == null ? null : keys.get(kid);
+        if (key == null) {
+            requestRefresh();
+        }
+        return key;
+    }
+
+    public Set<String> keyIds() {
+        return keys.keySet();
+    }
+
+    // Fetches every issuer's key set; also what the background thread runs
+    public void refresh() {
+        for (URI uri : uris) {
+            try {
+                HttpResponse<byte[]> response = httpClient.send(
+                        HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build(),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() != 200) {
+                    log.warn("JWKS fetch from {} answered {}", uri, response.statusCode());
+                    continue;
+                }
+                load(uri, response.body());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("JWKS fetch from {} failed: {}", uri, e.toString());
+            }
+        }
+    }
+
+    /**
+     * Replaces the keys of one issuer with the EC P-256 keys in a JWKS document; other key types are ignored.
+     */
+    public synchronized void load(URI source, byte[] jwksJson) throws IOException, GeneralSecurityException {
+        Map<String, Object> document = objectMapper.readValue(jwksJson, JSON_OBJECT);
+        Map<String, PublicKey> parsed = new HashMap<>();
+        if (document.get("keys") instanceof List<?> entries) {
+            for (Object entry : entries) {
+                if (entry instanceof Map<?, ?> jwk && "EC".equals(jwk.get("kty")) && "P-256".equals(jwk.get("crv"))
+                        && jwk.get("kid") instanceof String kid
+                        && jwk.get("x") instanceof String x && jwk.get("y") instanceof String y) {
+                    parsed.put(kid, publicKey(x, y));
+                }
+            }
+        }
+        Map<String, PublicKey> previous = keysBySource.put(source, parsed);
+        if (previous == null || !previous.keySet().equals(parsed.keySet())) {
+            log.info("JWKS from {}: {}", source, parsed.keySet());
+        }
+        Map<String, PublicKey> merged = new HashMap<>();
+        keysBySource.values().forEach(merged::putAll);
+        keys = Map.copyOf(merged);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void requestRefresh() {
+        long now = System.nanoTime();
+        long last = lastRefetch.get();
+        if (!uris.isEmpty() && now - last >= minRefetchNanos && lastRefetch.compareAndSet(last, now)) {
+            scheduler.execute(this::refresh);
+        }
+    }
+
+    private static PublicKey publicKey(String x, String y) throws GeneralSecurityException {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        ECPoint point = new ECPoint(new BigInteger(1, decoder.decode(x)), new BigInteger(1, decoder.decode(y)));
+        return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, P256));
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
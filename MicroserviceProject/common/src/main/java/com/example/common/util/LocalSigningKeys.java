@@ -0,0 +1,15 @@
+package com.example.common.util;
+
+import java.security.PublicKey;
+
+/**
+ * Public keys of a token issuer's own signing keys, for the issuer to verify its tokens without fetching
+ * its own JWKS. AccessTokenFilter looks here before the other issuers' keys when a bean implements it.
+ */
+public interface LocalSigningKeys {
+
+    /**
+     * @return the public key for {@code kid}, or null if this service has no such key
+     */
+    PublicKey publicKey(String kid);
+}
@@ -0,0 +1,85 @@
+package com.example.common.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Encrypts signing private keys at rest (AES-256-GCM) under a key-encryption key that never touches the database:
+ * {@code auth.signing-keys.encryption-key}, Base64 of 32 bytes, normally from the SIGNING_KEYS_KEK environment variable.
+ * - Stored form: {@code v1:} + Base64(12-byte IV | ciphertext | tag), with the kid as associated data so a
+ *   value copied onto another row does not decrypt.
+ * - Values without the prefix are plaintext PKCS#8 written before encryption; the issuer's SigningKeyService
+ *   re-encrypts them.
+ * Token issuers opt in with {@code @Import(SigningKeyCipher.class)}.
+ */
+@Component
+public class SigningKeyCipher {
+
+    private static final String PREFIX = "v1:";
+    private static final int KEY_BYTES = 32;
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKey keyEncryptionKey;
+    private final SecureRandom random = new SecureRandom();
+
+    public SigningKeyCipher(@Value("${auth.signing-keys.encryption-key:}") String encodedKey) {
+        if (encodedKey == null || encodedKey.isBlank()) {
+            throw new IllegalStateException("auth.signing-keys.encryption-key (SIGNING_KEYS_KEK) is not set; "
+                    + "generate one with: openssl rand -base64 32");
+        }
+        byte[] raw = Base64.getDecoder().decode(encodedKey.trim());
+        if (raw.length != KEY_BYTES) {
+            throw new IllegalStateException("auth.signing-keys.encryption-key must be " + KEY_BYTES + " bytes, Base64");
+        }
+        this.keyEncryptionKey = new SecretKeySpec(raw, "AES");
+    }
+
+    public boolean isEncrypted(String stored) {
+        return stored.startsWith(PREFIX);
+    }
+
+    public String encrypt(String kid, byte[] privateKey) {
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = cipher(Cipher.ENCRYPT_MODE, kid, iv);
+            byte[] sealed = cipher.doFinal(privateKey);
+            return PREFIX + Base64.getEncoder().encodeToString(
+                    ByteBuffer.allocate(IV_BYTES + sealed.length).put(iv).put(sealed).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot encrypt signing key " + kid, e);
+        }
+    }
+
+    // Fails if the value was encrypted under another key-encryption key, for another kid, or altered
+    public byte[] decrypt(String kid, String stored) throws GeneralSecurityException {
+        if (!isEncrypted(stored)) {
+            return Base64.getDecoder().decode(stored);
+        }
+        byte[] sealed = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+        if (sealed.length <= IV_BYTES) {
+            throw new GeneralSecurityException("Truncated signing key " + kid);
+        }
+        byte[] iv = new byte[IV_BYTES];
+        System.arraycopy(sealed, 0, iv, 0, IV_BYTES);
+        return cipher(Cipher.DECRYPT_MODE, kid, iv).doFinal(sealed, IV_BYTES, sealed.length - IV_BYTES);
+    }
+
+    private Cipher cipher(int mode, String kid, byte[] iv) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(mode, keyEncryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        return cipher;
+    }
+}
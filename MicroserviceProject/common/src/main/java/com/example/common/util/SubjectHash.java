@@ -0,0 +1,25 @@
+package com.example.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 of a token subject, lowercase hex: the form in which the issuers publish per-subject revocations
+ * and the gateway looks them up, so the revocation snapshot does not list users' e-mail addresses.
+ */
+public final class SubjectHash {
+
+    private SubjectHash() {
+    }
+
+    public static String of(String subject) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(subject.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,6 +1,21 @@
 @echo off
 set ROOT_DIR=%~dp0
 
+rem Investor and AdminUser encrypt their token-signing keys with this (Base64 of 32 bytes: openssl rand -base64 32)
+if not defined SIGNING_KEYS_KEK (
+    echo Set SIGNING_KEYS_KEK before starting the services.
+    exit /b 1
+)
+
+rem Services authenticate their own calls with tokens from AdminUser; this is their client secret
+if not defined SERVICE_CLIENT_SECRET (
+    echo Set SERVICE_CLIENT_SECRET before starting the services.
+    exit /b 1
+)
+
+rem Classes shared by the services (common): installed into the local Maven repository before they build
+cd /d "%ROOT_DIR%common" && call mvnw.cmd -q install -DskipTests || exit /b 1
+
 start "Eureka-8761" cmd /k "cd /d "%ROOT_DIR%EurekaServer" && mvnw.cmd spring-boot:run"
 timeout /t 30 /nobreak
 